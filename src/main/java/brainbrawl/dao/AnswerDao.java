@@ -0,0 +1,19 @@
+package brainbrawl.dao;
+
+import brainbrawl.model.AnswerEvent;
+
+import java.util.List;
+
+/**
+ * DAO interface for answer-level telemetry.
+ * Stores every answer given in a quiz for later analysis.
+ */
+public interface AnswerDao {
+
+    /**
+     * Inserts several answer events in a single transaction.
+     *
+     * @param events The events to insert.
+     */
+    void createAll(List<AnswerEvent> events);
+}
@@ -0,0 +1,64 @@
+package brainbrawl.dao;
+
+import brainbrawl.db.Db;
+import brainbrawl.model.AnswerEvent;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC implementation of the AnswerDao interface.
+ * Writes answer events to the {@code answers} table with one JDBC batch per call.
+ */
+public class AnswerDaoJdbc implements AnswerDao {
+
+    private static final String INSERT = """
+        INSERT INTO answers(user_id, question_id, category, difficulty, chosen, correct, response_ms, answered_at_ms)
+        VALUES(?,?,?,?,?,?,?,?)
+    """;
+
+    /**
+     * Inserts the events through one prepared statement and one transaction.
+     *
+     * @param events The events to insert.
+     * @throws RuntimeException if an SQL error occurs; nothing is inserted then.
+     */
+    @Override
+    public void createAll(List<AnswerEvent> events) {
+        if (events.isEmpty()) return;
+        try (Connection c = Db.connect()) {
+            c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement(INSERT)) {
+                for (AnswerEvent e : events) {
+                    setNullable(ps, 1, e.getUserId());
+                    setNullable(ps, 2, e.getQuestionId());
+                    ps.setString(3, e.getCategory());
+                    ps.setInt(4, e.getDifficulty());
+                    if (e.getChosen() != null) ps.setInt(5, e.getChosen());
+                    else ps.setNull(5, Types.INTEGER);
+                    ps.setInt(6, e.isCorrect() ? 1 : 0);
+                    ps.setInt(7, e.getResponseMillis());
+                    ps.setLong(8, e.getAnsweredAtMillis());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                c.commit();
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Insert answers failed", e);
+        }
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) ps.setLong(index, value);
+        else ps.setNull(index, Types.INTEGER);
+    }
+}
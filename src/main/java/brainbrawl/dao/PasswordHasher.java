@@ -0,0 +1,149 @@
+package brainbrawl.dao;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Hashes and verifies passwords with PBKDF2-HMAC-SHA256.
+ * <p>
+ * Stored hashes record their own algorithm and cost, so the cost can be raised at any time:
+ * <pre>pbkdf2-sha256$&lt;iterations&gt;$&lt;base64 hash&gt;</pre>
+ * The salt is kept in its own column, as before. Hashes written by earlier versions are a
+ * bare Base64 SHA-256 digest of {@code salt + password}; they still verify, and
+ * {@link #needsRehash(String)} reports them (and any PBKDF2 hash below the configured
+ * iteration count) so that the caller can upgrade them after a successful login.
+ * <p>
+ * The iteration count comes from the {@code brainbrawl.auth.iterations} system property and
+ * defaults to {@value #DEFAULT_ITERATIONS}, the OWASP recommendation for PBKDF2-HMAC-SHA256.
+ */
+public final class PasswordHasher {
+
+    /** Default PBKDF2 iteration count. */
+    public static final int DEFAULT_ITERATIONS = 600_000;
+
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RNG = new SecureRandom();
+
+    private final int iterations;
+
+    /**
+     * Creates a hasher with a fixed cost.
+     *
+     * @param iterations the PBKDF2 iteration count for new hashes
+     * @throws IllegalArgumentException if {@code iterations} is not positive
+     */
+    public PasswordHasher(int iterations) {
+        if (iterations <= 0) throw new IllegalArgumentException("iterations must be positive");
+        this.iterations = iterations;
+    }
+
+    /**
+     * Creates a hasher using the {@code brainbrawl.auth.iterations} system property.
+     *
+     * @return the configured hasher
+     * @throws NumberFormatException if the property is not a number
+     */
+    public static PasswordHasher fromSystemProperty() {
+        String v = System.getProperty("brainbrawl.auth.iterations");
+        return new PasswordHasher(v == null || v.isBlank() ? DEFAULT_ITERATIONS : Integer.parseInt(v.trim()));
+    }
+
+    /** @return the iteration count used for new hashes */
+    public int iterations() { return iterations; }
+
+    /**
+     * Generates a random salt.
+     *
+     * @return the Base64-encoded salt
+     */
+    public String newSalt() {
+        byte[] salt = new byte[SALT_BYTES];
+        RNG.nextBytes(salt);
+        return Base64.getEncoder().encodeToString(salt);
+    }
+
+    /**
+     * Hashes a password with the configured cost.
+     *
+     * @param plain the plain-text password
+     * @param base64Salt the Base64-encoded salt
+     * @return the encoded hash, including algorithm and iteration count
+     */
+    public String hash(String plain, String base64Salt) {
+        return PREFIX + iterations + "$" + Base64.getEncoder().encodeToString(pbkdf2(plain, base64Salt, iterations));
+    }
+
+    /**
+     * Checks a password against a stored hash of either format.
+     *
+     * @param plain the password entered
+     * @param base64Salt the stored salt
+     * @param stored the stored hash
+     * @return {@code true} if the password matches
+     */
+    public boolean verify(String plain, String base64Salt, String stored) {
+        byte[] expected;
+        byte[] actual;
+        if (stored.startsWith(PREFIX)) {
+            int sep = stored.indexOf('$', PREFIX.length());
+            if (sep < 0) return false;
+            int storedIterations;
+            try {
+                storedIterations = Integer.parseInt(stored.substring(PREFIX.length(), sep));
+                expected = Base64.getDecoder().decode(stored.substring(sep + 1));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            actual = pbkdf2(plain, base64Salt, storedIterations);
+        } else {
+            expected = Base64.getDecoder().decode(stored);
+            actual = legacySha256(plain, base64Salt);
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    /**
+     * Reports whether a stored hash is weaker than what this hasher would produce.
+     *
+     * @param stored the stored hash
+     * @return {@code true} for legacy SHA-256 hashes and PBKDF2 hashes with fewer iterations
+     */
+    public boolean needsRehash(String stored) {
+        if (!stored.startsWith(PREFIX)) return true;
+        int sep = stored.indexOf('$', PREFIX.length());
+        try {
+            return sep < 0 || Integer.parseInt(stored.substring(PREFIX.length(), sep)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] pbkdf2(String plain, String base64Salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(plain.toCharArray(), Base64.getDecoder().decode(base64Salt), iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Password hashing failed", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /** The single-round SHA-256 used before PBKDF2; kept only to verify old hashes. */
+    static byte[] legacySha256(String plain, String base64Salt) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(Base64.getDecoder().decode(base64Salt));
+            return md.digest(plain.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Password hashing failed", e);
+        }
+    }
+}
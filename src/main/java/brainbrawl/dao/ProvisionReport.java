@@ -0,0 +1,42 @@
+package brainbrawl.dao;
+
+import brainbrawl.model.User;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link UserDao#createUsers(List)}: which accounts were created and which
+ * usernames were skipped because they were already taken.
+ */
+public final class ProvisionReport {
+    private final List<User> created;
+    private final List<String> duplicates;
+
+    /**
+     * Constructs a new {@code ProvisionReport}.
+     *
+     * @param created the new accounts, in input order
+     * @param duplicates usernames that already existed or appeared earlier in the input
+     */
+    public ProvisionReport(List<User> created, List<String> duplicates) {
+        this.created = Collections.unmodifiableList(created);
+        this.duplicates = Collections.unmodifiableList(duplicates);
+    }
+
+    /** @return the new accounts, with their IDs, in input order */
+    public List<User> getCreated() {
+        return created;
+    }
+
+    /** @return usernames that were not created because they were taken */
+    public List<String> getDuplicates() {
+        return duplicates;
+    }
+
+    /** @return a one-line summary */
+    @Override
+    public String toString() {
+        return "ProvisionReport{created=" + created.size() + ", duplicates=" + duplicates.size() + "}";
+    }
+}
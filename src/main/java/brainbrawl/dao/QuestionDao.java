@@ -1,8 +1,10 @@
 package brainbrawl.dao;
 
 import brainbrawl.model.Question;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) interface for managing quiz questions.
@@ -18,6 +20,18 @@ public interface QuestionDao {
      */
     long create(Question q);
 
+    /**
+     * Inserts many questions at once.
+     * <p>
+     * {@code questions} is read lazily, one element at a time, so it may be a stream of
+     * rows from a file that never fits in memory. Rows are committed in chunks; if a
+     * chunk fails, the chunks before it stay committed.
+     *
+     * @param questions The questions to insert.
+     * @return The generated IDs, in iteration order.
+     */
+    List<Long> createAll(Iterable<Question> questions);
+
     /**
      * Finds a question by its unique ID.
      *
@@ -33,6 +47,53 @@ public interface QuestionDao {
      */
     List<Question> findAll();
 
+    /**
+     * Streams every question, ordered by ID, reading rows from the database as the
+     * stream is consumed instead of building a list first.
+     * <p>
+     * The stream holds a database connection until it is closed, so always use it in a
+     * try-with-resources block:
+     * <pre>try (Stream&lt;Question&gt; all = dao.streamAll()) { all.forEach(...); }</pre>
+     *
+     * @return A lazy, sequential stream of all questions.
+     */
+    Stream<Question> streamAll();
+
+    /**
+     * Reads one page of questions using keyset pagination on the ID.
+     * <p>
+     * Pass {@code 0} for the first page and the last ID of the previous page afterwards.
+     * Unlike {@code OFFSET}, every page costs the same no matter how deep it is.
+     *
+     * @param afterId Only questions with an ID greater than this are returned.
+     * @param limit The maximum number of questions to return.
+     * @return Up to {@code limit} questions, ordered by ID.
+     */
+    List<Question> findPage(long afterId, int limit);
+
+    /**
+     * Retrieves all questions of one category and difficulty level.
+     *
+     * @param category The category to read.
+     * @param difficulty The difficulty level to read.
+     * @return The matching questions, ordered by ID.
+     */
+    List<Question> findByCategoryAndDifficulty(String category, int difficulty);
+
+    /**
+     * Picks random questions of one category and difficulty.
+     * <p>
+     * Only the ids of matching questions are read to make the choice; full rows are
+     * loaded for the chosen questions alone.
+     *
+     * @param category The category to draw from.
+     * @param difficulty The difficulty level to draw from.
+     * @param count The number of questions wanted.
+     * @param excludeIds IDs of questions the player has already seen (may be empty).
+     * @return Up to {@code count} distinct questions in random order; fewer if not enough remain.
+     */
+    List<Question> findRandom(String category, int difficulty, int count, Collection<Long> excludeIds);
+
     /**
      * Updates an existing question in the database.
      *
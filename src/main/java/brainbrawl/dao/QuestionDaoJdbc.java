@@ -6,8 +6,19 @@ import brainbrawl.model.Question.Type;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * JDBC implementation of the QuestionDao interface.
@@ -15,6 +26,17 @@ import java.util.Optional;
  */
 public class QuestionDaoJdbc implements QuestionDao {
 
+    /** Rows per JDBC batch and per transaction in {@link #createAll(Iterable)}. */
+    static final int IMPORT_CHUNK = 1_000;
+
+    /** Rows fetched per round trip by {@link #streamAll()}. */
+    static final int STREAM_FETCH_SIZE = 256;
+
+    private static final String INSERT = """
+        INSERT INTO questions(category,text,type,options_text,correct_index,difficulty)
+        VALUES(?,?,?,?,?,?)
+    """;
+
     /**
      * Inserts a new Question into the database.
      *
@@ -24,18 +46,9 @@ public class QuestionDaoJdbc implements QuestionDao {
      */
     @Override
     public long create(Question q) {
-        String sql = """
-            INSERT INTO questions(category,text,type,options_text,correct_index,difficulty)
-            VALUES(?,?,?,?,?,?)
-        """;
         try (Connection c = Db.connect();
-             PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, q.getCategory());
-            ps.setString(2, q.getText());
-            ps.setString(3, q.getType().name());
-            ps.setString(4, q.getOptions() == null ? null : Question.joinOptions(q.getOptions()));
-            if (q.getCorrectIndex() == null) ps.setNull(5, Types.INTEGER); else ps.setInt(5, q.getCorrectIndex());
-            ps.setInt(6, q.getDifficulty());
+             PreparedStatement ps = c.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            bind(ps, q);
             ps.executeUpdate();
             try (ResultSet keys = ps.getGeneratedKeys()) {
                 keys.next();
@@ -46,6 +59,75 @@ public class QuestionDaoJdbc implements QuestionDao {
         }
     }
 
+    /**
+     * Inserts many questions through one prepared statement, {@value #IMPORT_CHUNK} rows
+     * per JDBC batch, each batch in its own transaction.
+     * <p>
+     * SQLite only reports the last rowid of a batch. Because a chunk holds the write lock
+     * from its first insert to its commit and the table uses AUTOINCREMENT, the rowids of
+     * one chunk are consecutive, so the IDs are {@code last - n + 1 .. last}. Each question
+     * also gets its ID set.
+     *
+     * @param questions The questions to insert, read lazily.
+     * @return The generated IDs, in iteration order.
+     * @throws RuntimeException if an SQL error occurs; earlier chunks stay committed.
+     */
+    @Override
+    public List<Long> createAll(Iterable<Question> questions) {
+        List<Long> ids = new ArrayList<>();
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement(INSERT);
+             PreparedStatement lastId = c.prepareStatement("SELECT last_insert_rowid()")) {
+            c.setAutoCommit(false);
+            try {
+                List<Question> chunk = new ArrayList<>(IMPORT_CHUNK);
+                for (Question q : questions) {
+                    bind(ps, q);
+                    ps.addBatch();
+                    chunk.add(q);
+                    if (chunk.size() == IMPORT_CHUNK) flushChunk(c, ps, lastId, chunk, ids);
+                }
+                if (!chunk.isEmpty()) flushChunk(c, ps, lastId, chunk, ids);
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("createAll failed after " + ids.size() + " rows", e);
+        }
+    }
+
+    /** Executes and commits one chunk, then records its generated IDs. */
+    private static void flushChunk(Connection c, PreparedStatement ps, PreparedStatement lastId,
+                                   List<Question> chunk, List<Long> ids) throws SQLException {
+        ps.executeBatch();
+        long last;
+        try (ResultSet rs = lastId.executeQuery()) {
+            rs.next();
+            last = rs.getLong(1);
+        }
+        c.commit();
+        long id = last - chunk.size() + 1;
+        for (Question q : chunk) {
+            q.setId(id);
+            ids.add(id++);
+        }
+        chunk.clear();
+    }
+
+    /** Binds the insert parameters for one question. */
+    private static void bind(PreparedStatement ps, Question q) throws SQLException {
+        ps.setString(1, q.getCategory());
+        ps.setString(2, q.getText());
+        ps.setString(3, q.getType().name());
+        ps.setString(4, q.getOptions() == null ? null : Question.joinOptions(q.getOptions()));
+        if (q.getCorrectIndex() == null) ps.setNull(5, Types.INTEGER); else ps.setInt(5, q.getCorrectIndex());
+        ps.setInt(6, q.getDifficulty());
+    }
+
     /**
      * Finds a Question by its ID.
      *
@@ -83,6 +165,206 @@ public class QuestionDaoJdbc implements QuestionDao {
         }
     }
 
+    /**
+     * Reads one page of questions with {@code WHERE id > ? ORDER BY id LIMIT ?}, which
+     * SQLite answers by seeking the primary key and reading {@code limit} rows.
+     *
+     * @param afterId Only questions with an ID greater than this are returned.
+     * @param limit The maximum number of questions to return.
+     * @return Up to {@code limit} questions, ordered by ID.
+     */
+    @Override
+    public List<Question> findPage(long afterId, int limit) {
+        String sql = "SELECT * FROM questions WHERE id > ? ORDER BY id LIMIT ?";
+        List<Question> out = new ArrayList<>(Math.max(0, limit));
+        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(mapRow(rs));
+            }
+            return out;
+        } catch (SQLException e) {
+            throw new RuntimeException("findPage failed", e);
+        }
+    }
+
+    /**
+     * Streams every question, ordered by ID, {@value #STREAM_FETCH_SIZE} rows per fetch.
+     * <p>
+     * Only the current row is materialised. The connection, statement and result set are
+     * released when the stream is closed, or as soon as the last row has been read.
+     *
+     * @return A lazy stream of all questions; close it when done.
+     */
+    @Override
+    public Stream<Question> streamAll() {
+        String sql = "SELECT * FROM questions ORDER BY id";
+        Connection c = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            c = Db.connect();
+            ps = c.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            rs = ps.executeQuery();
+            Cursor cursor = new Cursor(c, ps, rs);
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            // the pooled connection doesn't close its statements, so release them first
+            closeQuietly(rs);
+            closeQuietly(ps);
+            closeQuietly(c);
+            throw new RuntimeException("streamAll failed", e);
+        }
+    }
+
+    /** Walks a result set one question at a time and owns its JDBC resources. */
+    private final class Cursor extends Spliterators.AbstractSpliterator<Question> {
+        private final Connection c;
+        private final PreparedStatement ps;
+        private final ResultSet rs;
+        private boolean closed;
+
+        Cursor(Connection c, PreparedStatement ps, ResultSet rs) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL | DISTINCT);
+            this.c = c;
+            this.ps = ps;
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Question> action) {
+            if (closed) return false;
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapRow(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new RuntimeException("streamAll failed", e);
+            }
+        }
+
+        /** Releases the result set, statement and connection; safe to call twice. */
+        void close() {
+            if (closed) return;
+            closed = true;
+            closeQuietly(rs);
+            closeQuietly(ps);
+            closeQuietly(c);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) return;
+        try { resource.close(); } catch (Exception ignored) { }
+    }
+
+    /**
+     * Retrieves all questions of one category and difficulty level, using the
+     * {@code (category, difficulty)} index.
+     *
+     * @param category The category to read.
+     * @param difficulty The difficulty level to read.
+     * @return The matching questions, ordered by ID.
+     */
+    @Override
+    public List<Question> findByCategoryAndDifficulty(String category, int difficulty) {
+        String sql = "SELECT * FROM questions WHERE category = ? AND difficulty = ? ORDER BY id";
+        List<Question> out = new ArrayList<>();
+        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, category);
+            ps.setInt(2, difficulty);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(mapRow(rs));
+            }
+            return out;
+        } catch (SQLException e) {
+            throw new RuntimeException("findByCategoryAndDifficulty failed", e);
+        }
+    }
+
+    /**
+     * Picks random questions of one category and difficulty.
+     * <p>
+     * Reads only the matching ids (answered from the {@code (category, difficulty)} index),
+     * draws {@code count} of them with a partial Fisher–Yates shuffle, then loads just
+     * those rows by primary key.
+     *
+     * @param category The category to draw from.
+     * @param difficulty The difficulty level to draw from.
+     * @param count The number of questions wanted.
+     * @param excludeIds IDs of questions the player has already seen (may be empty).
+     * @return Up to {@code count} distinct questions in random order.
+     */
+    @Override
+    public List<Question> findRandom(String category, int difficulty, int count, Collection<Long> excludeIds) {
+        if (count <= 0) return List.of();
+        Set<Long> exclude = excludeIds == null ? Set.of()
+                : excludeIds instanceof Set<Long> set ? set : new HashSet<>(excludeIds);
+        try (Connection c = Db.connect()) {
+            long[] ids = findIds(c, category, difficulty, exclude);
+            int n = Math.min(count, ids.length);
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            for (int i = 0; i < n; i++) {
+                int j = i + rnd.nextInt(ids.length - i);
+                long tmp = ids[i]; ids[i] = ids[j]; ids[j] = tmp;
+            }
+            return findByIds(c, Arrays.copyOf(ids, n));
+        } catch (SQLException e) {
+            throw new RuntimeException("findRandom failed", e);
+        }
+    }
+
+    /** Reads the ids of all questions in a category and level, minus the excluded ones. */
+    private long[] findIds(Connection c, String category, int difficulty, Set<Long> exclude) throws SQLException {
+        String sql = "SELECT id FROM questions WHERE category = ? AND difficulty = ?";
+        long[] ids = new long[64];
+        int n = 0;
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, category);
+            ps.setInt(2, difficulty);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long id = rs.getLong(1);
+                    if (!exclude.isEmpty() && exclude.contains(id)) continue;
+                    if (n == ids.length) ids = Arrays.copyOf(ids, n * 2);
+                    ids[n++] = id;
+                }
+            }
+        }
+        return Arrays.copyOf(ids, n);
+    }
+
+    /** Loads the given questions by primary key, keeping the order of {@code ids}. */
+    private List<Question> findByIds(Connection c, long[] ids) throws SQLException {
+        if (ids.length == 0) return List.of();
+        StringBuilder sql = new StringBuilder("SELECT * FROM questions WHERE id IN (");
+        for (int i = 0; i < ids.length; i++) sql.append(i == 0 ? "?" : ",?");
+        sql.append(')');
+
+        Map<Long, Question> byId = new HashMap<>();
+        try (PreparedStatement ps = c.prepareStatement(sql.toString())) {
+            for (int i = 0; i < ids.length; i++) ps.setLong(i + 1, ids[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Question q = mapRow(rs);
+                    byId.put(q.getId(), q);
+                }
+            }
+        }
+        List<Question> out = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Question q = byId.get(id);
+            if (q != null) out.add(q);
+        }
+        return out;
+    }
+
     /**
      * Updates an existing Question record in the database.
      *
@@ -98,12 +380,7 @@ public class QuestionDaoJdbc implements QuestionDao {
         WHERE id=?
     """;
         try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, q.getCategory());
-            ps.setString(2, q.getText());
-            ps.setString(3, q.getType().name());
-            ps.setString(4, q.getOptions() == null ? null : Question.joinOptions(q.getOptions()));
-            if (q.getCorrectIndex() == null) ps.setNull(5, Types.INTEGER); else ps.setInt(5, q.getCorrectIndex());
-            ps.setInt(6, q.getDifficulty());
+            bind(ps, q);
             ps.setLong(7, q.getId());
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
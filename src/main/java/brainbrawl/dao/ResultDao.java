@@ -1,6 +1,8 @@
 package brainbrawl.dao;
 
 import brainbrawl.model.GameResult;
+import brainbrawl.model.LeaderboardEntry;
+import brainbrawl.model.UserStats;
 import java.util.List;
 
 /**
@@ -17,6 +19,14 @@ public interface ResultDao {
      */
     long create(GameResult r);
 
+    /**
+     * Inserts several game results in a single transaction.
+     *
+     * @param results The GameResult objects to insert.
+     * @return The generated IDs, in the same order as {@code results}.
+     */
+    List<Long> createAll(List<GameResult> results);
+
     /**
      * Retrieves a list of recent game results.
      *
@@ -24,4 +34,46 @@ public interface ResultDao {
      * @return A list of the most recent GameResult objects.
      */
     List<GameResult> findRecent(int limit);
+
+    /**
+     * Retrieves results in ID order, one page at a time.
+     *
+     * @param afterId Only results with a larger ID are returned; 0 for the first page.
+     * @param limit The maximum number of results to return.
+     * @return Up to {@code limit} results, in ascending ID order.
+     */
+    List<GameResult> findAfterId(long afterId, int limit);
+
+    /**
+     * Counts the stored results whose ID is at most {@code maxId}.
+     *
+     * @param maxId The highest ID to count.
+     * @return The number of such results.
+     */
+    long countUpTo(long maxId);
+
+    /**
+     * Retrieves one player's most recent game results.
+     *
+     * @param userId The ID of the player.
+     * @param limit The maximum number of results to return.
+     * @return That player's most recent GameResult objects, newest first.
+     */
+    List<GameResult> findRecentForUser(long userId, int limit);
+
+    /**
+     * Retrieves a player's aggregated statistics, one entry per category and difficulty played.
+     *
+     * @param userId The ID of the player.
+     * @return The player's statistics, ordered by category and difficulty.
+     */
+    List<UserStats> findStatsForUser(long userId);
+
+    /**
+     * Retrieves every player's standing in every category and difficulty they have played,
+     * used to seed the in-memory leaderboards.
+     *
+     * @return One unranked entry per player, category and difficulty.
+     */
+    List<LeaderboardEntry> findAllStandings();
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package brainbrawl.dao;
 
 import brainbrawl.db.Db;
+import brainbrawl.db.StatsRollup;
 import brainbrawl.model.GameResult;
+import brainbrawl.model.LeaderboardEntry;
+import brainbrawl.model.UserStats;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -10,47 +13,94 @@ import java.util.List;
 /**
  * JDBC implementation of the ResultDao interface.
  * Handles all SQL operations for game results using SQLite.
+ * <p>
+ * Every insert of a result attributed to a player also updates that player's row in the
+ * {@code user_stats} rollup ({@link StatsRollup}), in the same transaction.
  */
 public class ResultDaoJdbc implements ResultDao {
 
+    private static final String INSERT = """
+        INSERT INTO results(category, difficulty, score, total, seconds_per_question, created_at, created_at_ms, user_id)
+        VALUES(?,?,?,?,?,COALESCE(?, datetime('now')),?,?)
+    """;
+
     /**
-     * Inserts a new game result into the database.
+     * Inserts a new game result into the database and folds it into the player's statistics.
      *
      * @param r The GameResult to insert.
      * @return The generated ID of the inserted record.
      */
     @Override
     public long create(GameResult r) {
-        String sql = """
-            INSERT INTO results(category, difficulty, score, total, seconds_per_question)
-            VALUES(?,?,?,?,?)
-        """;
-        try (Connection c = Db.connect();
-             PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, r.getCategory());
-            ps.setInt(2, r.getDifficulty());
-            ps.setInt(3, r.getScore());
-            ps.setInt(4, r.getTotal());
-            ps.setInt(5, r.getSecondsPerQuestion());
-            ps.executeUpdate();
-            try (ResultSet keys = ps.getGeneratedKeys()) {
-                if (keys.next()) return keys.getLong(1);
-                throw new SQLException("No generated key");
+        return createAll(List.of(r)).get(0);
+    }
+
+    /**
+     * Inserts several game results in one transaction, reusing one prepared statement,
+     * and updates the statistics rollup in that transaction.
+     *
+     * @param results The GameResults to insert.
+     * @return The generated IDs, in the same order as {@code results}.
+     */
+    @Override
+    public List<Long> createAll(List<GameResult> results) {
+        if (results.isEmpty()) return List.of();
+        try (Connection c = Db.connect()) {
+            c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement rollup = StatsRollup.prepare(c)) {
+                List<Long> ids = new ArrayList<>(results.size());
+                for (GameResult r : results) {
+                    long millis = r.getCreatedAtMillis() > 0 ? r.getCreatedAtMillis() : System.currentTimeMillis();
+                    ids.add(insert(ps, r, millis));
+                    if (r.getUserId() != null) {
+                        StatsRollup.apply(rollup, r.getUserId(), r.getCategory(), r.getDifficulty(),
+                                r.getScore(), r.getTotal(), millis);
+                    }
+                }
+                c.commit();
+                return ids;
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Create result failed", e);
+            throw new RuntimeException("Create results failed", e);
+        }
+    }
+
+    /** Binds and executes the insert statement for one result, returning its generated ID. */
+    private static long insert(PreparedStatement ps, GameResult r, long createdAtMillis) throws SQLException {
+        ps.setString(1, r.getCategory());
+        ps.setInt(2, r.getDifficulty());
+        ps.setInt(3, r.getScore());
+        ps.setInt(4, r.getTotal());
+        ps.setInt(5, r.getSecondsPerQuestion());
+        ps.setString(6, r.getCreatedAt());
+        ps.setLong(7, createdAtMillis);
+        if (r.getUserId() != null) ps.setLong(8, r.getUserId());
+        else ps.setNull(8, Types.INTEGER);
+        ps.executeUpdate();
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            if (keys.next()) return keys.getLong(1);
+            throw new SQLException("No generated key");
         }
     }
 
     /**
      * Retrieves the most recent game results from the database.
+     * <p>
+     * Ordered by the indexed {@code created_at_ms} column (ties broken by id, which the
+     * index carries implicitly), so SQLite walks the index and stops after {@code limit} rows.
      *
      * @param limit The maximum number of results to retrieve.
      * @return A list of recent GameResult objects.
      */
     @Override
     public List<GameResult> findRecent(int limit) {
-        String sql = "SELECT * FROM results ORDER BY datetime(created_at) DESC, id DESC LIMIT ?";
+        String sql = "SELECT * FROM results ORDER BY created_at_ms DESC, id DESC LIMIT ?";
         List<GameResult> out = new ArrayList<>();
         try (Connection c = Db.connect();
              PreparedStatement ps = c.prepareStatement(sql)) {
@@ -64,6 +114,129 @@ public class ResultDaoJdbc implements ResultDao {
         return out;
     }
 
+    /**
+     * Retrieves results in ID order, seeking on the primary key, so every page costs the same.
+     *
+     * @param afterId Only results with a larger ID are returned.
+     * @param limit The maximum number of results to return.
+     * @return Up to {@code limit} results, in ascending ID order.
+     */
+    @Override
+    public List<GameResult> findAfterId(long afterId, int limit) {
+        String sql = "SELECT * FROM results WHERE id > ? ORDER BY id LIMIT ?";
+        List<GameResult> out = new ArrayList<>();
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, afterId);
+            ps.setInt(2, Math.max(1, limit));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("findAfterId failed", e);
+        }
+        return out;
+    }
+
+    /**
+     * Counts results up to an ID with a range scan of the primary key.
+     *
+     * @param maxId The highest ID to count.
+     * @return The number of such results.
+     */
+    @Override
+    public long countUpTo(long maxId) {
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement("SELECT COUNT(*) FROM results WHERE id <= ?")) {
+            ps.setLong(1, maxId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("countUpTo failed", e);
+        }
+    }
+
+    /**
+     * Retrieves one player's most recent game results.
+     * <p>
+     * Answered from the {@code (user_id, created_at_ms)} index: SQLite seeks to the player's
+     * newest entry and reads backwards, so the cost depends on {@code limit}, not on how many
+     * games that player or anyone else has played.
+     *
+     * @param userId The ID of the player.
+     * @param limit The maximum number of results to retrieve.
+     * @return That player's recent GameResult objects, newest first.
+     */
+    @Override
+    public List<GameResult> findRecentForUser(long userId, int limit) {
+        String sql = "SELECT * FROM results WHERE user_id = ? ORDER BY created_at_ms DESC, id DESC LIMIT ?";
+        List<GameResult> out = new ArrayList<>();
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, userId);
+            ps.setInt(2, Math.max(1, limit));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("findRecentForUser failed", e);
+        }
+        return out;
+    }
+
+    /**
+     * Reads a player's rows from the {@code user_stats} rollup, a primary-key range scan.
+     *
+     * @param userId The ID of the player.
+     * @return The player's statistics, ordered by category and difficulty.
+     */
+    @Override
+    public List<UserStats> findStatsForUser(long userId) {
+        String sql = "SELECT * FROM user_stats WHERE user_id = ? ORDER BY category, difficulty";
+        List<UserStats> out = new ArrayList<>();
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new UserStats(userId, rs.getString("category"), rs.getInt("difficulty"),
+                            rs.getInt("games"), rs.getLong("total_score"), rs.getLong("total_questions"),
+                            rs.getInt("best_score"), rs.getInt("current_streak"), rs.getInt("best_streak"),
+                            rs.getLong("last_played_ms")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("findStatsForUser failed", e);
+        }
+        return out;
+    }
+
+    /**
+     * Reads the whole statistics rollup with the players' names, in one pass.
+     *
+     * @return One unranked entry per player, category and difficulty.
+     */
+    @Override
+    public List<LeaderboardEntry> findAllStandings() {
+        String sql = """
+            SELECT s.user_id, u.username, s.category, s.difficulty, s.best_score, s.total_score, s.games
+            FROM user_stats s JOIN users u ON u.id = s.user_id
+            """;
+        List<LeaderboardEntry> out = new ArrayList<>();
+        try (Connection c = Db.connect();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                out.add(new LeaderboardEntry(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+                        rs.getInt(5), rs.getLong(6), rs.getInt(7)));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("findAllStandings failed", e);
+        }
+        return out;
+    }
+
     /**
      * Maps a ResultSet row to a GameResult object.
      *
@@ -79,6 +252,9 @@ public class ResultDaoJdbc implements ResultDao {
         int total = rs.getInt("total");
         int spq = rs.getInt("seconds_per_question");
         String created = rs.getString("created_at");
-        return new GameResult(id, category, difficulty, score, total, spq, created);
+        long createdMillis = rs.getLong("created_at_ms");
+        long user = rs.getLong("user_id");
+        Long userId = rs.wasNull() ? null : user;
+        return new GameResult(id, userId, category, difficulty, score, total, spq, created, createdMillis);
     }
 }
@@ -1,6 +1,9 @@
 package brainbrawl.dao;
 
 import brainbrawl.model.User;
+
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,6 +30,15 @@ public interface UserDao {
      */
     boolean createUser(String username, String plainPassword);
 
+    /**
+     * Creates many accounts at once, e.g. from a class roster. Usernames that are already
+     * taken, or repeated within {@code accounts}, are reported rather than failing the rest.
+     *
+     * @param accounts username and plain-text password pairs, in roster order.
+     * @return The accounts created and the usernames skipped.
+     */
+    ProvisionReport createUsers(List<Map.Entry<String, String>> accounts);
+
     /**
      * Finds a user by their username.
      *
@@ -34,4 +46,22 @@ public interface UserDao {
      * @return An Optional containing the User if found, otherwise empty.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Finds a user by their ID.
+     *
+     * @param id The user ID to search for.
+     * @return An Optional containing the User if found, otherwise empty.
+     */
+    Optional<User> findById(long id);
+
+    /**
+     * Checks whether a username is already taken.
+     *
+     * @param username The username to check.
+     * @return True if an account with this exact username exists.
+     */
+    default boolean usernameExists(String username) {
+        return findByUsername(username).isPresent();
+    }
 }
\ No newline at end of file
@@ -3,126 +3,353 @@ package brainbrawl.dao;
 import brainbrawl.db.Db;
 import brainbrawl.model.User;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.SecureRandom;
 import java.sql.*;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * JDBC implementation of the UserDao interface.
- * Manages user creation, authentication, and password security using SHA-256 hashing and random salts.
+ * Manages user creation, authentication, and password security using a {@link PasswordHasher}
+ * (PBKDF2 with random salts). Accounts still holding a legacy SHA-256 hash are upgraded the
+ * next time they log in successfully.
+ * <p>
+ * A {@link UsernameFilter} of every stored username is loaded when the DAO is created and
+ * updated on each insert. A name the filter has seen — the common case for logins — goes
+ * straight to the username lookup. A name it has never seen is only a hint: other processes
+ * such as {@code RosterImporter} may have added accounts since, so the filter first catches
+ * up on rows with a higher ID than any it has read (one primary-key range scan, usually
+ * empty), and the name counts as absent only if it is still unknown after that.
  */
 public class UserDaoJdbc implements UserDao {
 
-    private static final SecureRandom RNG = new SecureRandom();
+    private final PasswordHasher hasher;
+    /** Hash compared against when the username doesn't exist, so both cases take as long. */
+    private final String dummySalt;
+    /** Lazily computed with {@link #dummySalt}, so constructing the DAO stays cheap. */
+    private volatile String dummyHash;
+    /** Guards replacing {@link #usernames} against a concurrent {@link #remember}. */
+    private final Object filterLock = new Object();
+    /** Every username in the table up to {@link #filterMaxId}, and perhaps a few that aren't. */
+    private volatile UsernameFilter usernames;
+    /** Highest user ID read into {@link #usernames}; guarded by {@link #filterLock}. */
+    private long filterMaxId;
 
+    /** Rows per JDBC batch and per transaction in {@link #createUsers(List)}. */
+    static final int PROVISION_CHUNK = 500;
+
+    private static final String INSERT = "INSERT INTO users(username, password_hash, salt) VALUES(?,?,?)";
+
+    /** Smallest filter built, so a fresh database has room to grow before the first rebuild. */
+    private static final int MIN_FILTER_CAPACITY = 1024;
+
+    /**
+     * Constructs the DAO with the hasher configured by system properties, making sure
+     * the database schema (including the users table) is migrated.
+     */
     public UserDaoJdbc() {
-        createUsersTableIfNeeded();
+        this(PasswordHasher.fromSystemProperty());
+    }
+
+    /**
+     * Constructs the DAO with a specific password hasher.
+     *
+     * @param hasher hashes new passwords and verifies stored ones
+     */
+    public UserDaoJdbc(PasswordHasher hasher) {
+        this.hasher = hasher;
+        this.dummySalt = hasher.newSalt();
+        Db.init();
+        synchronized (filterLock) {
+            loadUsernames();
+        }
     }
 
     /**
-     * Ensures the users table exists; creates it if missing.
+     * Reads every username into a new filter sized for twice the current count.
+     * Caller holds {@link #filterLock}.
      */
-    private void createUsersTableIfNeeded() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS users(
-              id INTEGER PRIMARY KEY AUTOINCREMENT,
-              username TEXT UNIQUE NOT NULL,
-              password_hash TEXT NOT NULL,
-              salt TEXT NOT NULL
-            )
-        """;
+    private void loadUsernames() {
         try (Connection c = Db.connect(); Statement st = c.createStatement()) {
-            st.execute(sql);
+            int count;
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM users")) {
+                count = rs.next() ? rs.getInt(1) : 0;
+            }
+            UsernameFilter f = new UsernameFilter(Math.max(MIN_FILTER_CAPACITY, 2 * count));
+            long maxId = 0;
+            try (ResultSet rs = st.executeQuery("SELECT id, username FROM users")) {
+                while (rs.next()) {
+                    maxId = Math.max(maxId, rs.getLong(1));
+                    f.add(rs.getString(2));
+                }
+            }
+            usernames = f;
+            filterMaxId = maxId;
         } catch (SQLException e) {
-            throw new RuntimeException("Failed creating users table", e);
+            throw new RuntimeException("Failed to load usernames", e);
         }
     }
 
     /**
-     * Generates a random cryptographic salt for password hashing.
-     *
-     * @return The Base64-encoded salt string.
+     * Adds the accounts stored since the filter last read the table, including those
+     * created by other processes.
      */
-    private static String generateSalt() {
-        byte[] salt = new byte[16];
-        RNG.nextBytes(salt);
-        return Base64.getEncoder().encodeToString(salt);
+    private void catchUp() {
+        long after;
+        synchronized (filterLock) { after = filterMaxId; }
+        List<String> names = new ArrayList<>();
+        long maxId = after;
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement("SELECT id, username FROM users WHERE id > ? ORDER BY id")) {
+            ps.setLong(1, after);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    maxId = rs.getLong(1);
+                    names.add(rs.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load usernames", e);
+        }
+        if (names.isEmpty()) return;
+        synchronized (filterLock) {
+            remember(names);
+            filterMaxId = Math.max(filterMaxId, maxId);
+        }
     }
 
     /**
-     * Hashes a plain-text password using SHA-256 with a salt.
-     *
-     * @param plain The plain-text password.
-     * @param base64Salt The Base64-encoded salt to use.
-     * @return The Base64-encoded password hash.
+     * Adds a newly inserted username to the filter, rebuilding it once it is over capacity.
+     * Must be called after the insert has committed, so a rebuild is sure to see it.
      */
-    private static String hash(String plain, String base64Salt) {
-        try {
-            byte[] salt = Base64.getDecoder().decode(base64Salt);
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(salt);
-            byte[] out = md.digest(plain.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(out);
-        } catch (Exception e) {
-            throw new RuntimeException("Password hashing failed", e);
+    void remember(String username) {
+        remember(List.of(username));
+    }
+
+    /** Batch form of {@link #remember(String)}. */
+    private void remember(List<String> names) {
+        synchronized (filterLock) {
+            for (String n : names) usernames.add(n);
+            if (usernames.isSaturated()) loadUsernames();
         }
     }
 
     /**
-     * Verifies whether a plain-text password matches a stored hash.
-     *
-     * @param plain The input password.
-     * @param base64Salt The salt used for hashing.
-     * @param expectedHash The stored password hash.
-     * @return True if the password matches, false otherwise.
+     * Reports whether a username is definitely not in the table. A name the filter knows is
+     * answered without I/O; an unknown one is checked again after {@link #catchUp()}.
      */
-    private static boolean verify(String plain, String base64Salt, String expectedHash) {
-        return hash(plain, base64Salt).equals(expectedHash);
+    private boolean definitelyAbsent(String username) {
+        if (usernames.mightContain(username)) return false;
+        catchUp();
+        return !usernames.mightContain(username);
     }
 
     /**
-     * Authenticates a user by checking username and password hash.
+     * Authenticates a user by checking username and password hash, rehashing the stored
+     * password if it was written with a weaker algorithm or cost.
      */
     @Override
     public Optional<User> authenticate(String username, String plainPassword) {
+        if (definitelyAbsent(username)) return rejectUnknown(plainPassword);
         String q = "SELECT id, password_hash, salt FROM users WHERE username = ?";
+        long id;
+        String hash;
+        String salt;
         try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(q)) {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
-                if (!rs.next()) return Optional.empty();
-                long id = rs.getLong("id");
-                String hash = rs.getString("password_hash");
-                String salt = rs.getString("salt");
-                if (verify(plainPassword, salt, hash)) {
-                    return Optional.of(new User(id, username));
-                }
-                return Optional.empty();
+                if (!rs.next()) return rejectUnknown(plainPassword);
+                id = rs.getLong("id");
+                hash = rs.getString("password_hash");
+                salt = rs.getString("salt");
             }
         } catch (SQLException e) {
             throw new RuntimeException("Auth failed", e);
         }
+        // hash outside the connection so a slow KDF doesn't hold a pooled connection
+        if (!hasher.verify(plainPassword, salt, hash)) return Optional.empty();
+        if (hasher.needsRehash(hash)) rehash(id, hash, plainPassword);
+        return Optional.of(new User(id, username));
+    }
+
+    /**
+     * Fails a login for a username that doesn't exist, after spending as long as a real
+     * verification would, so response times don't reveal which usernames exist.
+     */
+    private Optional<User> rejectUnknown(String plainPassword) {
+        if (dummyHash == null) dummyHash = hasher.hash("", dummySalt);
+        hasher.verify(plainPassword, dummySalt, dummyHash);
+        return Optional.empty();
+    }
+
+    /**
+     * Replaces a stored hash with one from the current hasher. Only updates the row if the
+     * hash is unchanged, so a concurrent password change is never overwritten.
+     */
+    private void rehash(long id, String oldHash, String plainPassword) {
+        String salt = hasher.newSalt();
+        String sql = "UPDATE users SET password_hash = ?, salt = ? WHERE id = ? AND password_hash = ?";
+        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, hasher.hash(plainPassword, salt));
+            ps.setString(2, salt);
+            ps.setLong(3, id);
+            ps.setString(4, oldHash);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            // the login itself succeeded; the upgrade is retried next time
+            System.err.println("WARN: password rehash failed for user " + id + ": " + e.getMessage());
+        }
     }
 
     /**
-     * Creates a new user with a hashed password and random salt.
+     * Creates a new user with a hashed password and random salt. A name that is already
+     * taken is rejected before the password is hashed.
      */
     @Override
     public boolean createUser(String username, String plainPassword) {
-        String salt = generateSalt();
-        String hash = hash(plainPassword, salt);
-        String ins = "INSERT INTO users(username, password_hash, salt) VALUES(?,?,?)";
-        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(ins)) {
+        if (usernameExists(username)) return false;
+        String salt = hasher.newSalt();
+        String hash = hasher.hash(plainPassword, salt);
+        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(INSERT)) {
             ps.setString(1, username);
             ps.setString(2, hash);
             ps.setString(3, salt);
-            return ps.executeUpdate() == 1;
+            if (ps.executeUpdate() != 1) return false;
         } catch (SQLException e) {
             // likely UNIQUE(username) violation
             return false;
         }
+        remember(username);
+        return true;
+    }
+
+    /**
+     * Creates many accounts with passwords hashed in parallel on one thread per core.
+     * <p>
+     * Taken and repeated usernames are set aside first, which is mostly answered by the
+     * username filter. Hashing then starts for every remaining account while this thread
+     * collects the results in order and inserts them {@value #PROVISION_CHUNK} rows per JDBC
+     * batch and transaction, so inserts overlap hashing. As in
+     * {@link QuestionDaoJdbc#createAll(Iterable)}, the rowids of one chunk are consecutive.
+     * <p>
+     * If another registration takes a name in the meantime, the chunk is rolled back and
+     * inserted row by row, and that name joins the duplicates.
+     *
+     * @throws RuntimeException if an SQL error occurs; earlier chunks stay committed
+     */
+    @Override
+    public ProvisionReport createUsers(List<Map.Entry<String, String>> accounts) {
+        List<Map.Entry<String, String>> fresh = new ArrayList<>();
+        List<String> duplicates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Map.Entry<String, String> a : accounts) {
+            if (!seen.add(a.getKey()) || usernameExists(a.getKey())) duplicates.add(a.getKey());
+            else fresh.add(a);
+        }
+
+        List<User> created = new ArrayList<>(fresh.size());
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), Math.max(1, fresh.size()));
+        AtomicInteger n = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "provision-hash-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<String[]>> hashed = new ArrayList<>(fresh.size());
+            for (Map.Entry<String, String> a : fresh) {
+                hashed.add(pool.submit(() -> {
+                    String salt = hasher.newSalt();
+                    return new String[] {a.getKey(), hasher.hash(a.getValue(), salt), salt};
+                }));
+            }
+            try (Connection c = Db.connect();
+                 PreparedStatement ps = c.prepareStatement(INSERT);
+                 PreparedStatement lastId = c.prepareStatement("SELECT last_insert_rowid()")) {
+                c.setAutoCommit(false);
+                try {
+                    List<String[]> chunk = new ArrayList<>(PROVISION_CHUNK);
+                    for (Future<String[]> f : hashed) {
+                        chunk.add(f.get());
+                        if (chunk.size() == PROVISION_CHUNK) insertChunk(c, ps, lastId, chunk, created, duplicates);
+                    }
+                    if (!chunk.isEmpty()) insertChunk(c, ps, lastId, chunk, created, duplicates);
+                } catch (SQLException | RuntimeException e) {
+                    c.rollback();
+                    throw e;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("createUsers failed after " + created.size() + " accounts", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted after " + created.size() + " accounts", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new ProvisionReport(created, duplicates);
+    }
+
+    /** Inserts and commits one chunk of {username, hash, salt} rows, then clears it. */
+    private void insertChunk(Connection c, PreparedStatement ps, PreparedStatement lastId, List<String[]> chunk,
+                             List<User> created, List<String> duplicates) throws SQLException {
+        List<User> added = new ArrayList<>(chunk.size());
+        try {
+            for (String[] row : chunk) {
+                bind(ps, row);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            long last;
+            try (ResultSet rs = lastId.executeQuery()) {
+                rs.next();
+                last = rs.getLong(1);
+            }
+            c.commit();
+            long id = last - chunk.size() + 1;
+            for (String[] row : chunk) added.add(new User(id++, row[0]));
+        } catch (SQLException e) {
+            // most likely a name taken since we checked; SQLite undoes just the failing statement
+            c.rollback();
+            ps.clearBatch();
+            for (String[] row : chunk) {
+                bind(ps, row);
+                try {
+                    ps.executeUpdate();
+                } catch (SQLException dup) {
+                    duplicates.add(row[0]);
+                    continue;
+                }
+                try (ResultSet rs = lastId.executeQuery()) {
+                    rs.next();
+                    added.add(new User(rs.getLong(1), row[0]));
+                }
+            }
+            c.commit();
+        }
+        created.addAll(added);
+        List<String> names = new ArrayList<>(added.size());
+        for (User u : added) names.add(u.getUsername());
+        remember(names);
+        chunk.clear();
+    }
+
+    private static void bind(PreparedStatement ps, String[] row) throws SQLException {
+        ps.setString(1, row[0]);
+        ps.setString(2, row[1]);
+        ps.setString(3, row[2]);
     }
 
     /**
@@ -130,6 +357,7 @@ public class UserDaoJdbc implements UserDao {
      */
     @Override
     public Optional<User> findByUsername(String username) {
+        if (definitelyAbsent(username)) return Optional.empty();
         String q = "SELECT id FROM users WHERE username = ?";
         try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(q)) {
             ps.setString(1, username);
@@ -142,6 +370,31 @@ public class UserDaoJdbc implements UserDao {
         }
     }
 
+    /**
+     * Finds a user by ID.
+     */
+    @Override
+    public Optional<User> findById(long id) {
+        String q = "SELECT username FROM users WHERE id = ?";
+        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(q)) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return Optional.of(new User(id, rs.getString(1)));
+                return Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Checks the filter first and only queries the table when the name might exist.
+     */
+    @Override
+    public boolean usernameExists(String username) {
+        return !definitelyAbsent(username) && findByUsername(username).isPresent();
+    }
+
     /**
      * Seeds a default admin user on first run if missing.
      */
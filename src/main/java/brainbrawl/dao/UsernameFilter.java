@@ -0,0 +1,108 @@
+package brainbrawl.dao;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of the usernames in the {@code users} table.
+ * <p>
+ * {@link #mightContain(String)} never returns {@code false} for a name that was {@link #add added},
+ * so a {@code false} answer proves a name is free without asking the database. A {@code true}
+ * answer is wrong at most about {@value #FALSE_POSITIVE_PERCENT}% of the time while the filter
+ * holds no more than its capacity; after that {@link #isSaturated()} tells the owner to rebuild it.
+ * <p>
+ * The bits live in an {@link AtomicLongArray}, so adds and lookups are safe from any thread
+ * without locking. Probe positions come from two 64-bit hashes combined as {@code h1 + i*h2}
+ * (Kirsch–Mitzenmacher double hashing), so each lookup hashes the name only once.
+ */
+final class UsernameFilter {
+
+    /** Target false-positive rate while at or below capacity. */
+    static final int FALSE_POSITIVE_PERCENT = 1;
+    /** Bits per expected name for a 1% false-positive rate. */
+    private static final int BITS_PER_NAME = 10;
+    /** Probes per name; optimal for 10 bits per name. */
+    private static final int PROBES = 7;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param capacity the number of names it can hold at the target false-positive rate
+     */
+    UsernameFilter(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        long bits = (long) capacity * BITS_PER_NAME;
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a username.
+     *
+     * @param username the name, exactly as stored
+     */
+    void add(String username) {
+        long h = hash(username);
+        long h2 = mix(h ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < PROBES; i++, h += h2) {
+            long bit = Math.floorMod(h, bitCount);
+            int w = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long old;
+            while (((old = words.get(w)) & mask) == 0 && !words.compareAndSet(w, old, old | mask)) {
+                // another bit in this word changed; retry
+            }
+        }
+        size.incrementAndGet();
+    }
+
+    /**
+     * Checks whether a username may have been added.
+     *
+     * @param username the name to look up
+     * @return {@code false} if it was certainly never added
+     */
+    boolean mightContain(String username) {
+        long h = hash(username);
+        long h2 = mix(h ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < PROBES; i++, h += h2) {
+            long bit = Math.floorMod(h, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** @return {@code true} once more names were added than the filter was sized for */
+    boolean isSaturated() {
+        return size.get() > capacity;
+    }
+
+    /** @return the number of names added */
+    int size() {
+        return size.get();
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 code units, finished with {@link #mix}. */
+    private static long hash(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /** The SplitMix64 finaliser: spreads every input bit over the whole word. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,353 @@
+package brainbrawl.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A small, bounded pool of long-lived JDBC connections.
+ * <p>
+ * Opening a SQLite connection reopens the database file, re-reads the schema and
+ * starts with a cold page cache, so the pool keeps physical connections open and
+ * hands out lightweight wrappers instead. Calling {@link Connection#close()} on a
+ * borrowed connection returns it to the pool rather than closing it, which means
+ * existing try-with-resources code works unchanged.
+ * <p>
+ * The pool provides:
+ * <ul>
+ *   <li>a hard upper bound on open connections (callers wait up to a timeout)</li>
+ *   <li>validation of connections that have been idle for a while</li>
+ *   <li>a maximum lifetime, after which a connection is retired on return</li>
+ *   <li>leak detection, which logs where a connection was borrowed if it is held too long</li>
+ * </ul>
+ */
+public class ConnectionPool implements AutoCloseable {
+    /** Default number of physical connections kept by the pool. */
+    public static final int DEFAULT_MAX_SIZE = 8;
+    /** Default lifetime of a physical connection (30 minutes). */
+    public static final long DEFAULT_MAX_LIFETIME_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    /** Default time a connection may be held before it is reported as a possible leak. */
+    public static final long DEFAULT_LEAK_THRESHOLD_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    /** Default time a caller waits for a free connection. */
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    /** Idle connections older than this are validated before being handed out. */
+    private static final long VALIDATION_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    /** Timeout passed to {@link Connection#isValid(int)}. */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final int maxSize;
+    private final long maxLifetimeMillis;
+    private final long leakThresholdMillis;
+    private final long borrowTimeoutMillis;
+    private final Initializer initializer;
+
+    private final Semaphore permits;
+    private final Deque<PhysicalConnection> idle = new ArrayDeque<>(); // guarded by itself
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    /**
+     * Prepares each newly opened physical connection, e.g. by applying PRAGMAs.
+     */
+    @FunctionalInterface
+    public interface Initializer {
+        /**
+         * Called once for every physical connection before it is first handed out.
+         *
+         * @param c the freshly opened connection
+         * @throws SQLException if the connection cannot be prepared
+         */
+        void initialize(Connection c) throws SQLException;
+    }
+
+    /**
+     * Creates a pool with the default settings.
+     *
+     * @param url the JDBC URL of the database
+     */
+    public ConnectionPool(String url) {
+        this(url, c -> { });
+    }
+
+    /**
+     * Creates a pool with the default settings and a connection initializer.
+     *
+     * @param url the JDBC URL of the database
+     * @param initializer applied to every new physical connection
+     */
+    public ConnectionPool(String url, Initializer initializer) {
+        this(url, DEFAULT_MAX_SIZE, DEFAULT_MAX_LIFETIME_MILLIS, DEFAULT_LEAK_THRESHOLD_MILLIS,
+                DEFAULT_BORROW_TIMEOUT_MILLIS, initializer);
+    }
+
+    /**
+     * Creates a pool without a connection initializer.
+     *
+     * @param url the JDBC URL of the database
+     * @param maxSize the maximum number of physical connections (at least 1)
+     * @param maxLifetimeMillis how long a physical connection may live before it is retired
+     * @param leakThresholdMillis how long a connection may be borrowed before a leak warning
+     *                            is logged; {@code 0} disables leak detection
+     * @param borrowTimeoutMillis how long {@link #borrow()} waits for a free connection
+     */
+    public ConnectionPool(String url, int maxSize, long maxLifetimeMillis, long leakThresholdMillis, long borrowTimeoutMillis) {
+        this(url, maxSize, maxLifetimeMillis, leakThresholdMillis, borrowTimeoutMillis, c -> { });
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param url the JDBC URL of the database
+     * @param maxSize the maximum number of physical connections (at least 1)
+     * @param maxLifetimeMillis how long a physical connection may live before it is retired
+     * @param leakThresholdMillis how long a connection may be borrowed before a leak warning
+     *                            is logged; {@code 0} disables leak detection
+     * @param borrowTimeoutMillis how long {@link #borrow()} waits for a free connection
+     * @param initializer applied to every new physical connection
+     */
+    public ConnectionPool(String url, int maxSize, long maxLifetimeMillis, long leakThresholdMillis,
+                          long borrowTimeoutMillis, Initializer initializer) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be at least 1");
+        this.url = url;
+        this.maxSize = maxSize;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.initializer = initializer;
+        this.permits = new Semaphore(maxSize, true);
+
+        if (leakThresholdMillis > 0) {
+            leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "db-pool-leak-detector");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = Math.max(100, leakThresholdMillis / 2);
+            leakDetector.scheduleAtFixedRate(this::reportLeaks, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            leakDetector = null;
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available.
+     * <p>
+     * The returned connection must be closed by the caller, which hands it back to the pool.
+     *
+     * @return a pooled {@link Connection}
+     * @throws SQLTimeoutException if no connection becomes free within the borrow timeout
+     * @throws SQLException if the pool is closed or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                        + "ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PhysicalConnection pc = takeIdle();
+            if (pc == null) pc = open();
+            Lease lease = new Lease(pc, leakThresholdMillis > 0 ? new Exception("Connection borrowed here") : null);
+            leased.add(lease);
+            return lease.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** @return the number of connections currently borrowed */
+    public int activeCount() { return leased.size(); }
+
+    /** @return the number of open connections waiting in the pool */
+    public int idleCount() {
+        synchronized (idle) { return idle.size(); }
+    }
+
+    /** @return the maximum number of physical connections */
+    public int maxSize() { return maxSize; }
+
+    /**
+     * Closes all idle connections and stops handing out new ones.
+     * <p>
+     * Connections that are still borrowed are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (leakDetector != null) leakDetector.shutdownNow();
+        synchronized (idle) {
+            for (PhysicalConnection pc : idle) pc.closeQuietly();
+            idle.clear();
+        }
+    }
+
+    // ---------------------------------------------------------------- internals
+
+    /**
+     * Opens a new physical connection to the database.
+     *
+     * @return the new connection
+     * @throws SQLException if the driver cannot connect
+     */
+    protected Connection openPhysical() throws SQLException {
+        return DriverManager.getConnection(url);
+    }
+
+    private PhysicalConnection open() throws SQLException {
+        Connection c = openPhysical();
+        try {
+            initializer.initialize(c);
+        } catch (SQLException | RuntimeException e) {
+            c.close();
+            throw e;
+        }
+        return new PhysicalConnection(c);
+    }
+
+    /** Takes the most recently used idle connection, discarding expired or broken ones. */
+    private PhysicalConnection takeIdle() {
+        while (true) {
+            PhysicalConnection pc;
+            synchronized (idle) { pc = idle.pollFirst(); }
+            if (pc == null) return null;
+
+            long now = System.currentTimeMillis();
+            if (pc.isExpired(now, maxLifetimeMillis)) { pc.closeQuietly(); continue; }
+            if (now - pc.lastReturnedAt > VALIDATION_INTERVAL_MILLIS && !pc.isValid()) { pc.closeQuietly(); continue; }
+            return pc;
+        }
+    }
+
+    /** Returns a borrowed connection to the pool, or retires it if it can't be reused. */
+    private void release(Lease lease) {
+        leased.remove(lease);
+        PhysicalConnection pc = lease.physical;
+        long now = System.currentTimeMillis();
+        try {
+            if (!closed && !pc.isExpired(now, maxLifetimeMillis) && pc.reset()) {
+                pc.lastReturnedAt = now;
+                synchronized (idle) {
+                    if (!closed) { idle.addFirst(pc); pc = null; }
+                }
+            }
+            if (pc != null) pc.closeQuietly();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Logs every connection that has been borrowed for longer than the leak threshold. */
+    private void reportLeaks() {
+        long now = System.nanoTime();
+        for (Lease lease : leased) {
+            long heldMillis = TimeUnit.NANOSECONDS.toMillis(now - lease.borrowedAtNanos);
+            if (!lease.leakReported && heldMillis > leakThresholdMillis) {
+                lease.leakReported = true;
+                System.err.println("WARN: possible connection leak — connection held for " + heldMillis
+                        + "ms by thread '" + lease.threadName + "'");
+                if (lease.borrowSite != null) lease.borrowSite.printStackTrace();
+            }
+        }
+    }
+
+    /** An open JDBC connection owned by the pool. */
+    private static final class PhysicalConnection {
+        final Connection connection;
+        final long createdAt = System.currentTimeMillis();
+        long lastReturnedAt = createdAt;
+
+        PhysicalConnection(Connection connection) { this.connection = connection; }
+
+        boolean isExpired(long now, long maxLifetimeMillis) {
+            return maxLifetimeMillis > 0 && now - createdAt > maxLifetimeMillis;
+        }
+
+        boolean isValid() {
+            try { return connection.isValid(VALIDATION_TIMEOUT_SECONDS); } catch (SQLException e) { return false; }
+        }
+
+        /** Rolls back any unfinished transaction so the next borrower starts clean. */
+        boolean reset() {
+            try {
+                if (connection.isClosed()) return false;
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closeQuietly() {
+            try { connection.close(); } catch (SQLException ignored) { }
+        }
+    }
+
+    /** A single borrow of a physical connection, handed to callers as a {@link Connection} proxy. */
+    private final class Lease implements InvocationHandler {
+        final PhysicalConnection physical;
+        final Exception borrowSite;
+        final String threadName = Thread.currentThread().getName();
+        final long borrowedAtNanos = System.nanoTime();
+        final Connection proxy;
+        final AtomicBoolean returned = new AtomicBoolean();
+        volatile boolean leakReported;
+
+        Lease(PhysicalConnection physical, Exception borrowSite) {
+            this.physical = physical;
+            this.borrowSite = borrowSite;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (returned.compareAndSet(false, true)) release(this);
+                    return null;
+                }
+                case "isClosed" -> {
+                    if (returned.get()) return true;
+                }
+                case "equals" -> { return p == args[0]; }
+                case "hashCode" -> { return System.identityHashCode(p); }
+                case "toString" -> { return "PooledConnection[" + physical.connection + "]"; }
+                default -> {
+                    if (returned.get()) throw new SQLException("Connection has already been returned to the pool");
+                }
+            }
+            try {
+                return method.invoke(physical.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -7,61 +7,111 @@ import java.sql.*;
  * <p>
  * This class handles:
  * <ul>
- *   <li>Connecting to the SQLite database via JDBC</li>
- *   <li>Creating necessary tables for questions and results if they do not exist</li>
+ *   <li>Handing out pooled connections to the SQLite database via JDBC</li>
+ *   <li>Migrating the schema to the latest version at startup</li>
  * </ul>
+ * The database location defaults to {@code brainbrawl.db} in the working directory and
+ * can be overridden with the {@code brainbrawl.db.url} system property or {@link #use(String)}.
+ * Every connection is configured with the current {@link StorageProfile}.
  */
 public class Db {
-    /** The database URL for SQLite. */
-    private static final String URL = "jdbc:sqlite:brainbrawl.db";
+    /** The default database URL for SQLite. */
+    private static final String DEFAULT_URL = "jdbc:sqlite:brainbrawl.db";
+
+    /** The database URL currently in use. */
+    private static String url = System.getProperty("brainbrawl.db.url", DEFAULT_URL);
+    /** The storage profile applied to every new connection. */
+    private static StorageProfile profile = StorageProfile.fromSystemProperty();
+    /** The URL whose schema has already been migrated by {@link #init()}. */
+    private static String initializedUrl;
+    /** Lazily created pool of connections to {@link #url}. */
+    private static volatile ConnectionPool pool;
 
     /**
-     * Opens a connection to the SQLite database.
+     * Borrows a connection to the SQLite database from the shared pool.
+     * <p>
+     * Closing the returned connection hands it back to the pool, so callers
+     * should keep using try-with-resources exactly as with a plain connection.
      *
      * @return a {@link Connection} object to the database
      * @throws SQLException if a connection cannot be established
      */
     public static Connection connect() throws SQLException {
-        return DriverManager.getConnection(URL);
+        return pool().borrow();
+    }
+
+    /**
+     * Points the application at a different database, closing the current pool.
+     * <p>
+     * Mainly used by tests and command-line tools.
+     *
+     * @param jdbcUrl the JDBC URL of the database to use
+     */
+    public static synchronized void use(String jdbcUrl) {
+        shutdown();
+        url = jdbcUrl;
+        initializedUrl = null;
+    }
+
+    /** @return the JDBC URL of the database currently in use */
+    public static synchronized String url() { return url; }
+
+    /**
+     * Switches between the durable and fast storage profiles, closing the current pool
+     * so that new connections pick up the change.
+     *
+     * @param storageProfile the profile to apply to new connections
+     */
+    public static synchronized void useProfile(StorageProfile storageProfile) {
+        shutdown();
+        profile = storageProfile;
+    }
+
+    /** @return the storage profile applied to new connections */
+    public static synchronized StorageProfile profile() { return profile; }
+
+    /**
+     * Closes all pooled connections. The pool is recreated on the next {@link #connect()}.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /**
+     * Returns the shared pool, creating it on first use.
+     *
+     * @return the connection pool for the current database URL
+     */
+    private static ConnectionPool pool() {
+        ConnectionPool p = pool;
+        if (p != null) return p;
+        synchronized (Db.class) {
+            if (pool == null) pool = new ConnectionPool(url, profile::apply);
+            return pool;
+        }
     }
 
     /**
-     * Initializes the database by creating required tables if they do not already exist.
+     * Initializes the database by applying any pending schema {@link Migrations}.
      * <p>
-     * Tables created:
+     * Tables created by the migrations:
      * <ul>
      *   <li><b>questions</b> – stores quiz questions</li>
      *   <li><b>results</b> – stores player quiz results</li>
+     *   <li><b>users</b> – stores accounts and password hashes</li>
      * </ul>
+     * The connection used here is the first one opened by the pool, so this is also
+     * where the {@link StorageProfile} (WAL mode, sync level, cache sizes) first takes effect.
+     * Calling this method again for the same database does nothing.
      */
-    public static void init() {
-        String createQuestions = """
-            CREATE TABLE IF NOT EXISTS questions (
-              id INTEGER PRIMARY KEY AUTOINCREMENT,
-              category TEXT NOT NULL,
-              text TEXT NOT NULL,
-              type TEXT NOT NULL,           -- MCQ / SHORT
-              options_text TEXT,            -- "||" delimited for MCQ
-              correct_index INTEGER,        -- null for SHORT
-              difficulty INTEGER NOT NULL DEFAULT 1
-            );
-        """;
-
-        String createResults = """
-            CREATE TABLE IF NOT EXISTS results (
-              id INTEGER PRIMARY KEY AUTOINCREMENT,
-              category TEXT NOT NULL,
-              difficulty INTEGER NOT NULL,
-              score INTEGER NOT NULL,
-              total INTEGER NOT NULL,
-              seconds_per_question INTEGER NOT NULL,
-              created_at TEXT NOT NULL DEFAULT (datetime('now'))
-            );
-        """;
-
-        try (Connection c = connect(); Statement st = c.createStatement()) {
-            st.execute(createQuestions);
-            st.execute(createResults);
+    public static synchronized void init() {
+        if (url.equals(initializedUrl)) return;
+        try (Connection c = connect()) {
+            SchemaMigrator.migrate(c, Migrations.ALL);
+            initializedUrl = url;
         } catch (SQLException e) {
             throw new RuntimeException("Failed to init DB", e);
         }
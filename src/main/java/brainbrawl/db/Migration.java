@@ -0,0 +1,75 @@
+package brainbrawl.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A single, numbered change to the database schema.
+ * <p>
+ * Migrations are applied in version order by {@link SchemaMigrator}, each in its
+ * own transaction, and the applied version is recorded in {@code PRAGMA user_version}.
+ * Once released, a migration must never be edited — add a new one instead.
+ */
+public final class Migration {
+
+    /** The work performed by a migration. */
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * Applies the change using the given connection (already inside a transaction).
+         *
+         * @param c the connection to migrate
+         * @throws SQLException if the change fails
+         */
+        void apply(Connection c) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Step step;
+
+    /**
+     * Constructs a migration.
+     *
+     * @param version the schema version this migration brings the database to (1, 2, 3, ...)
+     * @param description a short human-readable summary
+     * @param step the change to apply
+     */
+    public Migration(int version, String description, Step step) {
+        if (version < 1) throw new IllegalArgumentException("Migration versions start at 1");
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    /**
+     * Creates a migration made of plain SQL statements, executed in order.
+     *
+     * @param version the schema version this migration brings the database to
+     * @param description a short human-readable summary
+     * @param statements the SQL statements to execute
+     * @return the new migration
+     */
+    public static Migration sql(int version, String description, String... statements) {
+        return new Migration(version, description, c -> {
+            try (Statement st = c.createStatement()) {
+                for (String s : statements) st.execute(s);
+            }
+        });
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+
+    /**
+     * Applies this migration.
+     *
+     * @param c the connection to migrate
+     * @throws SQLException if the change fails
+     */
+    void apply(Connection c) throws SQLException { step.apply(c); }
+
+    @Override
+    public String toString() { return "V" + version + " " + description; }
+}
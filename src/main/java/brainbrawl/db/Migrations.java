@@ -0,0 +1,143 @@
+package brainbrawl.db;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * The ordered list of schema migrations for the BrainBrawl database.
+ * <p>
+ * Version 1 is the schema that used to be created ad hoc by {@code Db.init()} and
+ * {@code UserDaoJdbc}; it uses {@code IF NOT EXISTS} so databases created before
+ * migrations existed are adopted as-is. Append new migrations to the end of {@link #ALL}.
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class Migrations {
+
+    /** Private constructor to prevent instantiation. */
+    private Migrations() {}
+
+    /** V1: the original questions, results and users tables. */
+    private static final Migration BASELINE = Migration.sql(1, "create questions, results and users tables",
+            """
+            CREATE TABLE IF NOT EXISTS questions (
+              id INTEGER PRIMARY KEY AUTOINCREMENT,
+              category TEXT NOT NULL,
+              text TEXT NOT NULL,
+              type TEXT NOT NULL,           -- MCQ / SHORT
+              options_text TEXT,            -- "||" delimited for MCQ
+              correct_index INTEGER,        -- null for SHORT
+              difficulty INTEGER NOT NULL DEFAULT 1
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS results (
+              id INTEGER PRIMARY KEY AUTOINCREMENT,
+              category TEXT NOT NULL,
+              difficulty INTEGER NOT NULL,
+              score INTEGER NOT NULL,
+              total INTEGER NOT NULL,
+              seconds_per_question INTEGER NOT NULL,
+              created_at TEXT NOT NULL DEFAULT (datetime('now'))
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS users(
+              id INTEGER PRIMARY KEY AUTOINCREMENT,
+              username TEXT UNIQUE NOT NULL,
+              password_hash TEXT NOT NULL,
+              salt TEXT NOT NULL
+            )
+            """);
+
+    /** V2: quizzes look questions up by category and level. */
+    private static final Migration QUESTIONS_BY_CATEGORY = Migration.sql(2, "index questions by category and difficulty",
+            "CREATE INDEX IF NOT EXISTS idx_questions_category_difficulty ON questions(category, difficulty)");
+
+    /** V3: the Home screen lists the newest results first. */
+    private static final Migration RESULTS_BY_DATE = Migration.sql(3, "index results by creation time",
+            "CREATE INDEX IF NOT EXISTS idx_results_created_at ON results(created_at DESC)");
+
+    /**
+     * V4: store result times as sortable epoch milliseconds, backfilled from {@code created_at},
+     * so the newest results are read straight off an index. Replaces the V3 index, which
+     * {@code ORDER BY datetime(created_at)} could never use. The index is ascending on purpose:
+     * its implicit rowid suffix then lets a backwards scan satisfy {@code created_at_ms DESC, id DESC}.
+     */
+    private static final Migration RESULTS_EPOCH_MILLIS = Migration.sql(4, "add results.created_at_ms with index",
+            "ALTER TABLE results ADD COLUMN created_at_ms INTEGER NOT NULL DEFAULT 0",
+            "UPDATE results SET created_at_ms = COALESCE(CAST(strftime('%s', created_at) AS INTEGER) * 1000, 0)",
+            "DROP INDEX IF EXISTS idx_results_created_at",
+            "CREATE INDEX IF NOT EXISTS idx_results_created_at_ms ON results(created_at_ms)");
+
+    /** V5: load the General Knowledge and Geography banks that used to be hard-coded in the controllers. */
+    private static final Migration SEED_QUESTION_BANKS = new Migration(5, "seed built-in question banks",
+            QuestionSeed::insertBundled);
+
+    /**
+     * V6: attribute results to the player who earned them. Existing rows keep a {@code NULL}
+     * user. The index serves one player's newest results the same way V4's serves everyone's:
+     * a backwards scan over {@code (user_id, created_at_ms, rowid)} that stops at the limit.
+     */
+    private static final Migration RESULTS_BY_USER = Migration.sql(6, "add results.user_id with index",
+            "ALTER TABLE results ADD COLUMN user_id INTEGER REFERENCES users(id)",
+            "CREATE INDEX IF NOT EXISTS idx_results_user_created_at_ms ON results(user_id, created_at_ms)");
+
+    /**
+     * V7: per-player aggregates kept up to date as results are saved (see {@link StatsRollup}),
+     * backfilled from the results already attributed by V6. The primary key doubles as the
+     * lookup index, so the table is stored {@code WITHOUT ROWID}.
+     */
+    private static final Migration USER_STATS = new Migration(7, "add user_stats rollup", c -> {
+        try (Statement st = c.createStatement()) {
+            st.execute("""
+                CREATE TABLE IF NOT EXISTS user_stats(
+                  user_id INTEGER NOT NULL REFERENCES users(id),
+                  category TEXT NOT NULL,
+                  difficulty INTEGER NOT NULL,
+                  games INTEGER NOT NULL,
+                  total_score INTEGER NOT NULL,
+                  total_questions INTEGER NOT NULL,
+                  best_score INTEGER NOT NULL,
+                  current_streak INTEGER NOT NULL,
+                  best_streak INTEGER NOT NULL,
+                  last_played_ms INTEGER NOT NULL,
+                  PRIMARY KEY(user_id, category, difficulty)
+                ) WITHOUT ROWID
+                """);
+        }
+        StatsRollup.rebuild(c);
+    });
+
+    /**
+     * V8: one row per answer given, for question-level analytics. Generated maths questions
+     * have no {@code question_id}; the index serves per-question miss rates and timings.
+     */
+    private static final Migration ANSWERS = Migration.sql(8, "add answers telemetry table",
+            """
+            CREATE TABLE IF NOT EXISTS answers(
+              id INTEGER PRIMARY KEY,
+              user_id INTEGER REFERENCES users(id),
+              question_id INTEGER,
+              category TEXT NOT NULL,
+              difficulty INTEGER NOT NULL,
+              chosen INTEGER,               -- option index, or the number typed; NULL on timeout
+              correct INTEGER NOT NULL,     -- 0 / 1
+              response_ms INTEGER NOT NULL,
+              answered_at_ms INTEGER NOT NULL
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_answers_question ON answers(question_id)");
+
+    /** All migrations, in version order. */
+    public static final List<Migration> ALL = List.of(
+            BASELINE,
+            QUESTIONS_BY_CATEGORY,
+            RESULTS_BY_DATE,
+            RESULTS_EPOCH_MILLIS,
+            SEED_QUESTION_BANKS,
+            RESULTS_BY_USER,
+            USER_STATS,
+            ANSWERS
+    );
+}
@@ -0,0 +1,91 @@
+package brainbrawl.db;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Loads the built-in question banks shipped under {@code /BrainBrawl/questions/} into the
+ * {@code questions} table.
+ * <p>
+ * Each bank is a UTF-8, tab-separated file with one MCQ per line:
+ * <pre>category	difficulty	text	option1||option2||...	correctIndex</pre>
+ * Blank lines and lines starting with {@code #} are ignored. Seeding runs once, as a
+ * schema migration, so questions the admin later edits or deletes are never re-inserted.
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class QuestionSeed {
+
+    /** Classpath locations of the bundled banks. */
+    static final String[] BUNDLED = {
+            "/BrainBrawl/questions/general.tsv",
+            "/BrainBrawl/questions/geography.tsv"
+    };
+
+    /** Private constructor to prevent instantiation. */
+    private QuestionSeed() {}
+
+    /**
+     * Inserts every bundled bank using the given connection.
+     *
+     * @param c the connection to insert with (normally inside a migration transaction)
+     * @return the number of questions inserted
+     * @throws SQLException if a bank is missing, malformed or cannot be inserted
+     */
+    public static int insertBundled(Connection c) throws SQLException {
+        int total = 0;
+        for (String resource : BUNDLED) total += insert(c, resource);
+        return total;
+    }
+
+    /**
+     * Inserts one bank from the classpath.
+     *
+     * @param c the connection to insert with
+     * @param resource the classpath location of the bank
+     * @return the number of questions inserted
+     * @throws SQLException if the bank is missing, malformed or cannot be inserted
+     */
+    static int insert(Connection c, String resource) throws SQLException {
+        String sql = """
+            INSERT INTO questions(category, text, type, options_text, correct_index, difficulty)
+            VALUES(?,?,'MCQ',?,?,?)
+        """;
+        InputStream in = QuestionSeed.class.getResourceAsStream(resource);
+        if (in == null) throw new SQLException("Question bank not found: " + resource);
+
+        int count = 0;
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             PreparedStatement ps = c.prepareStatement(sql)) {
+            String line;
+            int lineNo = 0;
+            while ((line = r.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] f = line.split("\t", -1);
+                if (f.length != 5) throw new SQLException(resource + ":" + lineNo + ": expected 5 tab-separated fields");
+                try {
+                    ps.setString(1, f[0]);
+                    ps.setString(2, f[2]);
+                    ps.setString(3, f[3]);
+                    ps.setInt(4, Integer.parseInt(f[4].trim()));
+                    ps.setInt(5, Integer.parseInt(f[1].trim()));
+                } catch (NumberFormatException e) {
+                    throw new SQLException(resource + ":" + lineNo + ": " + e.getMessage(), e);
+                }
+                ps.addBatch();
+                count++;
+            }
+            ps.executeBatch();
+        } catch (IOException e) {
+            throw new SQLException("Failed reading " + resource, e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,75 @@
+package brainbrawl.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Brings a database schema up to date by applying pending {@link Migration}s.
+ * <p>
+ * The current schema version is kept in SQLite's {@code PRAGMA user_version}
+ * (0 for a database that has never been migrated). Each pending migration runs in
+ * its own transaction together with the version bump, so a failing migration leaves
+ * the database at the last good version.
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class SchemaMigrator {
+
+    /** Private constructor to prevent instantiation. */
+    private SchemaMigrator() {}
+
+    /**
+     * Reads the schema version of a database.
+     *
+     * @param c the connection to inspect
+     * @return the value of {@code PRAGMA user_version}
+     * @throws SQLException if the PRAGMA cannot be read
+     */
+    public static int currentVersion(Connection c) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies every migration newer than the database's current version, in order.
+     *
+     * @param c the connection to migrate (must be in auto-commit mode)
+     * @param migrations all known migrations, numbered 1..n without gaps
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails or the database is newer than the known migrations
+     * @throws IllegalArgumentException if the migrations are not numbered 1..n
+     */
+    public static int migrate(Connection c, List<Migration> migrations) throws SQLException {
+        for (int i = 0; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() != i + 1)
+                throw new IllegalArgumentException("Migrations must be numbered 1.." + migrations.size()
+                        + " without gaps, found " + migrations.get(i) + " at position " + (i + 1));
+        }
+
+        int current = currentVersion(c);
+        if (current > migrations.size())
+            throw new SQLException("Database schema version " + current
+                    + " is newer than this build supports (" + migrations.size() + ")");
+
+        int applied = 0;
+        for (Migration m : migrations.subList(current, migrations.size())) {
+            c.setAutoCommit(false);
+            try (Statement st = c.createStatement()) {
+                m.apply(c);
+                st.execute("PRAGMA user_version = " + m.getVersion());
+                c.commit();
+                applied++;
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw new SQLException("Migration " + m + " failed", e);
+            } finally {
+                c.setAutoCommit(true);
+            }
+        }
+        return applied;
+    }
+}
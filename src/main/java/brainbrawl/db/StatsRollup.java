@@ -0,0 +1,117 @@
+package brainbrawl.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Maintains the {@code user_stats} rollup: one row per player, category and difficulty
+ * holding games played, total score, total questions, best score and pass streaks.
+ * <p>
+ * A game counts as passed when at least half of its answers were right. The current streak
+ * is the number of passed games in a row up to the latest one, and the best streak the
+ * longest such run so far. Streaks assume results are applied in the order they were played,
+ * which holds because results are saved in that order.
+ * <p>
+ * {@link #apply} is called for every saved result in the same transaction as its insert, so
+ * the rollup never disagrees with the {@code results} table and reading a player's statistics
+ * costs a handful of rows however many games they have played. {@link #rebuild} recomputes
+ * the whole table from {@code results}; the migration that created it uses it to backfill.
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class StatsRollup {
+
+    /** Adds one game to its row, creating the row on the player's first game. */
+    private static final String UPSERT = """
+        INSERT INTO user_stats(user_id, category, difficulty, games, total_score, total_questions,
+                               best_score, current_streak, best_streak, last_played_ms)
+        VALUES(?, ?, ?, 1, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT(user_id, category, difficulty) DO UPDATE SET
+          games = games + 1,
+          total_score = total_score + excluded.total_score,
+          total_questions = total_questions + excluded.total_questions,
+          best_score = MAX(best_score, excluded.best_score),
+          current_streak = CASE WHEN excluded.current_streak = 1 THEN current_streak + 1 ELSE 0 END,
+          best_streak = MAX(best_streak, CASE WHEN excluded.current_streak = 1 THEN current_streak + 1 ELSE 0 END),
+          last_played_ms = MAX(last_played_ms, excluded.last_played_ms)
+    """;
+
+    /** Private constructor to prevent instantiation. */
+    private StatsRollup() {}
+
+    /**
+     * Reports whether a game counts towards a streak.
+     *
+     * @param score correct answers
+     * @param total questions asked
+     * @return {@code true} if at least half of the answers were right
+     */
+    public static boolean passed(int score, int total) {
+        return total > 0 && 2 * score >= total;
+    }
+
+    /**
+     * Prepares the statement taken by {@link #apply}, so a batch of results can share it.
+     *
+     * @param c the connection the results are being inserted with
+     * @return the prepared upsert; the caller closes it
+     * @throws SQLException if preparing fails
+     */
+    public static PreparedStatement prepare(Connection c) throws SQLException {
+        return c.prepareStatement(UPSERT);
+    }
+
+    /**
+     * Folds one saved result into its rollup row. Call it in the transaction that inserts
+     * the result.
+     *
+     * @param upsert a statement from {@link #prepare}
+     * @param userId the player
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param score correct answers
+     * @param total questions asked
+     * @param playedAtMillis when the game finished, in epoch milliseconds
+     * @throws SQLException if the update fails
+     */
+    public static void apply(PreparedStatement upsert, long userId, String category, int difficulty,
+                             int score, int total, long playedAtMillis) throws SQLException {
+        int streak = passed(score, total) ? 1 : 0;
+        upsert.setLong(1, userId);
+        upsert.setString(2, category);
+        upsert.setInt(3, difficulty);
+        upsert.setInt(4, score);
+        upsert.setInt(5, total);
+        upsert.setInt(6, score);
+        upsert.setInt(7, streak);
+        upsert.setInt(8, streak);
+        upsert.setLong(9, playedAtMillis);
+        upsert.executeUpdate();
+    }
+
+    /**
+     * Recomputes {@code user_stats} from every attributed row of {@code results}.
+     *
+     * @param c the connection to use (normally inside a transaction)
+     * @return the number of results folded in
+     * @throws SQLException if reading or writing fails
+     */
+    public static int rebuild(Connection c) throws SQLException {
+        int n = 0;
+        try (Statement st = c.createStatement(); PreparedStatement upsert = prepare(c)) {
+            st.executeUpdate("DELETE FROM user_stats");
+            try (ResultSet rs = st.executeQuery("""
+                    SELECT user_id, category, difficulty, score, total, created_at_ms FROM results
+                    WHERE user_id IS NOT NULL ORDER BY created_at_ms, id""")) {
+                while (rs.next()) {
+                    apply(upsert, rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getLong(6));
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+}
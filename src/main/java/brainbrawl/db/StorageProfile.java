@@ -0,0 +1,75 @@
+package brainbrawl.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SQLite storage settings applied to every pooled connection.
+ * <p>
+ * Both profiles run the database in write-ahead-log (WAL) mode, so readers such as
+ * the Home screen history never wait behind a result being written, and both keep
+ * temporary tables in memory, enlarge the page cache, memory-map the file and wait
+ * for a busy lock instead of failing immediately. They differ in how often SQLite
+ * syncs to disk:
+ * <ul>
+ *   <li>{@link #DURABLE} – {@code synchronous=FULL}: every commit is synced, nothing is lost on power failure</li>
+ *   <li>{@link #FAST} – {@code synchronous=NORMAL}: syncs only at checkpoints; the database stays
+ *       consistent but the last few commits may be lost on power failure</li>
+ * </ul>
+ * The profile is chosen with the {@code brainbrawl.db.profile} system property
+ * ({@code durable} or {@code fast}) and defaults to {@link #FAST}.
+ */
+public enum StorageProfile {
+    /** WAL with a full sync on every commit. */
+    DURABLE("FULL", -16_000, 256L * 1024 * 1024, 5_000),
+    /** WAL with syncs deferred to checkpoints. */
+    FAST("NORMAL", -16_000, 256L * 1024 * 1024, 5_000);
+
+    private final String synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final int busyTimeoutMillis;
+
+    /**
+     * @param synchronous value for {@code PRAGMA synchronous}
+     * @param cacheSize value for {@code PRAGMA cache_size} (negative means KiB, so -16000 is ~16 MB)
+     * @param mmapSize value for {@code PRAGMA mmap_size} in bytes
+     * @param busyTimeoutMillis value for {@code PRAGMA busy_timeout}
+     */
+    StorageProfile(String synchronous, int cacheSize, long mmapSize, int busyTimeoutMillis) {
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    /**
+     * Applies this profile's PRAGMAs to a connection.
+     *
+     * @param c the connection to configure
+     * @throws SQLException if a PRAGMA cannot be executed
+     */
+    public void apply(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            st.execute("PRAGMA journal_mode = WAL");
+            st.execute("PRAGMA synchronous = " + synchronous);
+            st.execute("PRAGMA cache_size = " + cacheSize);
+            st.execute("PRAGMA mmap_size = " + mmapSize);
+            st.execute("PRAGMA temp_store = MEMORY");
+        }
+    }
+
+    /**
+     * Reads the profile selected by the {@code brainbrawl.db.profile} system property.
+     *
+     * @return the selected profile, or {@link #FAST} if the property is missing
+     * @throws IllegalArgumentException if the property names an unknown profile
+     */
+    public static StorageProfile fromSystemProperty() {
+        String name = System.getProperty("brainbrawl.db.profile");
+        if (name == null || name.isBlank()) return FAST;
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,222 @@
+package brainbrawl.math;
+
+import java.util.Arrays;
+
+/**
+ * An arithmetic expression tree stored as one {@code int} per node in postfix order.
+ * <p>
+ * Each node keeps its kind in the low two bits: {@link #CONST} nodes hold their value in the
+ * remaining bits, {@link #OPERATOR} nodes a {@link MathProblem} operator code, and
+ * {@link #VARIABLE} is the unknown {@code x}. Every operator is binary, so a tree with
+ * {@code k} operators is exactly {@code 2k + 1} ints.
+ * <p>
+ * Instances are immutable.
+ */
+public final class Expression {
+
+    public static final int CONST = 0;
+    public static final int VARIABLE = 1;
+    public static final int OPERATOR = 2;
+
+    private final int[] code;
+
+    /**
+     * Wraps a postfix program.
+     *
+     * @param code the nodes, built with {@link #constant}, {@link #variable} and {@link #operator}
+     * @throws IllegalArgumentException if the program is not a single well-formed tree
+     */
+    public Expression(int[] code) {
+        int depth = 0;
+        for (int node : code) {
+            depth += kind(node) == OPERATOR ? -1 : 1;
+            if (depth < 1) throw new IllegalArgumentException("operator without two operands");
+        }
+        if (depth != 1) throw new IllegalArgumentException("not a single expression");
+        this.code = code.clone();
+    }
+
+    /** @return the node for a constant */
+    public static int constant(int value) { return value << 2 | CONST; }
+    /** @return the node for the unknown {@code x} */
+    public static int variable() { return VARIABLE; }
+    /** @return the node for an operator, one of the {@link MathProblem} codes */
+    public static int operator(int op) { return op << 2 | OPERATOR; }
+
+    static int kind(int node) { return node & 3; }
+    static int payload(int node) { return node >> 2; }
+
+    /** @return the number of nodes */
+    public int length() { return code.length; }
+
+    /** @return the number of operators */
+    public int operators() { return code.length / 2; }
+
+    /** @return {@code true} if the expression contains {@code x} */
+    public boolean hasVariable() {
+        for (int node : code) if (kind(node) == VARIABLE) return true;
+        return false;
+    }
+
+    /**
+     * Evaluates the expression exactly.
+     *
+     * @param x the value of the unknown, or {@code null} if there is none
+     * @return the value
+     * @throws ArithmeticException on division by zero or overflow
+     */
+    public Rational evaluate(Rational x) {
+        Rational[] stack = new Rational[code.length];
+        int sp = 0;
+        for (int node : code) {
+            switch (kind(node)) {
+                case CONST -> stack[sp++] = Rational.of(payload(node));
+                case VARIABLE -> stack[sp++] = x;
+                default -> {
+                    Rational r = stack[--sp], l = stack[--sp];
+                    stack[sp++] = apply(payload(node), l, r);
+                }
+            }
+        }
+        return stack[0];
+    }
+
+    static Rational apply(int op, Rational l, Rational r) {
+        return switch (op) {
+            case MathProblem.ADD -> l.add(r);
+            case MathProblem.SUB -> l.subtract(r);
+            case MathProblem.MUL -> l.multiply(r);
+            default -> l.divide(r);
+        };
+    }
+
+    /** @return the number of operator levels on the longest path from the root to a leaf */
+    public int depth() {
+        int[] stack = new int[code.length];
+        int sp = 0;
+        for (int node : code) {
+            if (kind(node) == OPERATOR) {
+                int r = stack[--sp], l = stack[--sp];
+                stack[sp++] = Math.max(l, r) + 1;
+            } else {
+                stack[sp++] = 0;
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Hashes the expression so that trees differing only in the order of the operands of
+     * {@code +} or {@code ×} hash the same, e.g. {@code 3 + 4} and {@code 4 + 3}.
+     *
+     * @return the canonical hash
+     */
+    public long canonicalHash() {
+        long[] stack = new long[code.length];
+        int sp = 0;
+        for (int node : code) {
+            if (kind(node) == OPERATOR) {
+                long r = stack[--sp], l = stack[--sp];
+                int op = payload(node);
+                if (op == MathProblem.ADD || op == MathProblem.MUL) {
+                    long lo = Math.min(l, r);
+                    r = Math.max(l, r);
+                    l = lo;
+                }
+                stack[sp++] = mix(mix(mix(node) + l) + r);
+            } else {
+                stack[sp++] = mix(node);
+            }
+        }
+        return stack[0];
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Renders the expression in infix with as few parentheses as needed. Negative constants
+     * are parenthesised, and a constant times {@code x} is written {@code 3x}.
+     *
+     * @param sb where to append the text
+     * @return {@code sb}
+     */
+    public StringBuilder appendInfix(StringBuilder sb) {
+        int[] start = new int[code.length]; // first node of the subtree rooted at each index
+        int[] stack = new int[code.length];
+        int sp = 0;
+        for (int i = 0; i < code.length; i++) {
+            if (kind(code[i]) == OPERATOR) {
+                sp--;
+                start[i] = stack[--sp];
+            } else {
+                start[i] = i;
+            }
+            stack[sp++] = start[i];
+        }
+        render(code.length - 1, start, sb);
+        return sb;
+    }
+
+    private void render(int i, int[] start, StringBuilder sb) {
+        int node = code[i];
+        switch (kind(node)) {
+            case CONST -> {
+                int v = payload(node);
+                if (v < 0) sb.append('(').append(v).append(')');
+                else sb.append(v);
+            }
+            case VARIABLE -> sb.append('x');
+            default -> {
+                int op = payload(node);
+                int right = i - 1, left = start[right] - 1;
+                if (op == MathProblem.MUL && kind(code[left]) == CONST && payload(code[left]) >= 0
+                        && kind(code[right]) == VARIABLE) {
+                    sb.append(payload(code[left])).append('x');
+                    return;
+                }
+                renderChild(left, start, sb, precedence(op) > precedenceAt(left));
+                sb.append(' ').append(SYMBOLS[op]).append(' ');
+                boolean rightParens = precedence(op) > precedenceAt(right)
+                        || (precedence(op) == precedenceAt(right) && (op == MathProblem.SUB || op == MathProblem.DIV));
+                renderChild(right, start, sb, rightParens);
+            }
+        }
+    }
+
+    private void renderChild(int i, int[] start, StringBuilder sb, boolean parens) {
+        if (parens) sb.append('(');
+        render(i, start, sb);
+        if (parens) sb.append(')');
+    }
+
+    private static final String[] SYMBOLS = {"+", "-", "×", "÷"};
+
+    private static int precedence(int op) {
+        return op == MathProblem.ADD || op == MathProblem.SUB ? 1 : 2;
+    }
+
+    /** Precedence of the node at {@code i}; leaves bind tightest. */
+    private int precedenceAt(int i) {
+        return kind(code[i]) == OPERATOR ? precedence(payload(code[i])) : 3;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Expression e && Arrays.equals(e.code, code);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(code);
+    }
+
+    /** @return the expression in infix */
+    @Override
+    public String toString() {
+        return appendInfix(new StringBuilder()).toString();
+    }
+}
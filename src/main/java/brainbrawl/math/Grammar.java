@@ -0,0 +1,250 @@
+package brainbrawl.math;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Describes the problems of one difficulty level and generates random ones that fit.
+ * <p>
+ * A grammar fixes how many operators a problem has, how deep its tree may be, which
+ * operators and operand values may appear, and how large the answer may get. An integer
+ * grammar additionally requires every intermediate result to be whole: a division is made
+ * exact when it is built, by choosing a divisor or dividend leaf to fit, instead of relying
+ * on lucky operands. A grammar {@link #withVariable with a variable} produces equations to
+ * solve for {@code x}.
+ * <p>
+ * Generation can fail for a given draw (a division that cannot be made exact, an answer out of
+ * range); {@link #tryGenerate} then returns {@code null} and the caller draws again.
+ * Instances are immutable.
+ */
+public final class Grammar {
+
+    private final int minOperators;
+    private final int maxOperators;
+    private final int maxDepth;
+    private final int operatorMask;
+    private final int operandMin;
+    private final int operandMax;
+    private final boolean integerOnly;
+    private final int maxAbsAnswer;
+    private final boolean variable;
+    private final int variableMin;
+    private final int variableMax;
+
+    /**
+     * Constructs a grammar for problems without a variable.
+     *
+     * @param minOperators fewest operators per problem (at least 1)
+     * @param maxOperators most operators per problem
+     * @param maxDepth most operator levels from root to leaf
+     * @param operatorMask allowed operators, see {@link #ops(int...)}
+     * @param operandMin smallest constant
+     * @param operandMax largest constant
+     * @param integerOnly whether every intermediate result and the answer must be whole
+     * @param maxAbsAnswer largest allowed magnitude of the answer (or right-hand side)
+     */
+    public Grammar(int minOperators, int maxOperators, int maxDepth, int operatorMask,
+                   int operandMin, int operandMax, boolean integerOnly, int maxAbsAnswer) {
+        this(minOperators, maxOperators, maxDepth, operatorMask, operandMin, operandMax, integerOnly,
+                maxAbsAnswer, false, 0, 0);
+    }
+
+    private Grammar(int minOperators, int maxOperators, int maxDepth, int operatorMask,
+                    int operandMin, int operandMax, boolean integerOnly, int maxAbsAnswer,
+                    boolean variable, int variableMin, int variableMax) {
+        if (minOperators < 1 || maxOperators < minOperators) throw new IllegalArgumentException("bad operator counts");
+        if (maxDepth < 1) throw new IllegalArgumentException("maxDepth must be positive");
+        if ((operatorMask & 0xF) == 0 || (operatorMask & ~0xF) != 0) throw new IllegalArgumentException("bad operator mask");
+        if (operandMax < operandMin) throw new IllegalArgumentException("empty operand range");
+        if (variable && variableMax < variableMin) throw new IllegalArgumentException("empty variable range");
+        this.minOperators = minOperators;
+        this.maxOperators = maxOperators;
+        this.maxDepth = maxDepth;
+        this.operatorMask = operatorMask;
+        this.operandMin = operandMin;
+        this.operandMax = operandMax;
+        this.integerOnly = integerOnly;
+        this.maxAbsAnswer = maxAbsAnswer;
+        this.variable = variable;
+        this.variableMin = variableMin;
+        this.variableMax = variableMax;
+    }
+
+    /**
+     * Returns a copy of this grammar that produces equations: one leaf of every problem is
+     * {@code x}, whose value (the answer) is drawn from {@code [min, max]}.
+     *
+     * @param min smallest value of {@code x}
+     * @param max largest value of {@code x}
+     * @return the equation grammar
+     */
+    public Grammar withVariable(int min, int max) {
+        return new Grammar(minOperators, maxOperators, maxDepth, operatorMask, operandMin, operandMax,
+                integerOnly, maxAbsAnswer, true, min, max);
+    }
+
+    /**
+     * Builds an operator mask.
+     *
+     * @param ops {@link MathProblem} operator codes
+     * @return the mask
+     */
+    public static int ops(int... ops) {
+        int mask = 0;
+        for (int op : ops) mask |= 1 << op;
+        return mask;
+    }
+
+    /**
+     * Returns the standard grammars for quiz levels 1–4, in order:
+     * <ol>
+     *   <li>one of {@code + - ×} on 1–12</li>
+     *   <li>one of {@code + - × ÷} on 2–40</li>
+     *   <li>two operators of {@code + - × ÷} on 2–21</li>
+     *   <li>solve for {@code x} in −10…10, two operators of {@code + - ×} on 2–12</li>
+     * </ol>
+     * All of them only produce whole answers.
+     *
+     * @return the four grammars
+     */
+    public static List<Grammar> levels() {
+        int all = ops(MathProblem.ADD, MathProblem.SUB, MathProblem.MUL, MathProblem.DIV);
+        int noDiv = ops(MathProblem.ADD, MathProblem.SUB, MathProblem.MUL);
+        return List.of(
+                new Grammar(1, 1, 1, noDiv, 1, 12, true, 200),
+                new Grammar(1, 1, 1, all, 2, 40, true, 2000),
+                new Grammar(2, 2, 2, all, 2, 21, true, 10_000),
+                new Grammar(2, 2, 2, noDiv, 2, 12, true, 500).withVariable(-10, 10));
+    }
+
+    public boolean isIntegerOnly() { return integerOnly; }
+    public boolean hasVariable() { return variable; }
+
+    // ---------------------------------------------------------------- generation
+
+    /** Scratch state for one attempt. */
+    private final class Attempt {
+        final SplittableRandom random;
+        final int[] code;
+        final Rational[] values;
+        int pos;
+        int leaves;
+        int variableLeaf = -1;
+        Rational x;
+
+        Attempt(SplittableRandom random, int operators) {
+            this.random = random;
+            this.code = new int[2 * operators + 1];
+            this.values = new Rational[code.length];
+        }
+
+        /** Appends a random subtree with {@code k} operators; returns its root index, or -1 on failure. */
+        int build(int k) {
+            if (k == 0) {
+                int i = pos++;
+                if (leaves++ == variableLeaf) {
+                    code[i] = Expression.variable();
+                    values[i] = x;
+                } else {
+                    int v = between(operandMin, operandMax);
+                    code[i] = Expression.constant(v);
+                    values[i] = Rational.of(v);
+                }
+                return i;
+            }
+            int op = randomOperator();
+            int leftOps = random.nextInt(k);
+            int left = build(leftOps);
+            if (left < 0) return -1;
+            int right = build(k - 1 - leftOps);
+            if (right < 0) return -1;
+            if (op == MathProblem.DIV && integerOnly && !makeExact(left, right)) return -1;
+            Rational v;
+            try {
+                v = Expression.apply(op, values[left], values[right]);
+            } catch (ArithmeticException e) {
+                return -1;
+            }
+            if (integerOnly && !v.isInteger()) return -1;
+            int i = pos++;
+            code[i] = Expression.operator(op);
+            values[i] = v;
+            return i;
+        }
+
+        /** Adjusts a constant leaf so that {@code left ÷ right} is whole. */
+        boolean makeExact(int left, int right) {
+            Rational l = values[left], r = values[right];
+            if (r.isZero()) return false;
+            if (l.numerator() % r.numerator() == 0) return true; // both whole under integerOnly
+            if (Expression.kind(code[right]) == Expression.CONST && !l.isZero()) {
+                int d = randomDivisor(l.numerator());
+                if (d == 0) return false;
+                code[right] = Expression.constant(d);
+                values[right] = Rational.of(d);
+                return true;
+            }
+            if (Expression.kind(code[left]) == Expression.CONST) {
+                long dividend = r.numerator() * between(operandMin, operandMax);
+                if (Math.abs(dividend) > Short.MAX_VALUE) return false;
+                code[left] = Expression.constant((int) dividend);
+                values[left] = Rational.of(dividend);
+                return true;
+            }
+            return false;
+        }
+
+        /** A random non-zero divisor of {@code n} within the operand range, or 0 if there is none. */
+        int randomDivisor(long n) {
+            int found = 0, chosen = 0;
+            for (int d = operandMin; d <= operandMax; d++) {
+                if (d != 0 && n % d == 0 && random.nextInt(++found) == 0) chosen = d; // reservoir sample
+            }
+            return chosen;
+        }
+
+        int randomOperator() {
+            while (true) {
+                int op = random.nextInt(4);
+                if ((operatorMask & 1 << op) != 0) return op;
+            }
+        }
+
+        int between(int lo, int hi) {
+            return random.nextInt(lo, hi + 1);
+        }
+    }
+
+    /**
+     * Draws one random problem.
+     *
+     * @param random the source of randomness
+     * @return a problem that fits this grammar, or {@code null} if this draw had to be rejected
+     */
+    public Problem tryGenerate(SplittableRandom random) {
+        int k = random.nextInt(minOperators, maxOperators + 1);
+        Attempt a = new Attempt(random, k);
+        if (variable) {
+            a.variableLeaf = random.nextInt(k + 1);
+            a.x = Rational.of(a.between(variableMin, variableMax));
+        }
+        int root = a.build(k);
+        if (root < 0) return null;
+
+        Expression e = new Expression(a.code);
+        if (e.depth() > maxDepth) return null;
+        Rational value = a.values[root];
+        if (Math.abs(value.numerator()) > (long) maxAbsAnswer * value.denominator()) return null;
+        if (!variable) return new Problem(e, value, null);
+
+        // x must be the only solution: changing x has to change the value
+        try {
+            if (e.evaluate(a.x.add(Rational.ONE)).equals(value) || e.evaluate(a.x.subtract(Rational.ONE)).equals(value)) {
+                return null;
+            }
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+        return new Problem(e, a.x, value);
+    }
+}
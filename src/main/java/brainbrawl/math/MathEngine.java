@@ -0,0 +1,81 @@
+package brainbrawl.math;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves maths problems for each difficulty level from cached {@link ProblemPool}s.
+ * <p>
+ * Each level has a {@link Grammar}. Its pool is generated the first time the level is asked
+ * for (or by {@link #warmUp()}) and reused afterwards, so building a quiz is a shuffle of
+ * existing problems. Pools are generated from a seed, so two engines with the same seed
+ * and grammars serve the same pools.
+ * <p>
+ * Thread-safe.
+ */
+public class MathEngine {
+
+    /** Default number of distinct problems kept per level. */
+    public static final int DEFAULT_POOL_SIZE = 1024;
+
+    private final List<Grammar> grammars;
+    private final int poolSize;
+    private final long seed;
+    private final ConcurrentHashMap<Integer, ProblemPool> pools = new ConcurrentHashMap<>();
+
+    /** Creates an engine for the standard {@link Grammar#levels() levels} with a random seed. */
+    public MathEngine() {
+        this(Grammar.levels(), DEFAULT_POOL_SIZE, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param grammars the grammar for each level; level 1 is the first
+     * @param poolSize how many distinct problems to keep per level
+     * @param seed determines the pools' contents
+     */
+    public MathEngine(List<Grammar> grammars, int poolSize, long seed) {
+        if (grammars.isEmpty()) throw new IllegalArgumentException("no grammars");
+        if (poolSize <= 0) throw new IllegalArgumentException("poolSize must be positive");
+        this.grammars = List.copyOf(grammars);
+        this.poolSize = poolSize;
+        this.seed = seed;
+    }
+
+    /** @return the number of levels */
+    public int levels() {
+        return grammars.size();
+    }
+
+    /**
+     * Returns the pool for a level, generating it on first use.
+     *
+     * @param level the level, from 1
+     * @return the level's pool
+     * @throws IllegalArgumentException if there is no such level
+     */
+    public ProblemPool pool(int level) {
+        if (level < 1 || level > grammars.size()) throw new IllegalArgumentException("no level " + level);
+        return pools.computeIfAbsent(level, l -> ProblemPool.build(grammars.get(l - 1), poolSize,
+                new SplittableRandom(seed + l * 0x9E3779B97F4A7C15L)));
+    }
+
+    /**
+     * Picks distinct problems for one quiz.
+     *
+     * @param level the level, from 1
+     * @param n how many problems
+     * @param random the source of randomness
+     * @return the problems
+     */
+    public List<Problem> deck(int level, int n, SplittableRandom random) {
+        return pool(level).draw(n, random);
+    }
+
+    /** Generates every level's pool now, e.g. on a background thread at startup. */
+    public void warmUp() {
+        for (int l = 1; l <= grammars.size(); l++) pool(l);
+    }
+}
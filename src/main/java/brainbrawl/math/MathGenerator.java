@@ -0,0 +1,148 @@
+package brainbrawl.math;
+
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Generates arithmetic problems for the Maths quiz, encoded as {@link MathProblem} longs.
+ * <p>
+ * Level 1: simple +, -, ×
+ * Level 2: mixed, includes division
+ * Level 3: two-step expressions
+ * Level 4: simple linear equations
+ * <p>
+ * Generating a problem draws a few numbers from a {@link SplittableRandom} and packs them;
+ * nothing is allocated. The same seed always yields the same problems, so a deck can be
+ * reproduced from its seed alone, e.g. to replay a quiz or to hand every player in a
+ * match the same questions. Use {@link #split()} to give other threads generators of their own.
+ * <p>
+ * A generator is not thread-safe.
+ */
+public class MathGenerator {
+
+    private final SplittableRandom random;
+
+    /** Creates a generator with a random seed. */
+    public MathGenerator() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a generator whose output is determined by {@code seed}.
+     *
+     * @param seed the seed
+     */
+    public MathGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private MathGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns an independent generator, for use on another thread.
+     *
+     * @return a new generator; its output is determined by this one's state
+     */
+    public MathGenerator split() {
+        return new MathGenerator(random.split());
+    }
+
+    /**
+     * Generates one problem.
+     *
+     * @param level the difficulty level (1–4)
+     * @return the encoded problem
+     * @throws IllegalArgumentException if {@code level} is out of range
+     */
+    public long next(int level) {
+        return switch (level) {
+            case 1 -> MathProblem.of(MathProblem.BINARY, random.nextInt(3), 0, between(1, 12), between(1, 12), 0);
+            case 2 -> level2();
+            case 3 -> level3();
+            case 4 -> {
+                int a = between(2, 10), x = between(-10, 10), b = between(-20, 20);
+                yield MathProblem.of(MathProblem.LINEAR, 0, 0, a, b, a * x + b);
+            }
+            default -> throw new IllegalArgumentException("level must be 1–4: " + level);
+        };
+    }
+
+    /**
+     * Fills an array with problems.
+     *
+     * @param level the difficulty level (1–4)
+     * @param out where to put the problems
+     * @return {@code out}
+     */
+    public long[] fill(int level, long[] out) {
+        for (int i = 0; i < out.length; i++) out[i] = next(level);
+        return out;
+    }
+
+    /**
+     * Streams problems from this generator. The stream is sequential and advances this generator.
+     *
+     * @param level the difficulty level (1–4)
+     * @param count how many problems
+     * @return the problems
+     */
+    public LongStream stream(int level, long count) {
+        if (level < 1 || level > 4) throw new IllegalArgumentException("level must be 1–4: " + level);
+        return LongStream.generate(() -> next(level)).limit(count);
+    }
+
+    /**
+     * Builds the deck a seed stands for.
+     *
+     * @param seed the deck's seed
+     * @param level the difficulty level (1–4)
+     * @param n the number of problems
+     * @return the same {@code n} problems every time for the same arguments
+     */
+    public static long[] deck(long seed, int level, int n) {
+        return new MathGenerator(seed).fill(level, new long[n]);
+    }
+
+    // ---------------------------------------------------------------- levels
+
+    private long level2() {
+        switch (random.nextInt(4)) {
+            case 3 -> {
+                int a = between(2, 30), b = between(2, 29);
+                return MathProblem.of(MathProblem.BINARY, MathProblem.DIV, 0, a * b, a, 0);
+            }
+            case 2 -> {
+                return MathProblem.of(MathProblem.BINARY, MathProblem.MUL, 0, between(2, 21), between(2, 21), 0);
+            }
+            case 1 -> {
+                return MathProblem.of(MathProblem.BINARY, MathProblem.SUB, 0, between(10, 49), between(10, 49), 0);
+            }
+            default -> {
+                return MathProblem.of(MathProblem.BINARY, MathProblem.ADD, 0, between(10, 49), between(10, 49), 0);
+            }
+        }
+    }
+
+    private long level3() {
+        int op1 = random.nextInt(4), op2 = random.nextInt(4);
+        int a = between(2, 21), b = between(2, 21);
+        if (op1 == MathProblem.DIV) { // show an exact division: (a·b) ÷ a
+            int dividend = a * b;
+            b = a;
+            a = dividend;
+        }
+        int c = between(2, 21);
+        if (op2 == MathProblem.DIV) { // (mid·c ÷ c)
+            int mid = MathProblem.apply(op1, a, b);
+            return MathProblem.of(MathProblem.GROUPED, MathProblem.DIV, 0, mid * c, c, 0);
+        }
+        return MathProblem.of(MathProblem.CHAIN, op1, op2, a, b, c);
+    }
+
+    /** Uniform in {@code [lo, hi]}. */
+    private int between(int lo, int hi) {
+        return random.nextInt(lo, hi + 1);
+    }
+}
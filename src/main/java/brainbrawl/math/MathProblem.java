@@ -0,0 +1,136 @@
+package brainbrawl.math;
+
+/**
+ * Encodes an arithmetic problem in a single {@code long}, so problems can be generated,
+ * stored in {@code long[]} decks and checked without allocating anything.
+ * <p>
+ * Layout, from the low bits up:
+ * <pre>
+ *  0–1   shape    {@link #BINARY}, {@link #CHAIN}, {@link #GROUPED} or {@link #LINEAR}
+ *  2–3   op1      {@link #ADD}, {@link #SUB}, {@link #MUL} or {@link #DIV}
+ *  4–5   op2      second operator, for {@link #CHAIN}
+ *  6–21  a        signed 16-bit operands
+ * 22–37  b
+ * 38–53  c
+ * </pre>
+ * The answer is never stored; {@link #answer(long)} works it out from the operands. Text is
+ * only rendered on demand with {@link #appendText(long, StringBuilder)} or {@link #text(long)}.
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class MathProblem {
+
+    /** {@code a op1 b = ?} */
+    public static final int BINARY = 0;
+    /** {@code (a op1 b) op2 c = ?} */
+    public static final int CHAIN = 1;
+    /** {@code (a op1 b) = ?} */
+    public static final int GROUPED = 2;
+    /** {@code Solve for x: a·x + b = c}; the answer is x. */
+    public static final int LINEAR = 3;
+
+    public static final int ADD = 0;
+    public static final int SUB = 1;
+    public static final int MUL = 2;
+    /** Integer division; the generator only emits exact divisions. */
+    public static final int DIV = 3;
+
+    private static final String[] SYMBOLS = {"+", "-", "×", "÷"};
+
+    /** Private constructor to prevent instantiation. */
+    private MathProblem() {}
+
+    /**
+     * Packs a problem.
+     *
+     * @param shape the layout of the problem
+     * @param op1 the first operator
+     * @param op2 the second operator ({@link #CHAIN} only; otherwise ignored)
+     * @param a the first operand, within the range of a {@code short}
+     * @param b the second operand, within the range of a {@code short}
+     * @param c the third operand, within the range of a {@code short}
+     * @return the encoded problem
+     */
+    public static long of(int shape, int op1, int op2, int a, int b, int c) {
+        return (shape & 3)
+                | (op1 & 3) << 2
+                | (op2 & 3) << 4
+                | (a & 0xFFFFL) << 6
+                | (b & 0xFFFFL) << 22
+                | (c & 0xFFFFL) << 38;
+    }
+
+    public static int shape(long p) { return (int) p & 3; }
+    public static int op1(long p) { return (int) (p >>> 2) & 3; }
+    public static int op2(long p) { return (int) (p >>> 4) & 3; }
+    public static int a(long p) { return (short) (p >>> 6); }
+    public static int b(long p) { return (short) (p >>> 22); }
+    public static int c(long p) { return (short) (p >>> 38); }
+
+    /**
+     * Works out the answer to a problem.
+     *
+     * @param p the encoded problem
+     * @return the number the player must enter
+     */
+    public static int answer(long p) {
+        return switch (shape(p)) {
+            case CHAIN -> apply(op2(p), apply(op1(p), a(p), b(p)), c(p));
+            case LINEAR -> (c(p) - b(p)) / a(p);
+            default -> apply(op1(p), a(p), b(p));
+        };
+    }
+
+    /**
+     * Applies an operator.
+     *
+     * @param op the operator
+     * @param x the left operand
+     * @param y the right operand
+     * @return the result; division truncates
+     */
+    public static int apply(int op, int x, int y) {
+        return switch (op) {
+            case ADD -> x + y;
+            case SUB -> x - y;
+            case MUL -> x * y;
+            default -> x / y;
+        };
+    }
+
+    /**
+     * Renders a problem the way the quiz shows it.
+     *
+     * @param p the encoded problem
+     * @param sb where to append the text
+     * @return {@code sb}
+     */
+    public static StringBuilder appendText(long p, StringBuilder sb) {
+        switch (shape(p)) {
+            case CHAIN -> {
+                sb.append('(');
+                appendOp(sb, a(p), op1(p), b(p)).append(") ").append(SYMBOLS[op2(p)]).append(' ').append(c(p));
+            }
+            case GROUPED -> appendOp(sb.append('('), a(p), op1(p), b(p)).append(')');
+            case LINEAR -> {
+                return sb.append("Solve for x: ").append(a(p)).append("x + ").append(b(p)).append(" = ").append(c(p));
+            }
+            default -> appendOp(sb, a(p), op1(p), b(p));
+        }
+        return sb.append(" = ?");
+    }
+
+    /**
+     * Renders a problem as a new string.
+     *
+     * @param p the encoded problem
+     * @return the question text
+     */
+    public static String text(long p) {
+        return appendText(p, new StringBuilder(32)).toString();
+    }
+
+    private static StringBuilder appendOp(StringBuilder sb, int x, int op, int y) {
+        return sb.append(x).append(' ').append(SYMBOLS[op]).append(' ').append(y);
+    }
+}
@@ -0,0 +1,56 @@
+package brainbrawl.math;
+
+/**
+ * A validated problem: an expression and its exact answer.
+ * <p>
+ * If the expression contains {@code x}, the problem is an equation: {@link #getRightHandSide()}
+ * is what the expression equals and the answer is the value of {@code x}. Otherwise the
+ * answer is the expression's value. Text is rendered when {@link #text()} is first called.
+ */
+public final class Problem {
+    private final Expression expression;
+    private final Rational answer;
+    private final Rational rightHandSide;
+    private String text;
+
+    /**
+     * Constructs a {@code Problem}.
+     *
+     * @param expression the expression
+     * @param answer the value of the expression, or of {@code x} for an equation
+     * @param rightHandSide what the expression equals for an equation, otherwise {@code null}
+     */
+    public Problem(Expression expression, Rational answer, Rational rightHandSide) {
+        this.expression = expression;
+        this.answer = answer;
+        this.rightHandSide = rightHandSide;
+    }
+
+    public Expression getExpression() { return expression; }
+    public Rational getAnswer() { return answer; }
+    /** @return what the expression equals, or {@code null} if this is not an equation */
+    public Rational getRightHandSide() { return rightHandSide; }
+
+    /** @return {@code true} if the player solves for {@code x} */
+    public boolean isEquation() { return rightHandSide != null; }
+
+    /** @return the question as the quiz shows it */
+    public String text() {
+        String t = text;
+        if (t == null) {
+            StringBuilder sb = new StringBuilder(40);
+            if (isEquation()) {
+                expression.appendInfix(sb.append("Solve for x: ")).append(" = ").append(rightHandSide);
+            } else {
+                expression.appendInfix(sb).append(" = ?");
+            }
+            text = t = sb.toString();
+        }
+        return t;
+    }
+
+    @Override
+    public String toString() {
+        return text() + " [" + answer + "]";
+    }
+}
@@ -0,0 +1,102 @@
+package brainbrawl.math;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * A precomputed set of distinct, validated problems for one {@link Grammar}.
+ * <p>
+ * Problems count as duplicates when their expressions have the same
+ * {@link Expression#canonicalHash() canonical hash} and the same answer, so {@code 3 + 4}
+ * and {@code 4 + 3} are kept only once, or when they read the same, as
+ * {@code (4 × 16) ÷ 2} and {@code 4 × (16 ÷ 2)} both do. Small grammars may not have as many distinct
+ * problems as requested; the pool then holds all it found before draws stopped turning up
+ * new ones.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+public final class ProblemPool {
+
+    /** Draws tried per requested problem before giving up on filling the pool. */
+    private static final int ATTEMPTS_PER_PROBLEM = 50;
+    /** Consecutive draws without a new problem after which the grammar is taken to be exhausted. */
+    private static final int STALL_LIMIT = 2000;
+
+    private final Problem[] problems;
+
+    private ProblemPool(Problem[] problems) {
+        this.problems = problems;
+    }
+
+    /**
+     * Generates a pool.
+     *
+     * @param grammar what the problems look like
+     * @param target how many distinct problems to aim for
+     * @param random the source of randomness; the same seed gives the same pool
+     * @return the pool, with at most {@code target} problems
+     */
+    public static ProblemPool build(Grammar grammar, int target, SplittableRandom random) {
+        List<Problem> out = new ArrayList<>(target);
+        Set<Long> seen = new HashSet<>();
+        Set<String> texts = new HashSet<>();
+        long attempts = (long) target * ATTEMPTS_PER_PROBLEM;
+        int stalled = 0;
+        while (out.size() < target && attempts-- > 0 && stalled++ < STALL_LIMIT) {
+            Problem p = grammar.tryGenerate(random);
+            if (p == null) continue;
+            long key = p.getExpression().canonicalHash() * 31 + p.getAnswer().hashCode()
+                    + (p.isEquation() ? p.getRightHandSide().hashCode() * 17L : 0);
+            if (seen.add(key) && texts.add(p.text())) {
+                out.add(p);
+                stalled = 0;
+            }
+        }
+        return new ProblemPool(out.toArray(new Problem[0]));
+    }
+
+    /** @return the number of problems */
+    public int size() {
+        return problems.length;
+    }
+
+    /**
+     * Returns one problem.
+     *
+     * @param i its index, {@code 0 <= i < size()}
+     * @return the problem
+     */
+    public Problem get(int i) {
+        return problems[i];
+    }
+
+    /**
+     * Picks problems at random without repeats. If more are asked for than the pool holds,
+     * the whole pool is used, reshuffled, as often as needed.
+     *
+     * @param n how many problems
+     * @param random the source of randomness
+     * @return {@code n} problems
+     * @throws IllegalStateException if the pool is empty and {@code n > 0}
+     */
+    public List<Problem> draw(int n, SplittableRandom random) {
+        if (n > 0 && problems.length == 0) throw new IllegalStateException("Empty problem pool");
+        List<Problem> out = new ArrayList<>(n);
+        int[] order = new int[problems.length];
+        Arrays.setAll(order, i -> i);
+        int left = 0;
+        while (out.size() < n) {
+            if (left == 0) left = order.length;
+            int j = random.nextInt(left--); // partial Fisher–Yates
+            int t = order[j];
+            order[j] = order[left];
+            order[left] = t;
+            out.add(problems[t]);
+        }
+        return out;
+    }
+}
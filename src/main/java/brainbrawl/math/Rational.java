@@ -0,0 +1,125 @@
+package brainbrawl.math;
+
+/**
+ * An exact fraction of two {@code long}s, always in lowest terms with a positive denominator.
+ * <p>
+ * Arithmetic that would overflow throws {@link ArithmeticException}, as does dividing by zero,
+ * so a problem whose evaluation fails can simply be rejected.
+ */
+public final class Rational implements Comparable<Rational> {
+
+    public static final Rational ZERO = new Rational(0, 1);
+    public static final Rational ONE = new Rational(1, 1);
+
+    private final long num;
+    private final long den;
+
+    private Rational(long num, long den) {
+        this.num = num;
+        this.den = den;
+    }
+
+    /**
+     * Returns a whole number.
+     *
+     * @param n the value
+     * @return {@code n / 1}
+     */
+    public static Rational of(long n) {
+        return n == 0 ? ZERO : n == 1 ? ONE : new Rational(n, 1);
+    }
+
+    /**
+     * Returns a fraction in lowest terms.
+     *
+     * @param num the numerator
+     * @param den the denominator
+     * @return {@code num / den}
+     * @throws ArithmeticException if {@code den} is zero
+     */
+    public static Rational of(long num, long den) {
+        if (den == 0) throw new ArithmeticException("division by zero");
+        if (den < 0) {
+            num = Math.negateExact(num);
+            den = Math.negateExact(den);
+        }
+        long g = gcd(Math.abs(num), den);
+        return new Rational(num / g, den / g);
+    }
+
+    public long numerator() { return num; }
+    public long denominator() { return den; }
+
+    /** @return {@code true} if the denominator is 1 */
+    public boolean isInteger() { return den == 1; }
+
+    /** @return {@code true} if this is zero */
+    public boolean isZero() { return num == 0; }
+
+    public Rational add(Rational o) {
+        if (den == 1 && o.den == 1) return of(Math.addExact(num, o.num));
+        return of(Math.addExact(Math.multiplyExact(num, o.den), Math.multiplyExact(o.num, den)),
+                Math.multiplyExact(den, o.den));
+    }
+
+    public Rational subtract(Rational o) {
+        return add(new Rational(Math.negateExact(o.num), o.den));
+    }
+
+    public Rational multiply(Rational o) {
+        if (den == 1 && o.den == 1) return of(Math.multiplyExact(num, o.num));
+        return of(Math.multiplyExact(num, o.num), Math.multiplyExact(den, o.den));
+    }
+
+    /**
+     * Divides exactly.
+     *
+     * @param o the divisor
+     * @return {@code this / o}
+     * @throws ArithmeticException if {@code o} is zero or the result overflows
+     */
+    public Rational divide(Rational o) {
+        return of(Math.multiplyExact(num, o.den), Math.multiplyExact(den, o.num));
+    }
+
+    /**
+     * Converts a whole number to an {@code int}.
+     *
+     * @return the value
+     * @throws ArithmeticException if this is not an integer or does not fit
+     */
+    public int intValueExact() {
+        if (den != 1) throw new ArithmeticException("not an integer: " + this);
+        return Math.toIntExact(num);
+    }
+
+    @Override
+    public int compareTo(Rational o) {
+        return Long.compare(Math.multiplyExact(num, o.den), Math.multiplyExact(o.num, den));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Rational r && r.num == num && r.den == den;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(num * 31 + den);
+    }
+
+    /** @return {@code "n"} for whole numbers, otherwise {@code "n/d"} */
+    @Override
+    public String toString() {
+        return den == 1 ? Long.toString(num) : num + "/" + den;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a == 0 ? 1 : a;
+    }
+}
@@ -0,0 +1,50 @@
+package brainbrawl.model;
+
+/**
+ * One answer given during a quiz: which question, what was chosen, whether it was
+ * right and how long the player took.
+ */
+public class AnswerEvent {
+    private final Long userId;
+    private final Long questionId;
+    private final String category;
+    private final int difficulty;
+    private final Integer chosen;
+    private final boolean correct;
+    private final int responseMillis;
+    private final long answeredAtMillis;
+
+    /**
+     * Constructs an {@code AnswerEvent}.
+     *
+     * @param userId the player, or {@code null} if nobody is logged in
+     * @param questionId the stored question, or {@code null} for generated questions
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param chosen the chosen option index, or the number typed for generated maths questions;
+     *               {@code null} if the time ran out without an answer
+     * @param correct whether the answer was right
+     * @param responseMillis time from showing the question to answering it
+     * @param answeredAtMillis when the answer was given, in epoch milliseconds
+     */
+    public AnswerEvent(Long userId, Long questionId, String category, int difficulty, Integer chosen,
+                       boolean correct, int responseMillis, long answeredAtMillis) {
+        this.userId = userId;
+        this.questionId = questionId;
+        this.category = category;
+        this.difficulty = difficulty;
+        this.chosen = chosen;
+        this.correct = correct;
+        this.responseMillis = responseMillis;
+        this.answeredAtMillis = answeredAtMillis;
+    }
+
+    public Long getUserId() { return userId; }
+    public Long getQuestionId() { return questionId; }
+    public String getCategory() { return category; }
+    public int getDifficulty() { return difficulty; }
+    public Integer getChosen() { return chosen; }
+    public boolean isCorrect() { return correct; }
+    public int getResponseMillis() { return responseMillis; }
+    public long getAnsweredAtMillis() { return answeredAtMillis; }
+}
@@ -1,11 +1,21 @@
 package brainbrawl.model;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
 /**
  * Represents a record of a completed quiz game, including the user's performance.
  * <p>
- * Each result stores the quiz category, difficulty level, score, and timestamp.
+ * Each result stores the quiz category, difficulty level, score, and timestamp, and
+ * the ID of the player who earned it ({@code null} for results saved before results
+ * were attributed to players, or without anyone logged in).
  */
 public class GameResult {
+    /** Same layout as SQLite's {@code datetime('now')}, which is UTC. */
+    private static final DateTimeFormatter SQLITE_DATETIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
     private final Long id; // may be null before insert
     private final String category;
     private final int difficulty;
@@ -13,6 +23,8 @@ public class GameResult {
     private final int total;
     private final int secondsPerQuestion;
     private final String createdAt; // ISO-like "YYYY-MM-DD HH:MM:SS" from SQLite
+    private final long createdAtMillis; // epoch millis; 0 before insert
+    private final Long userId; // null if unattributed
 
     /**
      * Constructs a {@code GameResult} object.
@@ -26,13 +38,50 @@ public class GameResult {
      * @param createdAt timestamp of when the game was completed
      */
     public GameResult(Long id, String category, int difficulty, int score, int total, int secondsPerQuestion, String createdAt) {
+        this(id, category, difficulty, score, total, secondsPerQuestion, createdAt, 0L);
+    }
+
+    /**
+     * Constructs a {@code GameResult} object with its epoch-millisecond timestamp.
+     *
+     * @param id the database ID (null if not yet saved)
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param score the player's score
+     * @param total the total number of questions
+     * @param secondsPerQuestion average time per question
+     * @param createdAt timestamp of when the game was completed
+     * @param createdAtMillis the same timestamp in milliseconds since the epoch
+     */
+    public GameResult(Long id, String category, int difficulty, int score, int total, int secondsPerQuestion,
+                      String createdAt, long createdAtMillis) {
+        this(id, null, category, difficulty, score, total, secondsPerQuestion, createdAt, createdAtMillis);
+    }
+
+    /**
+     * Constructs a {@code GameResult} object attributed to a player.
+     *
+     * @param id the database ID (null if not yet saved)
+     * @param userId the ID of the player (null if unattributed)
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param score the player's score
+     * @param total the total number of questions
+     * @param secondsPerQuestion average time per question
+     * @param createdAt timestamp of when the game was completed
+     * @param createdAtMillis the same timestamp in milliseconds since the epoch
+     */
+    public GameResult(Long id, Long userId, String category, int difficulty, int score, int total,
+                      int secondsPerQuestion, String createdAt, long createdAtMillis) {
         this.id = id;
+        this.userId = userId;
         this.category = category;
         this.difficulty = difficulty;
         this.score = score;
         this.total = total;
         this.secondsPerQuestion = secondsPerQuestion;
         this.createdAt = createdAt;
+        this.createdAtMillis = createdAtMillis;
     }
 
     /**
@@ -46,14 +95,54 @@ public class GameResult {
      * @return a new {@code GameResult} without an assigned ID or timestamp
      */
     public static GameResult newUnstored(String category, int difficulty, int score, int total, int secondsPerQuestion) {
-        return new GameResult(null, category, difficulty, score, total, secondsPerQuestion, null);
+        return newUnstored(null, category, difficulty, score, total, secondsPerQuestion);
+    }
+
+    /**
+     * Factory method for creating a new unsaved result earned by a player.
+     *
+     * @param userId the player's ID, or {@code null} if nobody is logged in
+     * @param category quiz category
+     * @param difficulty difficulty level
+     * @param score score achieved
+     * @param total total number of questions
+     * @param secondsPerQuestion average seconds per question
+     * @return a new {@code GameResult} without an assigned ID or timestamp
+     */
+    public static GameResult newUnstored(Long userId, String category, int difficulty, int score, int total,
+                                         int secondsPerQuestion) {
+        return new GameResult(null, userId, category, difficulty, score, total, secondsPerQuestion, null, 0L);
+    }
+
+    /**
+     * Returns a copy of this result stamped with a completion time, in both the
+     * epoch-millisecond and the SQLite text form.
+     *
+     * @param millis completion time in milliseconds since the epoch
+     * @return a new {@code GameResult} with the same id and scores
+     */
+    public GameResult stampedAt(long millis) {
+        return new GameResult(id, userId, category, difficulty, score, total, secondsPerQuestion,
+                SQLITE_DATETIME.format(Instant.ofEpochMilli(millis)), millis);
+    }
+
+    /**
+     * Returns a copy of this result with its database ID.
+     *
+     * @param id the generated ID
+     * @return a new {@code GameResult} with the same fields otherwise
+     */
+    public GameResult withId(Long id) {
+        return new GameResult(id, userId, category, difficulty, score, total, secondsPerQuestion, createdAt, createdAtMillis);
     }
 
     public Long getId() { return id; }
+    public Long getUserId() { return userId; }
     public String getCategory() { return category; }
     public int getDifficulty() { return difficulty; }
     public int getScore() { return score; }
     public int getTotal() { return total; }
     public int getSecondsPerQuestion() { return secondsPerQuestion; }
     public String getCreatedAt() { return createdAt; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
 }
@@ -0,0 +1,94 @@
+package brainbrawl.model;
+
+/**
+ * One player's standing on the leaderboard of a category and difficulty.
+ * <p>
+ * Players are ranked by best single-game score, then by total score over all games,
+ * then by user ID so that every player has a distinct place.
+ */
+public class LeaderboardEntry {
+    private final long userId;
+    private final String username;
+    private final String category;
+    private final int difficulty;
+    private final int bestScore;
+    private final long totalScore;
+    private final int games;
+    private final int rank; // 1-based; 0 when not yet placed
+
+    /**
+     * Constructs an unranked {@code LeaderboardEntry}.
+     *
+     * @param userId the player
+     * @param username the player's name, for display
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param bestScore the player's best score in one game
+     * @param totalScore the player's score summed over all games
+     * @param games games played
+     */
+    public LeaderboardEntry(long userId, String username, String category, int difficulty,
+                            int bestScore, long totalScore, int games) {
+        this(userId, username, category, difficulty, bestScore, totalScore, games, 0);
+    }
+
+    private LeaderboardEntry(long userId, String username, String category, int difficulty,
+                             int bestScore, long totalScore, int games, int rank) {
+        this.userId = userId;
+        this.username = username;
+        this.category = category;
+        this.difficulty = difficulty;
+        this.bestScore = bestScore;
+        this.totalScore = totalScore;
+        this.games = games;
+        this.rank = rank;
+    }
+
+    /**
+     * Returns this entry with one more game added.
+     *
+     * @param score the new game's score
+     * @return a new, unranked entry
+     */
+    public LeaderboardEntry plusGame(int score) {
+        return new LeaderboardEntry(userId, username, category, difficulty,
+                Math.max(bestScore, score), totalScore + score, games + 1);
+    }
+
+    /**
+     * Returns this entry placed at a rank.
+     *
+     * @param rank the 1-based position
+     * @return a new entry carrying the rank
+     */
+    public LeaderboardEntry withRank(int rank) {
+        return new LeaderboardEntry(userId, username, category, difficulty, bestScore, totalScore, games, rank);
+    }
+
+    /**
+     * Orders entries from best to worst.
+     *
+     * @param other the entry to compare with
+     * @return negative if this entry ranks above {@code other}
+     */
+    public int compareStanding(LeaderboardEntry other) {
+        if (bestScore != other.bestScore) return Integer.compare(other.bestScore, bestScore);
+        if (totalScore != other.totalScore) return Long.compare(other.totalScore, totalScore);
+        return Long.compare(userId, other.userId);
+    }
+
+    public long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public String getCategory() { return category; }
+    public int getDifficulty() { return difficulty; }
+    public int getBestScore() { return bestScore; }
+    public long getTotalScore() { return totalScore; }
+    public int getGames() { return games; }
+    public int getRank() { return rank; }
+
+    /** @return a readable string representation of the entry */
+    @Override
+    public String toString() {
+        return "#" + rank + " " + username + " (" + bestScore + ")";
+    }
+}
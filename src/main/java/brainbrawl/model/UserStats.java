@@ -0,0 +1,64 @@
+package brainbrawl.model;
+
+/**
+ * A player's aggregated results for one category and difficulty.
+ * <p>
+ * Read from the {@code user_stats} rollup, which is updated as each result is saved,
+ * so no history has to be scanned to build it.
+ */
+public class UserStats {
+    private final long userId;
+    private final String category;
+    private final int difficulty;
+    private final int games;
+    private final long totalScore;
+    private final long totalQuestions;
+    private final int bestScore;
+    private final int currentStreak;
+    private final int bestStreak;
+    private final long lastPlayedMillis;
+
+    /**
+     * Constructs a {@code UserStats} object.
+     *
+     * @param userId the player
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param games games played
+     * @param totalScore correct answers over all games
+     * @param totalQuestions questions asked over all games
+     * @param bestScore the highest score in a single game
+     * @param currentStreak games passed in a row, up to the latest
+     * @param bestStreak the longest run of passed games
+     * @param lastPlayedMillis when the latest game finished, in epoch milliseconds
+     */
+    public UserStats(long userId, String category, int difficulty, int games, long totalScore, long totalQuestions,
+                     int bestScore, int currentStreak, int bestStreak, long lastPlayedMillis) {
+        this.userId = userId;
+        this.category = category;
+        this.difficulty = difficulty;
+        this.games = games;
+        this.totalScore = totalScore;
+        this.totalQuestions = totalQuestions;
+        this.bestScore = bestScore;
+        this.currentStreak = currentStreak;
+        this.bestStreak = bestStreak;
+        this.lastPlayedMillis = lastPlayedMillis;
+    }
+
+    /** @return the share of questions answered correctly, from 0 to 1 */
+    public double accuracy() {
+        return totalQuestions == 0 ? 0 : (double) totalScore / totalQuestions;
+    }
+
+    public long getUserId() { return userId; }
+    public String getCategory() { return category; }
+    public int getDifficulty() { return difficulty; }
+    public int getGames() { return games; }
+    public long getTotalScore() { return totalScore; }
+    public long getTotalQuestions() { return totalQuestions; }
+    public int getBestScore() { return bestScore; }
+    public int getCurrentStreak() { return currentStreak; }
+    public int getBestStreak() { return bestStreak; }
+    public long getLastPlayedMillis() { return lastPlayedMillis; }
+}
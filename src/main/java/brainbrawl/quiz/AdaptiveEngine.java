@@ -0,0 +1,190 @@
+package brainbrawl.quiz;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Builds adaptive quizzes, which choose each question from the player's current rating.
+ * <p>
+ * Every category has a {@link RatingModel} and a {@link DifficultyIndex} holding the questions
+ * of all its levels. A question starts at a rating derived from its level
+ * ({@link #seedRating}); after that, the answers decide. Each answer updates the player's and
+ * the question's rating and moves the question to its new band, all in O(1), and the next
+ * question is the one the player should get right about {@value RatingModel#TARGET_SUCCESS}
+ * of the time. Right answers, especially fast ones, make the questions harder.
+ * <p>
+ * A category is loaded from the {@link ItemSource} the first time it is played, and its index
+ * is rebuilt before the next quiz whenever the source's {@link ItemSource#version version}
+ * changes, e.g. after a question is edited. Ratings survive a rebuild; deleted questions
+ * simply stop being indexed. Ratings are kept in memory only, so they start over when the
+ * application does. Guests share one rating.
+ * <p>
+ * Thread-safe: each category is guarded by its own lock.
+ */
+public class AdaptiveEngine {
+
+    /** Where the questions of one category and level come from. */
+    public interface ItemSource {
+        /**
+         * Returns every question of a category at a level.
+         *
+         * @param category the quiz category
+         * @param level the difficulty level, from 1
+         * @return the questions; possibly empty
+         */
+        List<QuizItem> items(String category, int level);
+
+        /**
+         * Returns a counter that changes whenever the questions of a category may have changed.
+         *
+         * @param category the quiz category
+         * @return the version; constant for sources that never change
+         */
+        default long version(String category) { return 0; }
+    }
+
+    /** Player key used when nobody is logged in. */
+    public static final long GUEST = 0;
+    /** Rating given to level-1 questions before anyone has answered them. */
+    public static final double LEVEL_ONE_RATING = 700;
+    /** Rating difference between consecutive levels. */
+    public static final double LEVEL_STEP = 200;
+
+    private final ItemSource source;
+    private final int levels;
+    private final ConcurrentHashMap<String, Category> categories = new ConcurrentHashMap<>();
+
+    /** The ratings and index of one category. Index and version are guarded by the category's lock. */
+    private static final class Category {
+        final RatingModel ratings = new RatingModel();
+        DifficultyIndex index = new DifficultyIndex();
+        long version = -1;
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param source where the questions come from
+     * @param levels how many levels each category has
+     */
+    public AdaptiveEngine(ItemSource source, int levels) {
+        if (levels < 1) throw new IllegalArgumentException("levels must be positive");
+        this.source = source;
+        this.levels = levels;
+    }
+
+    /**
+     * Starts an adaptive quiz.
+     *
+     * @param category the quiz category
+     * @param userId the player, or {@code null} for a guest
+     * @param count the number of questions
+     * @param random the source of randomness
+     * @return a deck that picks each question after the previous answer; it asks fewer than
+     *         {@code count} if the category has fewer questions
+     */
+    public QuizDeck deck(String category, Long userId, int count, SplittableRandom random) {
+        Category c = category(category);
+        long version = source.version(category);
+        int available;
+        synchronized (c) {
+            if (c.version != version) reindex(category, c, version);
+            available = c.index.size();
+        }
+        return new Deck(c, userId == null ? GUEST : userId, Math.min(count, available), random);
+    }
+
+    /**
+     * Returns a player's rating in a category.
+     *
+     * @param category the quiz category
+     * @param userId the player, or {@code null} for a guest
+     * @return the rating, {@link RatingModel#INITIAL_RATING} for a new player
+     */
+    public double playerRating(String category, Long userId) {
+        return category(category).ratings.playerRating(userId == null ? GUEST : userId);
+    }
+
+    /**
+     * Returns the starting rating of a question at a level.
+     *
+     * @param level the difficulty level, from 1
+     * @return the rating
+     */
+    public static double seedRating(int level) {
+        return LEVEL_ONE_RATING + LEVEL_STEP * (level - 1);
+    }
+
+    private Category category(String name) {
+        return categories.computeIfAbsent(name, n -> new Category());
+    }
+
+    /**
+     * Replaces a category's index with one built from the source's current questions, keeping
+     * the ratings already learned. The version is read before the questions, so a change made
+     * during the rebuild triggers another one. Caller holds the category's lock.
+     */
+    private void reindex(String name, Category c, long version) {
+        DifficultyIndex index = new DifficultyIndex();
+        for (int level = 1; level <= levels; level++) {
+            List<QuizItem> items = source.items(name, level);
+            for (int i = 0; i < items.size(); i++) {
+                QuizItem item = items.get(i).withLevel(level);
+                long key = key(item, level, i);
+                index.add(key, item, c.ratings.seedQuestion(key, seedRating(level)));
+            }
+        }
+        c.index = index;
+        c.version = version;
+    }
+
+    /** Stored questions are keyed by ID; generated ones by a negative key from level and position. */
+    private static long key(QuizItem item, int level, int i) {
+        Long id = item.getQuestionId();
+        return id != null ? id : -(((long) level << 32) | (i + 1));
+    }
+
+    /** One adaptive quiz. Driven by one session, so it needs no locking of its own. */
+    private static final class Deck implements QuizDeck {
+        private final Category c;
+        private final long player;
+        private final int count;
+        private final SplittableRandom random;
+        private final LongIntMap asked = new LongIntMap();
+        private final LongPredicate wasAsked = k -> asked.get(k) >= 0;
+        private long currentKey;
+
+        Deck(Category c, long player, int count, SplittableRandom random) {
+            this.c = c;
+            this.player = player;
+            this.count = count;
+            this.random = random;
+        }
+
+        @Override
+        public int size() { return count; }
+
+        @Override
+        public QuizItem next(int index) {
+            synchronized (c) {
+                double target = RatingModel.targetFor(c.ratings.playerRating(player));
+                int s = c.index.pick(target, wasAsked, random);
+                if (s < 0) return null;
+                currentKey = c.index.key(s);
+                asked.put(currentKey, index);
+                return c.index.item(s);
+            }
+        }
+
+        @Override
+        public void answered(QuizItem item, boolean correct, int responseMillis, int limitMillis) {
+            synchronized (c) {
+                double rating = c.ratings.update(player, currentKey,
+                        RatingModel.score(correct, responseMillis, limitMillis));
+                c.index.update(currentKey, rating);
+            }
+        }
+    }
+}
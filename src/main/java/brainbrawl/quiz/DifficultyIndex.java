@@ -0,0 +1,143 @@
+package brainbrawl.quiz;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory index of quiz questions by difficulty rating.
+ * <p>
+ * Ratings are cut into bands {@value #BAND_WIDTH} points wide. Each band keeps its questions
+ * in an array, and each question remembers its position there, so moving a question to a new
+ * band after its rating changes is a swap-remove and an append: O(1). {@link #pick} starts at
+ * the band holding the target rating and widens outwards until it finds a question the
+ * caller hasn't excluded.
+ * <p>
+ * Not thread-safe; {@link AdaptiveEngine} guards each index with its category's lock.
+ */
+public class DifficultyIndex {
+
+    /** Width of one band, in rating points. */
+    public static final int BAND_WIDTH = 50;
+    /** Number of bands; ratings outside {@code [0, BANDS × BAND_WIDTH)} go to the end bands. */
+    public static final int BANDS = 60;
+
+    private final LongIntMap slots = new LongIntMap();
+    private long[] keys = new long[16];
+    private QuizItem[] items = new QuizItem[16];
+    private int[] bandOf = new int[16];
+    private int[] posInBand = new int[16];
+    private int size;
+
+    private final int[][] bands = new int[BANDS][];
+    private final int[] bandSize = new int[BANDS];
+
+    /** Creates an empty index. */
+    public DifficultyIndex() {
+        for (int b = 0; b < BANDS; b++) bands[b] = new int[4];
+    }
+
+    /**
+     * Adds a question, or moves it if the key is already indexed.
+     *
+     * @param key the question's key
+     * @param item the question
+     * @param rating its difficulty rating
+     */
+    public void add(long key, QuizItem item, double rating) {
+        int s = slots.get(key);
+        if (s >= 0) {
+            items[s] = item;
+            update(key, rating);
+            return;
+        }
+        s = size++;
+        if (s == keys.length) {
+            keys = Arrays.copyOf(keys, s * 2);
+            items = Arrays.copyOf(items, s * 2);
+            bandOf = Arrays.copyOf(bandOf, s * 2);
+            posInBand = Arrays.copyOf(posInBand, s * 2);
+        }
+        keys[s] = key;
+        items[s] = item;
+        slots.put(key, s);
+        append(s, band(rating));
+    }
+
+    /**
+     * Moves a question to the band of its new rating. Unknown keys are ignored.
+     *
+     * @param key the question's key
+     * @param rating its new difficulty rating
+     */
+    public void update(long key, double rating) {
+        int s = slots.get(key);
+        if (s < 0) return;
+        int to = band(rating);
+        int from = bandOf[s];
+        if (to == from) return;
+        int last = bands[from][--bandSize[from]];
+        bands[from][posInBand[s]] = last;
+        posInBand[last] = posInBand[s];
+        append(s, to);
+    }
+
+    /**
+     * Finds a question whose rating is as close to {@code target} as the bands allow,
+     * choosing at random within a band.
+     *
+     * @param target the rating wanted
+     * @param exclude keys that must not be returned, e.g. questions already asked
+     * @param random the source of randomness
+     * @return the question's slot, or -1 if every question is excluded
+     */
+    public int pick(double target, LongPredicate exclude, SplittableRandom random) {
+        int centre = band(target);
+        for (int d = 0; d < BANDS; d++) {
+            int s = pickInBand(centre - d, exclude, random);
+            if (s >= 0) return s;
+            if (d > 0 && (s = pickInBand(centre + d, exclude, random)) >= 0) return s;
+        }
+        return -1;
+    }
+
+    /** @return the number of indexed questions */
+    public int size() { return size; }
+    /** @return the key of the question in {@code slot} */
+    public long key(int slot) { return keys[slot]; }
+    /** @return the question in {@code slot} */
+    public QuizItem item(int slot) { return items[slot]; }
+
+    /**
+     * Returns the band a rating falls in.
+     *
+     * @param rating a rating
+     * @return the band, between 0 and {@link #BANDS}{@code  - 1}
+     */
+    public static int band(double rating) {
+        return (int) Math.max(0, Math.min(BANDS - 1, Math.floor(rating / BAND_WIDTH)));
+    }
+
+    /** @return the number of questions currently in band {@code b} */
+    public int bandSize(int b) {
+        return bandSize[b];
+    }
+
+    private int pickInBand(int b, LongPredicate exclude, SplittableRandom random) {
+        if (b < 0 || b >= BANDS || bandSize[b] == 0) return -1;
+        int n = bandSize[b];
+        int start = random.nextInt(n);
+        for (int i = 0; i < n; i++) {
+            int s = bands[b][(start + i) % n];
+            if (!exclude.test(keys[s])) return s;
+        }
+        return -1;
+    }
+
+    private void append(int s, int b) {
+        if (bandSize[b] == bands[b].length) bands[b] = Arrays.copyOf(bands[b], bandSize[b] * 2);
+        posInBand[s] = bandSize[b];
+        bands[b][bandSize[b]++] = s;
+        bandOf[s] = b;
+    }
+}
@@ -0,0 +1,69 @@
+package brainbrawl.quiz;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@code long} keys to non-negative {@code int} values, used to find
+ * a key's slot in the parallel primitive arrays of {@link RatingModel} and {@link DifficultyIndex}
+ * without boxing. Entries are never removed. Not thread-safe.
+ */
+final class LongIntMap {
+
+    private long[] keys;
+    private int[] values; // -1 marks an empty cell
+    private int size;
+
+    LongIntMap() {
+        keys = new long[16];
+        values = new int[16];
+        Arrays.fill(values, -1);
+    }
+
+    /** @return the key's value, or -1 if absent */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = cell(key, mask); ; i = (i + 1) & mask) {
+            if (values[i] < 0) return -1;
+            if (keys[i] == key) return values[i];
+        }
+    }
+
+    /** Adds or replaces a mapping. */
+    void put(long key, int value) {
+        if (2 * (size + 1) > keys.length) grow();
+        int mask = keys.length - 1;
+        for (int i = cell(key, mask); ; i = (i + 1) & mask) {
+            if (values[i] < 0) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return;
+            }
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int cell(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(values, -1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] >= 0) put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
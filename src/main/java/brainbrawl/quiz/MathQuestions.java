@@ -0,0 +1,78 @@
+package brainbrawl.quiz;
+
+import brainbrawl.math.MathEngine;
+import brainbrawl.math.MathGenerator;
+import brainbrawl.math.MathProblem;
+import brainbrawl.math.Problem;
+import brainbrawl.math.ProblemPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Turns generated arithmetic problems into quiz questions for the Maths quiz.
+ * <p>
+ * The quiz draws from the {@link MathEngine}'s cached pools of validated problems;
+ * {@link #generate} turns problems from the fast {@link MathGenerator} into questions instead.
+ * Either way, text is only rendered for the handful of problems a quiz actually shows.
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class MathQuestions {
+
+    /** Private constructor to prevent instantiation. */
+    private MathQuestions() {}
+
+    /**
+     * Draws typed-answer questions from an engine's pool for the level.
+     *
+     * @param n the number of questions
+     * @param level the difficulty level
+     * @param engine where the problems come from; its grammars must only produce whole answers
+     * @param random the source of randomness
+     * @return {@code n} distinct questions, if the pool has that many
+     */
+    public static List<QuizItem> draw(int n, int level, MathEngine engine, SplittableRandom random) {
+        List<QuizItem> quiz = new ArrayList<>(n);
+        for (Problem p : engine.deck(level, n, random)) {
+            quiz.add(QuizItem.typed(p.text(), p.getAnswer().intValueExact(), level));
+        }
+        return quiz;
+    }
+
+    /**
+     * Turns a whole pool into typed-answer questions, e.g. for the adaptive mode's index.
+     *
+     * @param pool the problems; its grammar must only produce whole answers
+     * @param level the pool's difficulty level, recorded on each question
+     * @return one question per problem, in pool order
+     */
+    public static List<QuizItem> all(ProblemPool pool, int level) {
+        List<QuizItem> quiz = new ArrayList<>(pool.size());
+        for (int i = 0; i < pool.size(); i++) {
+            Problem p = pool.get(i);
+            quiz.add(QuizItem.typed(p.text(), p.getAnswer().intValueExact(), level));
+        }
+        return quiz;
+    }
+
+    /**
+     * Generates typed-answer questions.
+     *
+     * @param n the number of questions
+     * @param level the difficulty level (1–4)
+     * @param generator where the problems come from
+     * @return {@code n} questions
+     */
+    public static List<QuizItem> generate(int n, int level, MathGenerator generator) {
+        List<QuizItem> quiz = new ArrayList<>(n);
+        StringBuilder sb = new StringBuilder(32);
+        for (int i = 0; i < n; i++) {
+            long p = generator.next(level);
+            sb.setLength(0);
+            quiz.add(QuizItem.typed(MathProblem.appendText(p, sb).toString(), MathProblem.answer(p), level));
+        }
+        return quiz;
+    }
+}
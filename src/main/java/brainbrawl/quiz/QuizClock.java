@@ -0,0 +1,82 @@
+package brainbrawl.quiz;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One tick source for every running {@link QuizSession}.
+ * <p>
+ * Sessions are registered when their screen opens; each {@link #tick()} then ticks all of
+ * them in registration order. A countdown is therefore a list entry rather than an animation
+ * object of its own, and since each session measures elapsed time from its monotonic clock,
+ * a late or skipped tick only delays a label update; it never makes the countdown drift.
+ * <p>
+ * Finished sessions drop out on the next tick. A registration may also be cancelled at any
+ * time, including from inside a session's callbacks while the clock is ticking.
+ * <p>
+ * Not thread-safe: register, cancel and tick from one thread, e.g. the JavaFX application thread.
+ */
+public class QuizClock {
+
+    /** A session's place on the clock. */
+    public static final class Registration {
+        private final QuizSession session;
+        private boolean cancelled;
+
+        private Registration(QuizSession session) {
+            this.session = session;
+        }
+
+        /** Stops ticking the session. Safe to call more than once. */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /** @return {@code true} once cancelled or dropped after finishing */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final List<Registration> active = new ArrayList<>();
+
+    /**
+     * Starts ticking a session.
+     *
+     * @param session the session; it should already have been started
+     * @return the registration, to cancel when the session's screen closes
+     */
+    public Registration register(QuizSession session) {
+        Registration r = new Registration(session);
+        active.add(r);
+        return r;
+    }
+
+    /**
+     * Ticks every registered session once and drops those that have finished or been cancelled.
+     */
+    public void tick() {
+        int n = active.size(); // sessions registered during this tick wait for the next one
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            Registration r = active.get(i);
+            if (!r.cancelled) {
+                r.session.tick();
+                if (r.session.getPhase() == QuizSession.Phase.FINISHED) r.cancelled = true;
+            }
+            if (!r.cancelled) active.set(kept++, r);
+        }
+        for (int i = n; i < active.size(); i++) active.set(kept++, active.get(i));
+        active.subList(kept, active.size()).clear();
+    }
+
+    /** @return the number of registrations still being ticked, including any cancelled since the last tick */
+    public int size() {
+        return active.size();
+    }
+
+    /** @return {@code true} if there is nothing left to tick */
+    public boolean isIdle() {
+        return active.isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package brainbrawl.quiz;
+
+import java.util.List;
+
+/**
+ * The questions of one {@link QuizSession}, handed out one at a time.
+ * <p>
+ * A fixed quiz is just a list ({@link #of(List)}). An adaptive deck chooses each question
+ * when it is needed, using what it learned from the answers so far ({@link #answered}).
+ */
+public interface QuizDeck {
+
+    /**
+     * Returns how many questions the quiz asks, used for progress and to tell the last one.
+     * Decks should not promise more than they hold; {@link #next} returning {@code null}
+     * early is only for questions that disappear mid-quiz.
+     *
+     * @return the number of questions
+     */
+    int size();
+
+    /**
+     * Returns the next question. Called once per index, in order, after the previous
+     * question's {@link #answered} call.
+     *
+     * @param index the zero-based position in the quiz
+     * @return the question, or {@code null} if the deck has run out early
+     */
+    QuizItem next(int index);
+
+    /**
+     * Learns from an answer to the question last returned by {@link #next}.
+     *
+     * @param item the question
+     * @param correct whether the answer was right
+     * @param responseMillis how long the player took
+     * @param limitMillis the time the player had
+     */
+    default void answered(QuizItem item, boolean correct, int responseMillis, int limitMillis) {}
+
+    /**
+     * Returns a deck that asks the given questions in order.
+     *
+     * @param items the questions
+     * @return the deck
+     */
+    static QuizDeck of(List<QuizItem> items) {
+        List<QuizItem> copy = List.copyOf(items);
+        return new QuizDeck() {
+            @Override
+            public int size() { return copy.size(); }
+
+            @Override
+            public QuizItem next(int index) { return copy.get(index); }
+        };
+    }
+}
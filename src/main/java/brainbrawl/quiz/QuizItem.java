@@ -0,0 +1,123 @@
+package brainbrawl.quiz;
+
+import brainbrawl.model.Question;
+import brainbrawl.service.QuestionBankCache;
+
+import java.util.List;
+
+/**
+ * One question as a {@link QuizSession} sees it: text, optional choices and the right answer.
+ * <p>
+ * For multiple-choice questions the answer is the index of the correct option; for typed
+ * questions (the generated maths quiz) it is the number the player must enter. An item may
+ * also know its own difficulty level, which matters when a quiz mixes levels.
+ */
+public class QuizItem {
+    private final Long questionId;
+    private final String text;
+    private final List<String> options;
+    private final int answer;
+    private final int level;
+
+    /**
+     * Constructs a {@code QuizItem}.
+     *
+     * @param questionId the stored question's ID, or {@code null} for generated questions
+     * @param text the question text
+     * @param options the choices, or an empty list if the answer is typed
+     * @param answer the correct option index, or the correct number for typed questions
+     */
+    public QuizItem(Long questionId, String text, List<String> options, int answer) {
+        this(questionId, text, options, answer, 0);
+    }
+
+    /**
+     * Constructs a {@code QuizItem} that knows its difficulty level.
+     *
+     * @param questionId the stored question's ID, or {@code null} for generated questions
+     * @param text the question text
+     * @param options the choices, or an empty list if the answer is typed
+     * @param answer the correct option index, or the correct number for typed questions
+     * @param level the question's difficulty level, or 0 if unknown
+     */
+    public QuizItem(Long questionId, String text, List<String> options, int answer, int level) {
+        this.questionId = questionId;
+        this.text = text;
+        this.options = List.copyOf(options);
+        this.answer = answer;
+        this.level = level;
+    }
+
+    /**
+     * Wraps a stored multiple-choice question.
+     *
+     * @param q the question
+     * @return the item
+     * @throws IllegalArgumentException if {@code q} is not a multiple-choice question whose
+     *         correct index points at one of its options
+     */
+    public static QuizItem of(Question q) {
+        if (!QuestionBankCache.isPlayable(q)) {
+            throw new IllegalArgumentException("Question " + q.getId() + " is not a playable multiple-choice question");
+        }
+        return new QuizItem(q.getId(), q.getText(), q.getOptions(), q.getCorrectIndex(), q.getDifficulty());
+    }
+
+    /**
+     * Wraps the playable questions of a list, skipping the ones {@link #of} would refuse.
+     *
+     * @param questions stored questions, e.g. a bank
+     * @return the items, in the same order
+     */
+    public static List<QuizItem> ofPlayable(List<Question> questions) {
+        return questions.stream().filter(QuestionBankCache::isPlayable).map(QuizItem::of).toList();
+    }
+
+    /**
+     * Creates a question whose answer is typed as a number.
+     *
+     * @param text the question text
+     * @param answer the correct number
+     * @return the item
+     */
+    public static QuizItem typed(String text, int answer) {
+        return typed(text, answer, 0);
+    }
+
+    /**
+     * Creates a question whose answer is typed as a number, at a known level.
+     *
+     * @param text the question text
+     * @param answer the correct number
+     * @param level the question's difficulty level, or 0 if unknown
+     * @return the item
+     */
+    public static QuizItem typed(String text, int answer, int level) {
+        return new QuizItem(null, text, List.of(), answer, level);
+    }
+
+    /**
+     * Returns this item with its difficulty level set.
+     *
+     * @param level the level
+     * @return this item if it already has that level, otherwise a copy
+     */
+    public QuizItem withLevel(int level) {
+        return level == this.level ? this : new QuizItem(questionId, text, options, answer, level);
+    }
+
+    public Long getQuestionId() { return questionId; }
+    public String getText() { return text; }
+    public List<String> getOptions() { return options; }
+    public int getAnswer() { return answer; }
+    /** @return the question's difficulty level, or 0 if unknown */
+    public int getLevel() { return level; }
+
+    /** @return {@code true} if the player picks one of {@link #getOptions()} */
+    public boolean isMultipleChoice() { return !options.isEmpty(); }
+
+    /** @return the correct answer as shown to the player */
+    public String answerText() {
+        return isMultipleChoice() ? options.get(answer) : String.valueOf(answer);
+    }
+}
@@ -0,0 +1,61 @@
+package brainbrawl.quiz;
+
+import brainbrawl.model.AnswerEvent;
+import brainbrawl.model.GameResult;
+import brainbrawl.service.AnswerTelemetry;
+import brainbrawl.service.ResultService;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where a {@link QuizSession} sends what it needs persisted: each answer and the final result.
+ */
+public interface QuizRecorder {
+
+    /** A recorder that keeps nothing and reports every result as saved with ID 0. */
+    QuizRecorder NONE = new QuizRecorder() {
+        @Override
+        public void answered(AnswerEvent e) {}
+
+        @Override
+        public CompletableFuture<Long> finished(GameResult r) {
+            return CompletableFuture.completedFuture(0L);
+        }
+    };
+
+    /**
+     * Records one answer. Called on the session's thread, so it must not block.
+     *
+     * @param e the answer
+     */
+    void answered(AnswerEvent e);
+
+    /**
+     * Saves the result of a finished quiz. Called once per session.
+     *
+     * @param r the unsaved result
+     * @return a future completed with the result's database ID
+     */
+    CompletableFuture<Long> finished(GameResult r);
+
+    /**
+     * Records answers through the telemetry ring and saves results through the write-behind queue.
+     *
+     * @param results the result service
+     * @param telemetry the answer telemetry
+     * @return the recorder
+     */
+    static QuizRecorder of(ResultService results, AnswerTelemetry telemetry) {
+        return new QuizRecorder() {
+            @Override
+            public void answered(AnswerEvent e) {
+                telemetry.record(e);
+            }
+
+            @Override
+            public CompletableFuture<Long> finished(GameResult r) {
+                return results.saveAsync(r);
+            }
+        };
+    }
+}
@@ -0,0 +1,305 @@
+package brainbrawl.quiz;
+
+import brainbrawl.model.AnswerEvent;
+import brainbrawl.model.GameResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * One play-through of a quiz, independent of any UI: question order, the per-question
+ * countdown, scoring, and handing answers and the final result to a {@link QuizRecorder}.
+ * <p>
+ * A session moves through three phases. While {@link Phase#ASKING}, the player may
+ * {@link #submit} an answer; if the countdown runs out first, the question counts as wrong.
+ * In {@link Phase#REVIEWING} the outcome is on screen until {@link #next()} is called, or,
+ * after a timeout, until {@link #AUTO_ADVANCE_NANOS} have passed. After the last question the
+ * session is {@link Phase#FINISHED} and the result has been passed to the recorder exactly once.
+ * <p>
+ * The session never schedules anything itself. Time is read from the clock given to the
+ * constructor whenever the driver calls {@link #tick()}, so the screens share one
+ * {@link QuizClock} while a simulation can drive thousands of sessions on one thread with a fake clock.
+ * <p>
+ * Questions come from a {@link QuizDeck}: a fixed list, or an adaptive deck that picks each
+ * question after seeing the previous answer. Adaptive results are stored with level
+ * {@link #ADAPTIVE}; their answers keep each question's own level.
+ * <p>
+ * Not thread-safe: drive each session from one thread.
+ */
+public class QuizSession {
+
+    /** Where a session is in its cycle. */
+    public enum Phase {
+        /** A question is shown and the countdown is running. */
+        ASKING,
+        /** The current question has been answered; waiting to move on. */
+        REVIEWING,
+        /** All questions are done. */
+        FINISHED
+    }
+
+    /** Level recorded in the result of a quiz whose questions adapt to the player. */
+    public static final int ADAPTIVE = 0;
+    /** Time allowed per question in an adaptive quiz, whose questions span every level. */
+    public static final int ADAPTIVE_SECONDS = 60;
+
+    /** How long a timed-out answer stays on screen before the next question. */
+    public static final long AUTO_ADVANCE_NANOS = 1_200_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** What happened to one question. */
+    public static final class Outcome {
+        private final QuizItem item;
+        private final Integer chosen;
+        private final boolean correct;
+        private final boolean timedOut;
+        private final boolean last;
+
+        Outcome(QuizItem item, Integer chosen, boolean correct, boolean timedOut, boolean last) {
+            this.item = item;
+            this.chosen = chosen;
+            this.correct = correct;
+            this.timedOut = timedOut;
+            this.last = last;
+        }
+
+        public QuizItem getItem() { return item; }
+        /** @return the answer given, or {@code null} if none */
+        public Integer getChosen() { return chosen; }
+        public boolean isCorrect() { return correct; }
+        public boolean isTimedOut() { return timedOut; }
+        /** @return {@code true} if this was the final question */
+        public boolean isLast() { return last; }
+    }
+
+    private final String category;
+    private final int level;
+    private final QuizDeck deck;
+    private final int secondsPerQuestion;
+    private final Long userId;
+    private final QuizRecorder recorder;
+    private final QuizView view;
+    private final LongSupplier nanoClock;
+
+    private int idx;
+    private int score;
+    private QuizItem current;
+    private Phase phase;
+    private long shownAtNanos;
+    private long reviewingSinceNanos;
+    private boolean autoAdvance;
+    private int shownSeconds;
+    private CompletableFuture<Long> saved;
+
+    /**
+     * Creates a session timed by {@link System#nanoTime()}, with the standard time limit for its level.
+     *
+     * @param category the quiz category, as stored with the result
+     * @param level the difficulty level (1–4)
+     * @param items the questions, in the order they are asked
+     * @param userId the player, or {@code null} if nobody is logged in
+     * @param recorder where answers and the result go
+     * @param view what displays the session
+     */
+    public QuizSession(String category, int level, List<QuizItem> items, Long userId,
+                       QuizRecorder recorder, QuizView view) {
+        this(category, level, QuizDeck.of(items), secondsFor(level), userId, recorder, view, System::nanoTime);
+    }
+
+    /**
+     * Creates a session timed by {@link System#nanoTime()} that takes its questions from a deck.
+     *
+     * @param category the quiz category, as stored with the result
+     * @param level the difficulty level (1–4), or {@link #ADAPTIVE}
+     * @param deck where the questions come from
+     * @param secondsPerQuestion time allowed for each question
+     * @param userId the player, or {@code null} if nobody is logged in
+     * @param recorder where answers and the result go
+     * @param view what displays the session
+     */
+    public QuizSession(String category, int level, QuizDeck deck, int secondsPerQuestion, Long userId,
+                       QuizRecorder recorder, QuizView view) {
+        this(category, level, deck, secondsPerQuestion, userId, recorder, view, System::nanoTime);
+    }
+
+    /**
+     * Creates a session with an explicit time limit and clock.
+     *
+     * @param category the quiz category, as stored with the result
+     * @param level the difficulty level (1–4)
+     * @param items the questions, in the order they are asked
+     * @param secondsPerQuestion time allowed for each question
+     * @param userId the player, or {@code null} if nobody is logged in
+     * @param recorder where answers and the result go
+     * @param view what displays the session
+     * @param nanoClock monotonic time in nanoseconds
+     */
+    public QuizSession(String category, int level, List<QuizItem> items, int secondsPerQuestion, Long userId,
+                       QuizRecorder recorder, QuizView view, LongSupplier nanoClock) {
+        this(category, level, QuizDeck.of(items), secondsPerQuestion, userId, recorder, view, nanoClock);
+    }
+
+    /**
+     * Creates a session with a deck, an explicit time limit and a clock.
+     *
+     * @param category the quiz category, as stored with the result
+     * @param level the difficulty level (1–4), or {@link #ADAPTIVE}
+     * @param deck where the questions come from
+     * @param secondsPerQuestion time allowed for each question
+     * @param userId the player, or {@code null} if nobody is logged in
+     * @param recorder where answers and the result go
+     * @param view what displays the session
+     * @param nanoClock monotonic time in nanoseconds
+     */
+    public QuizSession(String category, int level, QuizDeck deck, int secondsPerQuestion, Long userId,
+                       QuizRecorder recorder, QuizView view, LongSupplier nanoClock) {
+        if (secondsPerQuestion <= 0) throw new IllegalArgumentException("secondsPerQuestion must be positive");
+        this.category = category;
+        this.level = level;
+        this.deck = deck;
+        this.secondsPerQuestion = secondsPerQuestion;
+        this.userId = userId;
+        this.recorder = recorder;
+        this.view = view;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Clamps a requested difficulty into the supported range.
+     *
+     * @param level the requested level
+     * @return the level, between 1 and 4
+     */
+    public static int clampLevel(int level) {
+        return Math.max(1, Math.min(4, level));
+    }
+
+    /**
+     * Returns the time allowed per question at a difficulty level.
+     *
+     * @param level the difficulty level (1–4)
+     * @return the seconds per question
+     */
+    public static int secondsFor(int level) {
+        return switch (level) {
+            case 2 -> 60;
+            case 3 -> 180;
+            case 4 -> 300;
+            default -> 30;
+        };
+    }
+
+    /**
+     * Shows the first question, or finishes at once if there are none.
+     *
+     * @throws IllegalStateException if the session was already started
+     */
+    public void start() {
+        if (phase != null) throw new IllegalStateException("Session already started");
+        show();
+    }
+
+    /**
+     * Answers the current question.
+     *
+     * @param chosen the option index or typed number, or {@code null} if nothing was given
+     * @return what happened
+     * @throws IllegalStateException unless a question is being asked
+     */
+    public Outcome submit(Integer chosen) {
+        if (phase != Phase.ASKING) throw new IllegalStateException("No question is being asked");
+        return answer(chosen, false, nanoClock.getAsLong());
+    }
+
+    /**
+     * Moves from a reviewed question to the next one, or finishes after the last.
+     * Does nothing unless the session is reviewing.
+     */
+    public void next() {
+        if (phase != Phase.REVIEWING) return;
+        idx++;
+        show();
+    }
+
+    /**
+     * Reads the clock and moves the session along: updates the countdown, times out the
+     * current question, or advances after a timed-out question has been shown long enough.
+     * Call it at least a few times per second while the session is on screen.
+     */
+    public void tick() {
+        long now = nanoClock.getAsLong();
+        if (phase == Phase.ASKING) {
+            int left = secondsLeft(now);
+            if (left != shownSeconds) {
+                shownSeconds = left;
+                view.showTime(left);
+            }
+            if (left == 0) answer(null, true, now);
+        } else if (phase == Phase.REVIEWING && autoAdvance && now - reviewingSinceNanos >= AUTO_ADVANCE_NANOS) {
+            next();
+        }
+    }
+
+    public String getCategory() { return category; }
+    public int getLevel() { return level; }
+    public int getSecondsPerQuestion() { return secondsPerQuestion; }
+    public int getScore() { return score; }
+    /** @return the most questions this quiz asks */
+    public int size() { return deck.size(); }
+    /** @return the zero-based position of the current question; the number asked once finished */
+    public int getIndex() { return idx; }
+    /** @return the current phase, or {@code null} before {@link #start()} */
+    public Phase getPhase() { return phase; }
+
+    /** @return the question being asked or reviewed, or {@code null} once finished */
+    public QuizItem current() {
+        return phase == Phase.FINISHED ? null : current;
+    }
+
+    /** @return the save of the final result, or {@code null} until the session has finished */
+    public CompletableFuture<Long> saved() {
+        return saved;
+    }
+
+    // ---------------------------------------------------------------- internals
+
+    private int secondsLeft(long now) {
+        long elapsed = (now - shownAtNanos) / NANOS_PER_SECOND;
+        return (int) Math.max(0, secondsPerQuestion - elapsed);
+    }
+
+    private void show() {
+        current = idx < deck.size() ? deck.next(idx) : null;
+        if (current == null) {
+            phase = Phase.FINISHED;
+            saved = recorder.finished(GameResult.newUnstored(userId, category, level, score, idx, secondsPerQuestion));
+            view.showFinished(score, idx, saved);
+            return;
+        }
+        phase = Phase.ASKING;
+        autoAdvance = false;
+        shownAtNanos = nanoClock.getAsLong();
+        shownSeconds = secondsPerQuestion;
+        view.showQuestion(current, idx, deck.size());
+        view.showTime(secondsPerQuestion);
+    }
+
+    private Outcome answer(Integer chosen, boolean timedOut, long now) {
+        QuizItem item = current;
+        boolean correct = !timedOut && chosen != null && chosen == item.getAnswer();
+        if (correct) score++;
+        int responseMillis = (int) Math.min(Integer.MAX_VALUE, (now - shownAtNanos) / 1_000_000);
+        int itemLevel = item.getLevel() > 0 ? item.getLevel() : level;
+        recorder.answered(new AnswerEvent(userId, item.getQuestionId(), category, itemLevel, chosen, correct,
+                responseMillis, System.currentTimeMillis()));
+        deck.answered(item, correct, responseMillis, secondsPerQuestion * 1000);
+
+        phase = Phase.REVIEWING;
+        autoAdvance = timedOut;
+        reviewingSinceNanos = now;
+        Outcome o = new Outcome(item, chosen, correct, timedOut, idx == deck.size() - 1);
+        view.showOutcome(o);
+        return o;
+    }
+}
@@ -0,0 +1,48 @@
+package brainbrawl.quiz;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * What a {@link QuizSession} tells its screen. Every method does nothing by default, so a
+ * headless driver can pass {@link #NONE} and a screen overrides only what it displays.
+ * <p>
+ * Calls arrive on whichever thread drives the session; for the JavaFX screens that is the
+ * FX application thread.
+ */
+public interface QuizView {
+
+    /** A view that displays nothing, for simulations and tests. */
+    QuizView NONE = new QuizView() {};
+
+    /**
+     * A new question is being asked.
+     *
+     * @param item the question
+     * @param index its zero-based position
+     * @param total the number of questions in the quiz
+     */
+    default void showQuestion(QuizItem item, int index, int total) {}
+
+    /**
+     * The whole seconds left for the current question changed.
+     *
+     * @param secondsLeft seconds left, never negative
+     */
+    default void showTime(int secondsLeft) {}
+
+    /**
+     * The current question was answered or timed out.
+     *
+     * @param outcome what happened
+     */
+    default void showOutcome(QuizSession.Outcome outcome) {}
+
+    /**
+     * Every question has been answered and the result handed to the {@link QuizRecorder}.
+     *
+     * @param score the number of correct answers
+     * @param total the number of questions
+     * @param saved completes with the result's database ID, on the writer's thread
+     */
+    default void showFinished(int score, int total, CompletableFuture<Long> saved) {}
+}
@@ -0,0 +1,150 @@
+package brainbrawl.quiz;
+
+import java.util.Arrays;
+
+/**
+ * Online Elo-style skill ratings for players and difficulty ratings for questions.
+ * <p>
+ * Every answer is a match between a player and a question. The expected score is the usual
+ * logistic curve of the rating difference; the actual score is 0 for a wrong answer and
+ * between {@value #SLOW_CORRECT_SCORE} and 1 for a right one, higher the faster it came.
+ * Both ratings then move by their K-factor times the surprise. As in Glicko, the K-factor
+ * shrinks with the number of answers seen, so new players and new questions settle quickly
+ * and established ratings stay stable.
+ * <p>
+ * Ratings are kept in primitive arrays indexed through {@link LongIntMap}; an update is two
+ * hash lookups and one {@link Math#pow}, and allocates nothing unless a table has to grow.
+ * Methods are synchronized, so one model may be shared between quiz screens.
+ */
+public class RatingModel {
+
+    /** Rating of a player who has not answered anything yet. */
+    public static final double INITIAL_RATING = 1000;
+    /** Score for a right answer given at the very end of the time limit. */
+    public static final double SLOW_CORRECT_SCORE = 0.6;
+    /** Success probability the adaptive mode aims for when choosing the next question. */
+    public static final double TARGET_SUCCESS = 0.6;
+
+    private static final double SCALE = 400;
+    private static final double PLAYER_K_MAX = 80, PLAYER_K_MIN = 20;
+    private static final double QUESTION_K_MAX = 40, QUESTION_K_MIN = 6;
+    /** Answers after which the K-factor is halfway from its maximum to its minimum. */
+    private static final double K_HALF_LIFE = 8;
+
+    private final Table players = new Table();
+    private final Table questions = new Table();
+
+    /** Ratings and answer counts for one kind of participant. */
+    private static final class Table {
+        final LongIntMap slots = new LongIntMap();
+        double[] ratings = new double[16];
+        int[] counts = new int[16];
+
+        int slot(long key, double initial) {
+            int s = slots.get(key);
+            if (s >= 0) return s;
+            s = slots.size();
+            if (s == ratings.length) {
+                ratings = Arrays.copyOf(ratings, s * 2);
+                counts = Arrays.copyOf(counts, s * 2);
+            }
+            ratings[s] = initial;
+            slots.put(key, s);
+            return s;
+        }
+
+        double rating(long key, double ifUnknown) {
+            int s = slots.get(key);
+            return s < 0 ? ifUnknown : ratings[s];
+        }
+    }
+
+    /**
+     * Returns a player's rating.
+     *
+     * @param player the player's key
+     * @return the rating, {@link #INITIAL_RATING} if the player is new
+     */
+    public synchronized double playerRating(long player) {
+        return players.rating(player, INITIAL_RATING);
+    }
+
+    /**
+     * Returns a question's rating.
+     *
+     * @param question the question's key
+     * @param ifUnknown what to return for a question that has not been rated
+     * @return the rating
+     */
+    public synchronized double questionRating(long question, double ifUnknown) {
+        return questions.rating(question, ifUnknown);
+    }
+
+    /**
+     * Gives a question its starting rating, unless it already has one.
+     *
+     * @param question the question's key
+     * @param rating the starting rating, e.g. from its nominal difficulty
+     * @return the question's rating after the call
+     */
+    public synchronized double seedQuestion(long question, double rating) {
+        int s = questions.slot(question, rating); // may grow the arrays, so look them up after
+        return questions.ratings[s];
+    }
+
+    /**
+     * Records one answer and updates both ratings.
+     *
+     * @param player the player's key
+     * @param question the question's key; seeded with {@link #INITIAL_RATING} if new
+     * @param score the actual score, from {@link #score}
+     * @return the question's new rating
+     */
+    public synchronized double update(long player, long question, double score) {
+        int p = players.slot(player, INITIAL_RATING);
+        int q = questions.slot(question, INITIAL_RATING);
+        double surprise = score - expected(players.ratings[p], questions.ratings[q]);
+        players.ratings[p] += k(players.counts[p]++, PLAYER_K_MAX, PLAYER_K_MIN) * surprise;
+        questions.ratings[q] -= k(questions.counts[q]++, QUESTION_K_MAX, QUESTION_K_MIN) * surprise;
+        return questions.ratings[q];
+    }
+
+    /**
+     * Returns the probability that a player answers a question correctly.
+     *
+     * @param player the player's rating
+     * @param question the question's rating
+     * @return a probability in (0, 1)
+     */
+    public static double expected(double player, double question) {
+        return 1 / (1 + Math.pow(10, (question - player) / SCALE));
+    }
+
+    /**
+     * Scores an answer from its correctness and speed.
+     *
+     * @param correct whether the answer was right
+     * @param responseMillis how long the player took
+     * @param limitMillis the time allowed
+     * @return 0 if wrong, otherwise from {@value #SLOW_CORRECT_SCORE} (at the limit) to 1 (instant)
+     */
+    public static double score(boolean correct, int responseMillis, int limitMillis) {
+        if (!correct) return 0;
+        double used = limitMillis <= 0 ? 0 : Math.min(1, Math.max(0, (double) responseMillis / limitMillis));
+        return 1 - (1 - SLOW_CORRECT_SCORE) * used;
+    }
+
+    /**
+     * Returns the question rating a player answers correctly with probability {@link #TARGET_SUCCESS}.
+     *
+     * @param player the player's rating
+     * @return the rating to look for
+     */
+    public static double targetFor(double player) {
+        return player - SCALE * Math.log10(TARGET_SUCCESS / (1 - TARGET_SUCCESS));
+    }
+
+    private static double k(int answers, double max, double min) {
+        return min + (max - min) / (1 + answers / K_HALF_LIFE);
+    }
+}
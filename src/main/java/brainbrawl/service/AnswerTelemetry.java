@@ -0,0 +1,181 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.AnswerDao;
+import brainbrawl.model.AnswerEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Collects {@link AnswerEvent}s from the quiz screens and writes them to the database in batches.
+ * <p>
+ * {@link #record(AnswerEvent)} is called on the JavaFX thread as each answer is marked, so it
+ * must never wait: it claims a slot in a fixed-size ring with one compare-and-set and returns.
+ * A single background thread drains the ring and inserts up to {@link #MAX_BATCH} events per
+ * transaction through {@link AnswerDao#createAll(List)}.
+ * <p>
+ * The ring is a bounded multi-producer queue in the style of Vyukov's: every slot carries a
+ * sequence number telling producers and the consumer whose turn it is, so no locks are taken.
+ * When the writer falls so far behind that the ring is full, new events are dropped and
+ * counted ({@link #dropped()}) rather than slowing down the game; telemetry is best-effort.
+ * A batch that fails to insert is dropped the same way.
+ */
+public class AnswerTelemetry implements AutoCloseable {
+
+    /** Largest number of events written in one transaction. */
+    static final int MAX_BATCH = 256;
+    /** How long the writer sleeps when the ring is empty. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AnswerDao dao;
+    private final int mask;
+    private final AtomicReferenceArray<AnswerEvent> slots;
+    /**
+     * Per-slot sequence: equal to the producer position when the slot is free to write,
+     * one past it once the slot holds an event for the consumer.
+     */
+    private final AtomicLongArray sequences;
+    /** Next position a producer will claim. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Next position the writer will read; only the writer thread touches it. */
+    private long head;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the ring and starts its background writer thread.
+     *
+     * @param dao the DAO used to insert events
+     * @param capacity the number of events the ring holds; rounded up to a power of two
+     */
+    public AnswerTelemetry(AnswerDao dao, int capacity) {
+        this(dao, capacity, true);
+    }
+
+    /** Creates the ring, optionally without a writer thread so tests can call {@link #drain()}. */
+    AnswerTelemetry(AnswerDao dao, int capacity, boolean startWriter) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.dao = dao;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+        if (startWriter) {
+            this.writer = new Thread(this::drainLoop, "answer-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Queues one answer for writing. Never blocks.
+     *
+     * @param e the answer given
+     * @return {@code true} if queued, {@code false} if the ring was full and the event was dropped
+     */
+    public boolean record(AnswerEvent e) {
+        long pos = tail.get();
+        while (true) {
+            int i = (int) pos & mask;
+            long seq = sequences.get(i);
+            long diff = seq - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.set(i, e);
+                    sequences.set(i, pos + 1); // publish
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // slot still holds an event from one lap ago: the ring is full
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                pos = tail.get(); // another producer claimed this position
+            }
+        }
+    }
+
+    /**
+     * Returns how many events were lost because the ring was full or their insert failed.
+     *
+     * @return the number of dropped events
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns how many events have been committed to the database.
+     *
+     * @return the number of written events
+     */
+    public long written() {
+        return written.get();
+    }
+
+    /**
+     * Stops the writer after it has written everything already in the ring.
+     * Events recorded afterwards stay in the ring and are not written.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (writer == null) return;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------------------------------------------------------------- writer thread
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        while (drain() > 0) {
+            // final flush
+        }
+    }
+
+    /**
+     * Takes up to {@link #MAX_BATCH} events out of the ring and writes them. Must only be
+     * called from one thread at a time: the writer thread, or a test without one.
+     *
+     * @return the number of events taken
+     */
+    int drain() {
+        List<AnswerEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (batch.size() < MAX_BATCH) {
+            int i = (int) head & mask;
+            if (sequences.get(i) != head + 1) break; // empty, or a producer hasn't published yet
+            batch.add(slots.get(i));
+            slots.set(i, null);
+            sequences.set(i, head + mask + 1); // free for the producer one lap ahead
+            head++;
+        }
+        if (batch.isEmpty()) return 0;
+        try {
+            dao.createAll(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException ex) {
+            dropped.addAndGet(batch.size());
+            System.err.println("WARN: dropped " + batch.size() + " answer events: " + ex.getMessage());
+        }
+        return batch.size();
+    }
+}
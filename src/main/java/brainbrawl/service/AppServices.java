@@ -1,25 +1,115 @@
 package brainbrawl.service;
 
+import brainbrawl.dao.AnswerDaoJdbc;
+import brainbrawl.dao.QuestionDaoJdbc;
 import brainbrawl.dao.ResultDaoJdbc;
 import brainbrawl.dao.UserDaoJdbc;
+import brainbrawl.math.MathEngine;
+import brainbrawl.model.User;
+import brainbrawl.quiz.AdaptiveEngine;
+import brainbrawl.quiz.MathQuestions;
+import brainbrawl.quiz.QuizItem;
+import brainbrawl.quiz.QuizRecorder;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Centralized service registry for the BrainBrawl application.
  * <p>
  * Provides global access to singleton instances of core services such as
- * {@link AuthService} and {@link ResultService}.
+ * {@link AuthService}, {@link ResultService} and {@link QuestionService}.
+ * <p>
+ * Loading the class only constructs the services. The work that reads the database to fill
+ * the in-memory views (leaderboards, analytics) happens in {@link #init()}, on a background
+ * thread, so the first touch from the JavaFX thread doesn't block the window.
  * <p>
  * This class is a utility class and cannot be instantiated.
  */
 public final class AppServices {
+    /** Shared user DAO, so its username filter is loaded once. */
+    private static final UserDaoJdbc USERS = new UserDaoJdbc();
     /** Singleton instance of {@link AuthService}. */
-    private static final AuthService AUTH = new AuthService(new UserDaoJdbc());
-    /** Singleton instance of {@link ResultService}. */
-    private static final ResultService RESULTS = new ResultService(new ResultDaoJdbc());
+    private static final AuthService AUTH = new AuthService(USERS);
+    private static final ResultDaoJdbc RESULT_DAO = new ResultDaoJdbc();
+    /** Singleton instance of {@link ResultService}; saves go through a write-behind queue. */
+    private static final ResultService RESULTS =
+            new ResultService(RESULT_DAO, 1024, ResultWriteBehind.OverflowPolicy.CALLER_RUNS);
+    /** Singleton leaderboards, seeded from the statistics rollup and fed by {@link #RESULTS}. */
+    private static final Leaderboard LEADERBOARD =
+            new Leaderboard(id -> USERS.findById(id).map(User::getUsername).orElse("#" + id));
+
+    /** Singleton day-by-day result totals, persisted next to the database. */
+    private static final ResultsAnalytics ANALYTICS =
+            new ResultsAnalytics(RESULT_DAO, ResultsAnalytics.defaultFile(), ZoneId.systemDefault());
+
+    /** Singleton per-answer telemetry, written in the background. */
+    private static final AnswerTelemetry TELEMETRY = new AnswerTelemetry(new AnswerDaoJdbc(), 4096);
+    /** Singleton in-memory cache of the question banks used by the quizzes. */
+    private static final QuestionBankCache QUESTION_BANK = new QuestionBankCache(new QuestionDaoJdbc());
+    /** Singleton maths problem engine; each level's pool is generated on first use. */
+    private static final MathEngine MATH = new MathEngine();
+    /**
+     * Singleton adaptive-quiz engine over the Maths pools and the question banks; a category
+     * is re-indexed after any question changes, and only multiple-choice questions are indexed.
+     */
+    private static final AdaptiveEngine ADAPTIVE = new AdaptiveEngine(new AdaptiveEngine.ItemSource() {
+        @Override
+        public List<QuizItem> items(String category, int level) {
+            return "Maths".equals(category)
+                    ? MathQuestions.all(MATH.pool(level), level)
+                    : QuizItem.ofPlayable(QUESTION_BANK.bank(category, level));
+        }
+
+        @Override
+        public long version(String category) {
+            return "Maths".equals(category) ? 0 : QUESTION_BANK.generation();
+        }
+    }, 4);
+    /** Singleton instance of {@link QuestionService}, wired to keep {@link #QUESTION_BANK} current. */
+    private static final QuestionService QUESTIONS = new QuestionService(new QuestionDaoJdbc(), QUESTION_BANK);
+
+    /** Result of the one {@link #init()} run, or {@code null} before it starts; guarded by the class lock. */
+    private static CompletableFuture<Void> ready;
 
     /** Private constructor to prevent instantiation. */
     private AppServices() {}
 
+    /**
+     * Seeds the leaderboards from the statistics rollup and loads the analytics, on a
+     * background thread, then registers both as save listeners of {@link #results()}.
+     * <p>
+     * Call once at startup; later calls return the same future. No quiz should be played
+     * before it completes, so that every saved result reaches both views. A failure is
+     * logged and the listeners are registered anyway, so the future always completes normally.
+     *
+     * @return a future completed when the views are ready
+     */
+    public static synchronized CompletableFuture<Void> init() {
+        if (ready == null) {
+            ready = CompletableFuture.runAsync(() -> {
+                try {
+                    LEADERBOARD.seed(RESULT_DAO.findAllStandings());
+                    ANALYTICS.load();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                } finally {
+                    RESULTS.addSaveListener(LEADERBOARD::record);
+                    RESULTS.addSaveListener(ANALYTICS::record);
+                }
+            });
+        }
+        return ready;
+    }
+
+    /**
+     * Provides global access to the user DAO behind {@link #auth()}.
+     *
+     * @return the shared {@link UserDaoJdbc} instance
+     */
+    public static UserDaoJdbc users() { return USERS; }
+
     /**
      * Provides global access to the authentication service.
      *
@@ -33,4 +123,60 @@ public final class AppServices {
      * @return the shared {@link ResultService} instance
      */
     public static ResultService results() { return RESULTS; }
-}
\ No newline at end of file
+
+    /**
+     * Provides global access to the leaderboards.
+     *
+     * @return the shared {@link Leaderboard} instance
+     */
+    public static Leaderboard leaderboard() { return LEADERBOARD; }
+
+    /**
+     * Provides global access to the results analytics.
+     *
+     * @return the shared {@link ResultsAnalytics} instance
+     */
+    public static ResultsAnalytics analytics() { return ANALYTICS; }
+
+    /**
+     * Provides global access to the answer telemetry.
+     *
+     * @return the shared {@link AnswerTelemetry} instance
+     */
+    public static AnswerTelemetry telemetry() { return TELEMETRY; }
+
+    /**
+     * Provides a recorder that sends quiz answers to {@link #telemetry()} and results to {@link #results()}.
+     *
+     * @return a {@link QuizRecorder} backed by the shared services
+     */
+    public static QuizRecorder quizRecorder() { return QuizRecorder.of(RESULTS, TELEMETRY); }
+
+    /**
+     * Provides global access to the question service.
+     *
+     * @return the shared {@link QuestionService} instance
+     */
+    public static QuestionService questions() { return QUESTIONS; }
+
+    /**
+     * Provides global access to the maths problem engine.
+     *
+     * @return the shared {@link MathEngine} instance
+     */
+    public static MathEngine math() { return MATH; }
+
+    /**
+     * Provides global access to the adaptive-quiz engine.
+     *
+     * @return the shared {@link AdaptiveEngine} instance
+     */
+    public static AdaptiveEngine adaptive() { return ADAPTIVE; }
+
+    /**
+     * Provides global access to the cached question banks.
+     *
+     * @return the shared {@link QuestionBankCache} instance
+     */
+    public static QuestionBankCache questionBank() { return QUESTION_BANK; }
+}
@@ -1,19 +1,53 @@
 package brainbrawl.service;
 
+import brainbrawl.dao.ProvisionReport;
 import brainbrawl.dao.UserDao;
 import brainbrawl.model.User;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 /**
  * Handles user authentication and registration logic.
  * <p>
  * This service wraps {@link UserDao} to manage user login sessions and
  * provides methods to register, log in, and log out users.
+ * <p>
+ * Password hashing is deliberately slow, so the UI should use {@link #loginAsync} and
+ * {@link #registerAsync}. They run on a small executor reserved for authentication,
+ * which keeps hashing off the JavaFX thread and away from the common fork-join pool.
+ * <p>
+ * Every successful login also opens a session in a {@link SessionCache} and returns its token
+ * ({@link #loginSession}). Checking that token later with {@link #validateSession} is a
+ * memory lookup: no database query and no password hashing.
+ * <p>
+ * Login attempts pass through a {@link LoginThrottle} first. When a username or source has
+ * used up its attempts, {@link TooManyAttemptsException} is thrown before any hashing is done,
+ * so guessing passwords cannot tie up the authentication threads.
  */
 public class AuthService {
+    /** Threads reserved for password hashing. */
+    private static final int AUTH_THREADS = 2;
+    /** Acceptable usernames: 3–32 characters, letters, digits, {@code . _ -}. */
+    public static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9._-]{3,32}$");
+    /** Shortest password accepted for a new account. */
+    public static final int MIN_PASSWORD_LENGTH = 6;
+    /** Throttle source for attempts made at this machine's login screen. */
+    public static final String LOCAL_SOURCE = "local";
+
     private final UserDao userDao;
-    private User currentUser;
+    private final SessionCache sessions;
+    private final LoginThrottle throttle;
+    private final ExecutorService executor;
+    private volatile User currentUser;
+    /** Session token of {@link #currentUser}, or {@code null}. */
+    private volatile String currentToken;
 
     /**
      * Constructs a new {@code AuthService}.
@@ -21,7 +55,36 @@ public class AuthService {
      * @param userDao the DAO responsible for user persistence and authentication
      */
     public AuthService(UserDao userDao) {
+        this(userDao, new SessionCache());
+    }
+
+    /**
+     * Constructs a new {@code AuthService} with a specific session cache.
+     *
+     * @param userDao the DAO responsible for user persistence and authentication
+     * @param sessions where login sessions are kept
+     */
+    public AuthService(UserDao userDao, SessionCache sessions) {
+        this(userDao, sessions, new LoginThrottle());
+    }
+
+    /**
+     * Constructs a new {@code AuthService} with a specific session cache and login throttle.
+     *
+     * @param userDao the DAO responsible for user persistence and authentication
+     * @param sessions where login sessions are kept
+     * @param throttle limits how often a username or source may try to log in
+     */
+    public AuthService(UserDao userDao, SessionCache sessions, LoginThrottle throttle) {
         this.userDao = userDao;
+        this.sessions = sessions;
+        this.throttle = throttle;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(AUTH_THREADS, r -> {
+            Thread t = new Thread(r, "auth-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     /**
@@ -30,13 +93,83 @@ public class AuthService {
      * @param username the username entered
      * @param password the password entered
      * @return {@code true} if authentication succeeded, {@code false} otherwise
+     * @throws TooManyAttemptsException if this username has been tried too often
      */
     public boolean login(String username, String password) {
-        Optional<User> u = userDao.authenticate(username, password);
-        u.ifPresent(user -> currentUser = user);
+        Optional<User> u = authenticate(username, password, LOCAL_SOURCE);
+        u.ifPresent(user -> {
+            sessions.invalidate(currentToken);
+            currentToken = sessions.issue(user);
+            currentUser = user;
+        });
         return u.isPresent();
     }
 
+    /**
+     * Authenticates a user and opens a session for them, without changing
+     * {@link #getCurrentUser()}. Used when one process serves many players.
+     *
+     * @param username the username entered
+     * @param password the password entered
+     * @return the new session token, or empty if authentication failed
+     * @throws TooManyAttemptsException if this username has been tried too often
+     */
+    public Optional<String> loginSession(String username, String password) {
+        return loginSession(username, password, LOCAL_SOURCE);
+    }
+
+    /**
+     * Authenticates a user on behalf of a remote client and opens a session for them.
+     *
+     * @param username the username entered
+     * @param password the password entered
+     * @param source where the attempt comes from, e.g. the client's address
+     * @return the new session token, or empty if authentication failed
+     * @throws TooManyAttemptsException if this username or source has been tried too often
+     */
+    public Optional<String> loginSession(String username, String password, String source) {
+        return authenticate(username, password, source).map(sessions::issue);
+    }
+
+    private Optional<User> authenticate(String username, String password, String source) {
+        long wait = throttle.tryAcquire(username, source);
+        if (wait > 0) throw new TooManyAttemptsException(wait);
+        Optional<User> u = userDao.authenticate(username, password);
+        if (u.isPresent()) throttle.refund(username);
+        return u;
+    }
+
+    /**
+     * Resolves a session token to its user, extending the session's idle timeout.
+     *
+     * @param token the token returned by {@link #loginSession}
+     * @return the user, or empty if the session is unknown or has expired
+     */
+    public Optional<User> validateSession(String token) {
+        return sessions.validate(token);
+    }
+
+    /**
+     * Ends one session.
+     *
+     * @param token the token to invalidate
+     */
+    public void logout(String token) {
+        sessions.invalidate(token);
+    }
+
+    /**
+     * Logs in on the authentication executor.
+     *
+     * @param username the username entered
+     * @param password the password entered
+     * @return a future completed with {@code true} if authentication succeeded, or
+     *         exceptionally with {@link TooManyAttemptsException}
+     */
+    public CompletableFuture<Boolean> loginAsync(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> login(username, password), executor);
+    }
+
     /**
      * Registers a new user account.
      *
@@ -48,6 +181,39 @@ public class AuthService {
         return userDao.createUser(username, password);
     }
 
+    /**
+     * Creates many accounts at once, hashing their passwords in parallel. Validate the
+     * usernames and passwords first; taken names are reported, not rejected.
+     *
+     * @param accounts username and password pairs, in roster order
+     * @return the accounts created and the usernames skipped as duplicates
+     */
+    public ProvisionReport provisionUsers(List<Map.Entry<String, String>> accounts) {
+        return userDao.createUsers(accounts);
+    }
+
+    /**
+     * Checks whether a username can still be registered. Usually answered from memory,
+     * so it is cheap enough to call as the user types.
+     *
+     * @param username the desired username
+     * @return {@code true} if no account has this username
+     */
+    public boolean isUsernameAvailable(String username) {
+        return !userDao.usernameExists(username);
+    }
+
+    /**
+     * Registers a new user account on the authentication executor.
+     *
+     * @param username desired username
+     * @param password desired password
+     * @return a future completed with {@code true} if registration succeeded
+     */
+    public CompletableFuture<Boolean> registerAsync(String username, String password) {
+        return CompletableFuture.supplyAsync(() -> register(username, password), executor);
+    }
+
     /**
      * Retrieves the currently logged-in user, if any.
      *
@@ -57,10 +223,31 @@ public class AuthService {
         return currentUser;
     }
 
+    /**
+     * Retrieves the ID of the currently logged-in user, if any.
+     *
+     * @return the current user's ID, or {@code null} if no user is logged in
+     */
+    public Long getCurrentUserId() {
+        User u = currentUser;
+        return u == null ? null : u.getId();
+    }
+
+    /**
+     * Returns the session token of the current user.
+     *
+     * @return the token, or {@code null} if no user is logged in
+     */
+    public String getCurrentToken() {
+        return currentToken;
+    }
+
     /**
      * Logs out the current user, clearing their session.
      */
     public void logout() {
+        sessions.invalidate(currentToken);
+        currentToken = null;
         currentUser = null;
     }
 }
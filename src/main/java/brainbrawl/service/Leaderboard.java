@@ -0,0 +1,255 @@
+package brainbrawl.service;
+
+import brainbrawl.model.GameResult;
+import brainbrawl.model.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+
+/**
+ * In-memory leaderboards, one per category and difficulty.
+ * <p>
+ * Each board keeps its players in an order-statistic treap: a balanced binary search tree in
+ * which every node also knows the size of its subtree. That makes {@link #top top-K},
+ * {@link #rankOf rank of a player} and {@link #around players around a rank} O(log n + k),
+ * with no database query.
+ * <p>
+ * The treap is persistent: an update copies the O(log n) nodes on its path and publishes the
+ * new root through a volatile field, leaving the old tree untouched. Readers therefore never
+ * lock and always see one consistent version of a board; writers to the same board take its
+ * lock, which only serialises the (rare) saves of results in that category and level.
+ * <p>
+ * Boards are {@link #seed seeded} from the statistics rollup at startup and then
+ * {@link #record updated} as each result is saved, mirroring the rollup's best and total score.
+ */
+public class Leaderboard {
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+    private final LongFunction<String> usernames;
+
+    /**
+     * Creates an empty set of leaderboards.
+     *
+     * @param usernames looks up the name of a player seen for the first time in {@link #record}
+     */
+    public Leaderboard(LongFunction<String> usernames) {
+        this.usernames = usernames;
+    }
+
+    /** An immutable treap node. */
+    private static final class Node {
+        final LeaderboardEntry entry;
+        final int priority;
+        final Node left;
+        final Node right;
+        final int size;
+
+        Node(LeaderboardEntry entry, int priority, Node left, Node right) {
+            this.entry = entry;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        Node with(Node left, Node right) {
+            return new Node(entry, priority, left, right);
+        }
+    }
+
+    /** One category and difficulty. */
+    private static final class Board {
+        /** Latest version of the tree; replaced, never mutated. */
+        volatile Node root;
+        /** Each player's entry as it is in {@link #root}. Written under the board's lock. */
+        final Map<Long, LeaderboardEntry> byUser = new ConcurrentHashMap<>();
+
+        /** Replaces a player's entry. Caller holds the board's lock. */
+        void put(LeaderboardEntry e) {
+            LeaderboardEntry old = byUser.put(e.getUserId(), e);
+            Node r = root;
+            if (old != null) r = remove(r, old);
+            root = insert(r, new Node(e, ThreadLocalRandom.current().nextInt(), null, null));
+        }
+    }
+
+    /**
+     * Loads standings, replacing any entries for the same players.
+     *
+     * @param entries standings read from the statistics rollup
+     */
+    public void seed(Collection<LeaderboardEntry> entries) {
+        for (LeaderboardEntry e : entries) {
+            Board b = board(e.getCategory(), e.getDifficulty());
+            synchronized (b) { b.put(e); }
+        }
+    }
+
+    /**
+     * Adds a saved result to its board. Unattributed results are ignored.
+     *
+     * @param r the result, after it has been stored
+     */
+    public void record(GameResult r) {
+        if (r.getUserId() == null) return;
+        long userId = r.getUserId();
+        Board b = board(r.getCategory(), r.getDifficulty());
+        synchronized (b) {
+            LeaderboardEntry old = b.byUser.get(userId);
+            if (old == null) {
+                old = new LeaderboardEntry(userId, usernames.apply(userId), r.getCategory(), r.getDifficulty(), 0, 0, 0);
+            }
+            b.put(old.plusGame(r.getScore()));
+        }
+    }
+
+    /**
+     * Returns the best players of a board.
+     *
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param k how many players to return
+     * @return up to {@code k} ranked entries, best first
+     */
+    public List<LeaderboardEntry> top(String category, int difficulty, int k) {
+        Board b = boards.get(key(category, difficulty));
+        return b == null ? List.of() : range(b.root, 0, k);
+    }
+
+    /**
+     * Finds a player's place on a board.
+     *
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param userId the player
+     * @return the 1-based rank, or empty if the player has no result on this board
+     */
+    public OptionalInt rankOf(String category, int difficulty, long userId) {
+        Board b = boards.get(key(category, difficulty));
+        LeaderboardEntry e = b == null ? null : b.byUser.get(userId);
+        if (e == null) return OptionalInt.empty();
+        return OptionalInt.of(countBefore(b.root, e) + 1);
+    }
+
+    /**
+     * Returns the players ranked just above and below a player, the player included.
+     *
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @param userId the player
+     * @param radius how many places to include on each side
+     * @return up to {@code 2 * radius + 1} ranked entries, best first, or an empty list
+     *         if the player has no result on this board
+     */
+    public List<LeaderboardEntry> around(String category, int difficulty, long userId, int radius) {
+        Board b = boards.get(key(category, difficulty));
+        LeaderboardEntry e = b == null ? null : b.byUser.get(userId);
+        if (e == null) return List.of();
+        Node root = b.root;
+        int index = countBefore(root, e);
+        int from = Math.max(0, index - radius);
+        return range(root, from, index + radius + 1 - from);
+    }
+
+    /**
+     * Counts the players on a board.
+     *
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @return the number of ranked players
+     */
+    public int size(String category, int difficulty) {
+        Board b = boards.get(key(category, difficulty));
+        return b == null ? 0 : size(b.root);
+    }
+
+    private Board board(String category, int difficulty) {
+        return boards.computeIfAbsent(key(category, difficulty), k -> new Board());
+    }
+
+    private static String key(String category, int difficulty) {
+        return category + '\u0000' + difficulty;
+    }
+
+    // ---------------------------------------------------------------- persistent treap
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    /** Inserts a single-node tree; keys are distinct because the user ID breaks ties. */
+    private static Node insert(Node t, Node n) {
+        if (t == null) return n;
+        if (n.priority > t.priority) {
+            Node[] lr = split(t, n.entry);
+            return n.with(lr[0], lr[1]);
+        }
+        return n.entry.compareStanding(t.entry) < 0
+                ? t.with(insert(t.left, n), t.right)
+                : t.with(t.left, insert(t.right, n));
+    }
+
+    /** Removes the node holding {@code e}, which must be present. */
+    private static Node remove(Node t, LeaderboardEntry e) {
+        int c = e.compareStanding(t.entry);
+        if (c == 0) return merge(t.left, t.right);
+        return c < 0 ? t.with(remove(t.left, e), t.right) : t.with(t.left, remove(t.right, e));
+    }
+
+    /** Splits into entries ranked above {@code e} and the rest. */
+    private static Node[] split(Node t, LeaderboardEntry e) {
+        if (t == null) return new Node[2];
+        if (t.entry.compareStanding(e) < 0) {
+            Node[] lr = split(t.right, e);
+            return new Node[] {t.with(t.left, lr[0]), lr[1]};
+        }
+        Node[] lr = split(t.left, e);
+        return new Node[] {lr[0], t.with(lr[1], t.right)};
+    }
+
+    /** Joins two trees where every entry of {@code a} ranks above every entry of {@code b}. */
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.priority > b.priority ? a.with(a.left, merge(a.right, b)) : b.with(merge(a, b.left), b.right);
+    }
+
+    /** Number of entries ranked above {@code e}. */
+    private static int countBefore(Node t, LeaderboardEntry e) {
+        int n = 0;
+        while (t != null) {
+            if (t.entry.compareStanding(e) < 0) {
+                n += size(t.left) + 1;
+                t = t.right;
+            } else {
+                t = t.left;
+            }
+        }
+        return n;
+    }
+
+    /** Collects up to {@code count} entries starting at 0-based position {@code from}, with their ranks. */
+    private static List<LeaderboardEntry> range(Node root, int from, int count) {
+        if (count <= 0 || from >= size(root)) return List.of();
+        List<LeaderboardEntry> out = new ArrayList<>(Math.max(0, Math.min(count, size(root) - from)));
+        collect(root, from, count, from, out);
+        return out;
+    }
+
+    /** In-order walk that skips whole subtrees before {@code from}; {@code base} is the position of {@code t}'s first entry. */
+    private static void collect(Node t, int from, int count, int base, List<LeaderboardEntry> out) {
+        if (t == null || out.size() == count) return;
+        int leftSize = size(t.left);
+        int here = base + leftSize;
+        if (from < here) collect(t.left, from, count, base, out);
+        if (out.size() == count) return;
+        if (from <= here) out.add(t.entry.withRank(here + 1));
+        collect(t.right, Math.max(from, here + 1), count, here + 1, out);
+    }
+}
@@ -0,0 +1,150 @@
+package brainbrawl.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-limits login attempts with token buckets keyed by username and by source.
+ * <p>
+ * Each key hashes to one slot of a fixed-size {@link AtomicLongArray}, so memory is bounded no
+ * matter how many usernames an attacker tries. A slot holds an entire bucket in one
+ * {@code long}, updated with a compare-and-set loop, so the check is lock-free:
+ * <pre>
+ *  63                 28 27              0
+ * [ last refill, ms     | deficit, µtokens ]
+ * </pre>
+ * The deficit is how far the bucket is below full, which makes a zeroed slot a full bucket.
+ * Time is kept in 36 bits of milliseconds since the throttle was created (about two years).
+ * <p>
+ * Keys that collide share a bucket. With the default {@value #DEFAULT_SLOTS} slots that only
+ * matters under a flood of distinct keys, and then sharing errs towards throttling. Nothing
+ * ever refills a bucket beyond what its own attempts took, so logging into a colliding
+ * account cannot top up someone else's bucket.
+ * <p>
+ * {@link AuthService} calls {@link #tryAcquire} before any database query or password hashing,
+ * so a rejected attempt costs a hash and a CAS.
+ */
+public class LoginThrottle {
+
+    /** Default number of slots per table; a power of two. */
+    public static final int DEFAULT_SLOTS = 1 << 14;
+
+    private static final int DEFICIT_BITS = 28;
+    private static final long DEFICIT_MASK = (1L << DEFICIT_BITS) - 1;
+    private static final long MICROS_PER_TOKEN = 1_000_000;
+
+    private final Table byUser;
+    private final Table bySource;
+    private final LongSupplier clockMillis;
+
+    /** One table of buckets sharing a capacity and refill rate. */
+    private static final class Table {
+        final AtomicLongArray slots;
+        final long capacity;      // µtokens
+        final long refillPerMs;   // µtokens per millisecond
+
+        Table(int slots, int burst, double perSecond) {
+            if (Integer.bitCount(slots) != 1) throw new IllegalArgumentException("slots must be a power of two");
+            if (burst <= 0 || burst * MICROS_PER_TOKEN > DEFICIT_MASK) throw new IllegalArgumentException("burst out of range");
+            if (perSecond <= 0) throw new IllegalArgumentException("refill rate must be positive");
+            this.slots = new AtomicLongArray(slots);
+            this.capacity = burst * MICROS_PER_TOKEN;
+            this.refillPerMs = Math.max(1, Math.round(perSecond * MICROS_PER_TOKEN / 1000));
+        }
+
+        int slot(String key) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & (slots.length() - 1);
+        }
+
+        /** Takes one token; returns 0 on success or the milliseconds until one is available. */
+        long take(int i, long now) {
+            while (true) {
+                long s = slots.get(i);
+                long last = s >>> DEFICIT_BITS;
+                long elapsed = Math.max(0, now - last); // another thread may have read a later clock
+                long deficit = Math.max(0, (s & DEFICIT_MASK) - elapsed * refillPerMs);
+                long after = deficit + MICROS_PER_TOKEN;
+                if (after > capacity) return Math.max(1, (after - capacity + refillPerMs - 1) / refillPerMs);
+                if (slots.compareAndSet(i, s, (Math.max(now, last) << DEFICIT_BITS) | after)) return 0;
+            }
+        }
+
+        /** Gives back one token taken by {@link #take}. */
+        void refund(int i, long now) {
+            while (true) {
+                long s = slots.get(i);
+                long last = s >>> DEFICIT_BITS;
+                long elapsed = Math.max(0, now - last);
+                long deficit = Math.max(0, (s & DEFICIT_MASK) - elapsed * refillPerMs - MICROS_PER_TOKEN);
+                if (slots.compareAndSet(i, s, (Math.max(now, last) << DEFICIT_BITS) | deficit)) return;
+            }
+        }
+    }
+
+    /**
+     * Creates a throttle allowing bursts of 5 attempts per username, refilled at one every
+     * 12 seconds, and 30 per source, refilled at one per second.
+     */
+    public LoginThrottle() {
+        this(DEFAULT_SLOTS, 5, 1.0 / 12, 30, 1.0);
+    }
+
+    /**
+     * Creates a throttle.
+     *
+     * @param slots buckets per table (a power of two)
+     * @param userBurst attempts a username may make at once
+     * @param userPerSecond attempts per second a username regains
+     * @param sourceBurst attempts a source may make at once
+     * @param sourcePerSecond attempts per second a source regains
+     */
+    public LoginThrottle(int slots, int userBurst, double userPerSecond, int sourceBurst, double sourcePerSecond) {
+        this(slots, userBurst, userPerSecond, sourceBurst, sourcePerSecond, millisSince(System.nanoTime()));
+    }
+
+    /** Full constructor; {@code clockMillis} is replaced in tests. */
+    LoginThrottle(int slots, int userBurst, double userPerSecond, int sourceBurst, double sourcePerSecond,
+                  LongSupplier clockMillis) {
+        this.byUser = new Table(slots, userBurst, userPerSecond);
+        this.bySource = new Table(slots, sourceBurst, sourcePerSecond);
+        this.clockMillis = clockMillis;
+    }
+
+    private static LongSupplier millisSince(long startNanos) {
+        return () -> (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Takes one attempt from both the username's and the source's bucket.
+     * <p>
+     * The username is checked first; if it passes but the source is empty, the username's
+     * token is still spent, which only makes throttling slightly stricter.
+     *
+     * @param username the username being tried (case-insensitive)
+     * @param source where the attempt comes from, e.g. a client address
+     * @return 0 if the attempt may proceed, otherwise the milliseconds to wait
+     */
+    public long tryAcquire(String username, String source) {
+        long now = clockMillis.getAsLong();
+        long wait = byUser.take(byUser.slot(username.toLowerCase(Locale.ROOT)), now);
+        if (wait > 0) return wait;
+        return bySource.take(bySource.slot(source), now);
+    }
+
+    /**
+     * Gives back the username token taken by a login that succeeded, so successful logins
+     * never count against the limit. Earlier failed attempts still do.
+     * <p>
+     * Only that one token is returned rather than the whole bucket refilled: a username
+     * shares its bucket with any name that hashes to the same slot, and an attacker could
+     * otherwise register such a name and log into it between guesses to keep refilling the
+     * victim's bucket.
+     *
+     * @param username the username that just logged in
+     */
+    public void refund(String username) {
+        byUser.refund(byUser.slot(username.toLowerCase(Locale.ROOT)), clockMillis.getAsLong());
+    }
+}
@@ -0,0 +1,195 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.QuestionDao;
+import brainbrawl.model.Question;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * In-memory cache of the question banks used by the quiz screens.
+ * <p>
+ * Questions are grouped into one immutable array per (category, difficulty) bucket.
+ * Once a bucket is loaded, starting a quiz is a random slice of that array with no
+ * database access at all. Buckets are loaded on first use (or all at once by
+ * {@link #warmUp()}) and are patched incrementally by {@link QuestionService} when
+ * a question is added, updated or deleted: only the affected bucket is rebuilt,
+ * copy-on-write, so readers never see a half-updated array.
+ * <p>
+ * Only {@linkplain #isPlayable playable} questions enter a bank: the quiz screens need
+ * options and a correct index, so short-answer questions stored in a quiz category are
+ * left out.
+ */
+public class QuestionBankCache {
+    private final QuestionDao dao;
+    private final Map<Bucket, Question[]> buckets = new ConcurrentHashMap<>();
+    /** Bumped on every change, so loads that raced with a change are discarded. Guarded by {@code this}. */
+    private long generation;
+
+    /** Identifies one bank: a category at a difficulty level. */
+    private record Bucket(String category, int difficulty) { }
+
+    /**
+     * Constructs a new {@code QuestionBankCache}.
+     *
+     * @param dao the data access object used to load buckets
+     */
+    public QuestionBankCache(QuestionDao dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Draws {@code count} distinct random questions from a bank.
+     *
+     * @param category the quiz category (e.g. "General")
+     * @param difficulty the difficulty level
+     * @param count how many questions the quiz needs
+     * @return up to {@code count} questions in random order
+     */
+    public List<Question> draw(String category, int difficulty, int count) {
+        Question[] bank = bucket(category, difficulty);
+        int n = Math.max(0, Math.min(count, bank.length));
+        Question[] copy = bank.clone();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < n; i++) {
+            int j = i + rnd.nextInt(copy.length - i);
+            Question tmp = copy[i]; copy[i] = copy[j]; copy[j] = tmp;
+        }
+        return List.of(Arrays.copyOf(copy, n));
+    }
+
+    /**
+     * Returns every question of a bank.
+     *
+     * @param category the quiz category
+     * @param difficulty the difficulty level
+     * @return an immutable list of the bank's questions, ordered by ID
+     */
+    public List<Question> bank(String category, int difficulty) {
+        return List.of(bucket(category, difficulty));
+    }
+
+    /**
+     * Loads every bank with a single query, so that later quiz starts never hit the database.
+     */
+    public void warmUp() {
+        long gen;
+        synchronized (this) { gen = generation; }
+        Map<Bucket, List<Question>> grouped = new HashMap<>();
+        try (Stream<Question> all = dao.streamAll()) {
+            all.filter(QuestionBankCache::isPlayable).forEach(q -> grouped.computeIfAbsent(new Bucket(q.getCategory(), q.getDifficulty()), k -> new ArrayList<>()).add(q));
+        }
+        synchronized (this) {
+            if (gen != generation) return; // a question changed meanwhile; buckets load lazily instead
+            grouped.forEach((b, list) -> {
+                buckets.putIfAbsent(b, list.toArray(new Question[0]));
+            });
+        }
+    }
+
+    /**
+     * Records a question that was added or updated.
+     * <p>
+     * The question is removed from whatever bucket held it before and inserted into its
+     * current bucket, if that bucket is loaded and the question is
+     * {@linkplain #isPlayable playable}. Unloaded buckets are left alone; they will include
+     * the question when they are read from the database.
+     *
+     * @param q the stored question (must have an ID)
+     */
+    public synchronized void put(Question q) {
+        if (q.getId() == null) throw new IllegalArgumentException("Cached questions need an ID");
+        generation++;
+        removeFromBuckets(q.getId());
+        if (!isPlayable(q)) return;
+        buckets.computeIfPresent(new Bucket(q.getCategory(), q.getDifficulty()), (b, arr) -> {
+            Question[] next = Arrays.copyOf(arr, arr.length + 1);
+            int pos = arr.length;
+            while (pos > 0 && next[pos - 1].getId() > q.getId()) { next[pos] = next[pos - 1]; pos--; }
+            next[pos] = q;
+            return next;
+        });
+    }
+
+    /**
+     * Records that a question was deleted.
+     *
+     * @param id the ID of the deleted question
+     */
+    public synchronized void remove(long id) {
+        generation++;
+        removeFromBuckets(id);
+    }
+
+    /**
+     * Drops every cached bank; they are reloaded on next use.
+     */
+    public synchronized void clear() {
+        generation++;
+        buckets.clear();
+    }
+
+    /** Returns a loaded bucket, reading it from the database on a miss. */
+    private Question[] bucket(String category, int difficulty) {
+        Bucket key = new Bucket(category, difficulty);
+        Question[] bank = buckets.get(key);
+        if (bank != null) return bank;
+
+        long gen;
+        synchronized (this) { gen = generation; }
+        Question[] loaded = dao.findByCategoryAndDifficulty(category, difficulty).stream()
+                .filter(QuestionBankCache::isPlayable)
+                .toArray(Question[]::new);
+        synchronized (this) {
+            if (gen == generation) {
+                Question[] existing = buckets.putIfAbsent(key, loaded);
+                return existing != null ? existing : loaded;
+            }
+        }
+        return loaded; // serve this read, but don't cache data that may predate a change
+    }
+
+    /**
+     * Returns a counter that changes whenever a question is added, updated or deleted, so
+     * copies of the banks kept elsewhere can tell when they are stale.
+     *
+     * @return the current generation
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Tells whether a question can be asked by the quiz screens: a multiple-choice question
+     * whose correct index points at one of its options.
+     *
+     * @param q the question
+     * @return {@code true} if the question may enter a bank
+     */
+    public static boolean isPlayable(Question q) {
+        Integer correct = q.getCorrectIndex();
+        return q.getType() == Question.Type.MCQ && correct != null
+                && correct >= 0 && correct < q.getOptions().size();
+    }
+
+    /** Removes a question from every loaded bucket that contains it. Caller holds the lock. */
+    private void removeFromBuckets(long id) {
+        buckets.replaceAll((b, arr) -> {
+            for (int i = 0; i < arr.length; i++) {
+                if (arr[i].getId() == id) {
+                    Question[] next = new Question[arr.length - 1];
+                    System.arraycopy(arr, 0, next, 0, i);
+                    System.arraycopy(arr, i + 1, next, i, arr.length - i - 1);
+                    return next;
+                }
+            }
+            return arr;
+        });
+    }
+}
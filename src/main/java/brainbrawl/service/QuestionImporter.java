@@ -0,0 +1,389 @@
+package brainbrawl.service;
+
+import brainbrawl.db.Db;
+import brainbrawl.model.Question;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Bulk-loads question banks from CSV or JSON Lines files.
+ * <p>
+ * Files are parsed lazily, one record at a time, and handed to
+ * {@link QuestionService#importQuestions(Iterable)}, which validates each question and
+ * inserts them in batched transactions. Memory use therefore doesn't grow with the
+ * size of the file.
+ * <p>
+ * <b>CSV</b> ({@code .csv}) – a header row naming the columns, in any order:
+ * <pre>category,difficulty,type,text,options,correct_index</pre>
+ * Fields may be quoted with {@code "} (doubling it to escape) and may then span lines.
+ * {@code options} separates answers with {@code ||}. {@code type} is optional and defaults
+ * to {@code MCQ} when options are given, {@code SHORT} otherwise. The quiz categories
+ * ({@link #MCQ_CATEGORIES}) only play multiple-choice questions, so a short-answer row
+ * there — typically one whose options cell was left empty — is rejected.
+ * <p>
+ * <b>JSON Lines</b> ({@code .jsonl} or {@code .ndjson}) – one object per line:
+ * <pre>{"category":"Science","difficulty":2,"text":"H2O is?","options":["Water","Salt"],"correctIndex":0}</pre>
+ * <p>
+ * Can be run from the command line:
+ * <pre>java brainbrawl.service.QuestionImporter pack.csv [jdbc:sqlite:other.db]</pre>
+ * A running BrainBrawl keeps its question banks in memory ({@link QuestionBankCache}) and
+ * doesn't notice rows written by another process, so restart it after an import to play the
+ * new questions.
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class QuestionImporter {
+
+    /** Categories whose quizzes are multiple-choice only. */
+    public static final Set<String> MCQ_CATEGORIES = Set.of("General", "Geography");
+
+    /** Supported input formats. */
+    public enum Format {
+        CSV, JSONL;
+
+        /**
+         * Picks the format from a file name's extension.
+         *
+         * @param file the file to import
+         * @return the matching format
+         * @throws IllegalArgumentException if the extension is not recognised
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) return JSONL;
+            throw new IllegalArgumentException("Unknown question file type: " + file);
+        }
+    }
+
+    /** Private constructor to prevent instantiation. */
+    private QuestionImporter() {}
+
+    /**
+     * Imports every question in a file.
+     *
+     * @param file the CSV or JSONL file
+     * @param service the service that validates and stores the questions
+     * @return the generated IDs, in file order
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a record is malformed or invalid; records
+     *         committed before it stay in the database
+     */
+    public static List<Long> importFile(Path file, QuestionService service) throws IOException {
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return service.importQuestions(parse(r, Format.of(file), file.getFileName().toString()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns a single-use, lazy view of the questions in a reader.
+     *
+     * @param r the reader to parse; the caller closes it
+     * @param format the format of the input
+     * @param source a name used in error messages
+     * @return the questions, parsed as they are iterated
+     */
+    static Iterable<Question> parse(BufferedReader r, Format format, String source) {
+        return switch (format) {
+            case CSV -> () -> new CsvIterator(r, source);
+            case JSONL -> () -> new JsonlIterator(r, source);
+        };
+    }
+
+    /**
+     * Command-line entry point.
+     *
+     * @param args the file to import, optionally followed by a JDBC URL
+     * @throws IOException if the file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: QuestionImporter <file.csv|file.jsonl> [jdbc-url]");
+            System.exit(2);
+        }
+        if (args.length == 2) Db.use(args[1]);
+        Db.init();
+        long start = System.nanoTime();
+        try {
+            List<Long> ids = importFile(Path.of(args[0]), AppServices.questions());
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Imported %,d questions in %.2f s (%,.0f/s)%n", ids.size(), secs, ids.size() / secs);
+            System.out.println("Restart BrainBrawl if it is running to play the new questions.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            Db.shutdown();
+        }
+    }
+
+    /** Builds a question from named fields, applying the defaults described above. */
+    private static Question toQuestion(Map<String, Object> f) {
+        String category = str(f.get("category"));
+        String text = str(f.get("text"));
+        Object difficulty = f.get("difficulty");
+        int level = difficulty == null ? 1 : Integer.parseInt(str(difficulty).trim());
+
+        List<String> options = null;
+        Object opts = f.get("options");
+        if (opts instanceof List<?> list) {
+            options = new ArrayList<>();
+            for (Object o : list) options.add(str(o));
+        } else if (opts != null && !str(opts).isBlank()) {
+            options = Question.splitOptions(str(opts));
+        }
+
+        Object type = f.get("type");
+        Question.Type t = type == null || str(type).isBlank()
+                ? (options == null ? Question.Type.SHORT : Question.Type.MCQ)
+                : Question.Type.valueOf(str(type).trim().toUpperCase(Locale.ROOT));
+        if (t == Question.Type.SHORT && MCQ_CATEGORIES.contains(category)) {
+            throw new IllegalArgumentException(category + " questions must be multiple-choice, with options and a correct index");
+        }
+
+        Object correct = f.containsKey("correct_index") ? f.get("correct_index") : f.get("correctIndex");
+        Integer correctIndex = correct == null || str(correct).isBlank() ? null : Integer.valueOf(str(correct).trim());
+
+        return new Question(null, category, text, t, options, correctIndex, level);
+    }
+
+    private static String str(Object o) {
+        if (o == null) return null;
+        if (o instanceof Double d && d == Math.rint(d)) return Long.toString(d.longValue());
+        return o.toString();
+    }
+
+    // ---------------------------------------------------------------- record iterators
+
+    /** Reads one record ahead and turns parse errors into messages with a line number. */
+    private abstract static class RecordIterator implements Iterator<Question> {
+        final BufferedReader r;
+        final String source;
+        int line;
+        private Question next;
+
+        RecordIterator(BufferedReader r, String source) {
+            this.r = r;
+            this.source = source;
+        }
+
+        /** Reads the next record's fields, or returns {@code null} at end of input. */
+        abstract Map<String, Object> readRecord() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) return true;
+            Map<String, Object> fields;
+            try {
+                fields = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (fields == null) return false;
+            try {
+                next = toQuestion(fields);
+            } catch (RuntimeException e) {
+                throw error(e.getMessage());
+            }
+            return true;
+        }
+
+        @Override
+        public Question next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Question q = next;
+            next = null;
+            return q;
+        }
+
+        IllegalArgumentException error(String msg) {
+            return new IllegalArgumentException(source + ":" + line + ": " + msg);
+        }
+    }
+
+    /** RFC 4180-style CSV with a header row. */
+    private static final class CsvIterator extends RecordIterator {
+        private String[] header;
+
+        CsvIterator(BufferedReader r, String source) { super(r, source); }
+
+        @Override
+        Map<String, Object> readRecord() throws IOException {
+            if (header == null) {
+                List<String> h = readRow();
+                if (h == null) return null;
+                header = new String[h.size()];
+                for (int i = 0; i < header.length; i++) header[i] = h.get(i).trim().toLowerCase(Locale.ROOT);
+            }
+            List<String> row;
+            do {
+                row = readRow();
+                if (row == null) return null;
+            } while (row.size() == 1 && row.get(0).isBlank());
+            if (row.size() != header.length) throw error("expected " + header.length + " fields, found " + row.size());
+
+            Map<String, Object> fields = new HashMap<>();
+            for (int i = 0; i < header.length; i++) fields.put(header[i], row.get(i));
+            return fields;
+        }
+
+        /** Reads one row, honouring quoted fields that contain commas or line breaks. */
+        private List<String> readRow() throws IOException {
+            int ch = r.read();
+            if (ch == -1) return null;
+            line++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (ch == -1) throw error("unterminated quoted field");
+                    if (ch == '"') {
+                        r.mark(1);
+                        if (r.read() == '"') field.append('"');
+                        else { r.reset(); quoted = false; }
+                    } else {
+                        if (ch == '\n') line++;
+                        field.append((char) ch);
+                    }
+                } else if (ch == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n' || ch == -1) {
+                    break;
+                } else if (ch != '\r') {
+                    field.append((char) ch);
+                }
+                ch = r.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /** One flat JSON object per line. */
+    private static final class JsonlIterator extends RecordIterator {
+        JsonlIterator(BufferedReader r, String source) { super(r, source); }
+
+        @Override
+        Map<String, Object> readRecord() throws IOException {
+            String s;
+            do {
+                s = r.readLine();
+                if (s == null) return null;
+                line++;
+            } while (s.isBlank());
+            try {
+                return new JsonObjectParser(s).parse();
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Parses a single-line JSON object whose values are strings, numbers, booleans,
+     * {@code null} or arrays of those. Nested objects are not needed for question records.
+     */
+    static final class JsonObjectParser {
+        private final String s;
+        private int pos;
+
+        JsonObjectParser(String s) { this.s = s; }
+
+        Map<String, Object> parse() {
+            Map<String, Object> out = new HashMap<>();
+            expect('{');
+            if (peek() != '}') {
+                do {
+                    String key = string();
+                    expect(':');
+                    out.put(key, value());
+                } while (consume(','));
+            }
+            expect('}');
+            if (peek() != 0) throw new IllegalArgumentException("trailing characters at column " + (pos + 1));
+            return out;
+        }
+
+        private Object value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '[') {
+                pos++;
+                List<Object> list = new ArrayList<>();
+                if (peek() != ']') {
+                    do list.add(value()); while (consume(','));
+                }
+                expect(']');
+                return list;
+            }
+            if (s.startsWith("null", pos)) { pos += 4; return null; }
+            if (s.startsWith("true", pos)) { pos += 4; return Boolean.TRUE; }
+            if (s.startsWith("false", pos)) { pos += 5; return Boolean.FALSE; }
+            int start = pos;
+            while (pos < s.length() && "+-.eE0123456789".indexOf(s.charAt(pos)) >= 0) pos++;
+            if (start == pos) throw new IllegalArgumentException("unexpected '" + c + "' at column " + (pos + 1));
+            return Double.valueOf(s.substring(start, pos));
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= s.length()) throw new IllegalArgumentException("unterminated string");
+                char c = s.charAt(pos++);
+                if (c == '"') return sb.toString();
+                if (c != '\\') { sb.append(c); continue; }
+                if (pos >= s.length()) throw new IllegalArgumentException("unterminated string");
+                char e = s.charAt(pos++);
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw new IllegalArgumentException("bad \\u escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(e); // \" \\ \/
+                }
+            }
+        }
+
+        /** Returns the next non-blank character without consuming it, or 0 at the end. */
+        private char peek() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+            return pos < s.length() ? s.charAt(pos) : 0;
+        }
+
+        private boolean consume(char c) {
+            if (peek() != c) return false;
+            pos++;
+            return true;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) throw new IllegalArgumentException("expected '" + c + "' at column " + (pos + 1));
+        }
+    }
+}
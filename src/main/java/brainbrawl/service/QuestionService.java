@@ -2,7 +2,10 @@ package brainbrawl.service;
 
 import brainbrawl.dao.QuestionDao;
 import brainbrawl.model.Question;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Provides business logic for managing quiz questions.
@@ -12,6 +15,7 @@ import java.util.List;
  */
 public class QuestionService {
     private final QuestionDao dao;
+    private final QuestionBankCache cache; // may be null
 
     /**
      * Constructs a new {@code QuestionService}.
@@ -19,7 +23,18 @@ public class QuestionService {
      * @param dao the data access object responsible for question persistence
      */
     public QuestionService(QuestionDao dao) {
+        this(dao, null);
+    }
+
+    /**
+     * Constructs a new {@code QuestionService} that keeps a {@link QuestionBankCache} up to date.
+     *
+     * @param dao the data access object responsible for question persistence
+     * @param cache the cache to patch after every add, update and delete (may be {@code null})
+     */
+    public QuestionService(QuestionDao dao, QuestionBankCache cache) {
         this.dao = dao;
+        this.cache = cache;
     }
 
     /**
@@ -30,6 +45,114 @@ public class QuestionService {
      * @throws IllegalArgumentException if any validation rule fails
      */
     public long addQuestion(Question q) {
+        validate(q);
+
+        long id = dao.create(q);
+        if (cache != null) {
+            cache.put(new Question(id, q.getCategory(), q.getText(), q.getType(), q.getOptions(), q.getCorrectIndex(), q.getDifficulty()));
+        }
+        return id;
+    }
+
+    /**
+     * Validates and bulk-inserts questions, e.g. from a {@link QuestionImporter}.
+     * <p>
+     * Questions are validated as they are read, so {@code questions} may be a lazy
+     * stream of any size. The cached banks are dropped afterwards rather than patched
+     * one question at a time.
+     *
+     * @param questions the questions to add
+     * @return the generated IDs, in iteration order
+     * @throws IllegalArgumentException if a question fails validation; questions
+     *         committed before it stay in the database
+     */
+    public List<Long> importQuestions(Iterable<Question> questions) {
+        Iterable<Question> validated = () -> new Iterator<>() {
+            private final Iterator<Question> it = questions.iterator();
+            private long n;
+
+            @Override public boolean hasNext() { return it.hasNext(); }
+
+            @Override public Question next() {
+                Question q = it.next();
+                n++;
+                try {
+                    validate(q);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Question " + n + ": " + e.getMessage(), e);
+                }
+                return q;
+            }
+        };
+        try {
+            return dao.createAll(validated);
+        } finally {
+            if (cache != null) cache.clear();
+        }
+    }
+
+    /**
+     * Retrieves all questions from the database.
+     *
+     * @return a list of all stored {@link Question} objects
+     */
+    public List<Question> listAll() { return dao.findAll(); }
+
+    /**
+     * Reads one page of questions for the admin table.
+     *
+     * @param afterId the last ID of the previous page, or {@code 0} for the first page
+     * @param limit the page size
+     * @return up to {@code limit} questions with an ID greater than {@code afterId}, in ID order
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public List<Question> page(long afterId, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Page size must be positive");
+        return dao.findPage(afterId, limit);
+    }
+
+    /**
+     * Streams all questions in ID order without loading them all into memory.
+     *
+     * @return a lazy stream of questions; must be closed, e.g. with try-with-resources
+     */
+    public Stream<Question> streamAll() { return dao.streamAll(); }
+
+    /**
+     * Draws a random quiz of {@code count} questions from one category and difficulty.
+     *
+     * @param category the quiz category (e.g. "General")
+     * @param difficulty the difficulty level
+     * @param count how many questions the quiz needs
+     * @return up to {@code count} random questions
+     * @throws IllegalArgumentException if {@code count} is not positive
+     */
+    public List<Question> randomQuiz(String category, int difficulty, int count) {
+        return randomQuiz(category, difficulty, count, List.of());
+    }
+
+    /**
+     * Draws a random quiz, skipping questions the player has already seen.
+     *
+     * @param category the quiz category (e.g. "General")
+     * @param difficulty the difficulty level
+     * @param count how many questions the quiz needs
+     * @param seenIds IDs of questions to leave out
+     * @return up to {@code count} random questions, none of them in {@code seenIds}
+     * @throws IllegalArgumentException if {@code count} is not positive
+     */
+    public List<Question> randomQuiz(String category, int difficulty, int count, Collection<Long> seenIds) {
+        if (count <= 0) throw new IllegalArgumentException("Question count must be positive");
+        return dao.findRandom(category, difficulty, count, seenIds);
+    }
+
+    /**
+     * Checks the rules every stored question must satisfy.
+     *
+     * @param q the question to check
+     * @throws IllegalArgumentException if any validation rule fails
+     */
+    private static void validate(Question q) {
         if (q.getCategory() == null || q.getCategory().isBlank())
             throw new IllegalArgumentException("Category required");
         if (q.getText() == null || q.getText().isBlank())
@@ -48,17 +171,8 @@ public class QuestionService {
                 // No extra validation needed for short-answer questions
             }
         }
-
-        return dao.create(q);
     }
 
-    /**
-     * Retrieves all questions from the database.
-     *
-     * @return a list of all stored {@link Question} objects
-     */
-    public List<Question> listAll() { return dao.findAll(); }
-
     /**
      * Updates an existing question in the database.
      *
@@ -68,7 +182,9 @@ public class QuestionService {
      */
     public boolean updateQuestion(Question q) {
         if (q.getId() == null) throw new IllegalArgumentException("ID required for update");
-        return dao.update(q);
+        boolean updated = dao.update(q);
+        if (updated && cache != null) cache.put(q);
+        return updated;
     }
 
     /**
@@ -77,5 +193,9 @@ public class QuestionService {
      * @param id the unique ID of the question to delete
      * @return {@code true} if the deletion succeeded, {@code false} otherwise
      */
-    public boolean deleteQuestion(long id) { return dao.deleteById(id); }
+    public boolean deleteQuestion(long id) {
+        boolean deleted = dao.deleteById(id);
+        if (deleted && cache != null) cache.remove(id);
+        return deleted;
+    }
 }
@@ -2,24 +2,59 @@ package brainbrawl.service;
 
 import brainbrawl.dao.ResultDao;
 import brainbrawl.model.GameResult;
+import brainbrawl.model.UserStats;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Handles logic related to quiz result management.
  * <p>
  * Provides methods for saving completed game results and
  * retrieving recent player results.
+ * <p>
+ * When constructed with a queue capacity, {@link #saveAsync(GameResult)} hands results
+ * to a {@link ResultWriteBehind} queue so the quiz screens never wait for the database.
+ * {@link #recent(int)} still includes results that are queued but not yet written, so
+ * the history stays read-your-writes consistent.
+ * <p>
+ * Listeners added with {@link #addSaveListener(Consumer)} hear about every result once it
+ * has been stored; in-memory views such as the {@link Leaderboard} are kept current that way.
  */
-public class ResultService {
+public class ResultService implements AutoCloseable {
     private final ResultDao dao;
+    /** Write-behind queue, or {@code null} when every save is synchronous. */
+    private final ResultWriteBehind writeBehind;
+    private final List<Consumer<GameResult>> saveListeners = new CopyOnWriteArrayList<>();
 
     /**
-     * Constructs a new {@code ResultService}.
+     * Constructs a new {@code ResultService} that saves synchronously.
      *
      * @param dao the data access object responsible for result persistence
      */
-    public ResultService(ResultDao dao) { this.dao = dao; }
+    public ResultService(ResultDao dao) {
+        this.dao = dao;
+        this.writeBehind = null;
+    }
+
+    /**
+     * Constructs a new {@code ResultService} backed by a write-behind queue.
+     *
+     * @param dao the data access object responsible for result persistence
+     * @param queueCapacity the maximum number of results waiting to be written
+     * @param policy what {@link #saveAsync(GameResult)} does when the queue is full
+     */
+    public ResultService(ResultDao dao, int queueCapacity, ResultWriteBehind.OverflowPolicy policy) {
+        this.dao = dao;
+        this.writeBehind = new ResultWriteBehind(dao, queueCapacity, policy);
+    }
 
     /**
      * Saves a completed game result to the database.
@@ -27,13 +62,153 @@ public class ResultService {
      * @param r the {@link GameResult} to save
      * @return the generated database ID of the saved result
      */
-    public long save(GameResult r) { return dao.create(r); }
+    public long save(GameResult r) {
+        GameResult stamped = stamped(r);
+        long id = dao.create(stamped);
+        saved(stamped.withId(id));
+        return id;
+    }
+
+    /** Fixes a result's completion time now, so listeners and the database agree on it. */
+    private static GameResult stamped(GameResult r) {
+        return r.getCreatedAtMillis() > 0 ? r : r.stampedAt(System.currentTimeMillis());
+    }
 
     /**
-     * Retrieves a list of the most recent results.
+     * Registers a callback run after each result is stored. It runs on the thread that
+     * stored the result, before the future from {@link #saveAsync(GameResult)} completes,
+     * so it should be quick.
+     *
+     * @param listener receives each stored result, with its ID and completion time
+     */
+    public void addSaveListener(Consumer<GameResult> listener) {
+        saveListeners.add(listener);
+    }
+
+    private void saved(GameResult r) {
+        for (Consumer<GameResult> l : saveListeners) {
+            try {
+                l.accept(r);
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // the result is stored; don't fail the save
+            }
+        }
+    }
+
+    /**
+     * Saves a completed game result without waiting for the database.
+     * <p>
+     * Without a write-behind queue the result is saved before this method returns.
+     *
+     * @param r the {@link GameResult} to save
+     * @return a future completed with the generated ID, or exceptionally if the save failed
+     */
+    public CompletableFuture<Long> saveAsync(GameResult r) {
+        if (writeBehind != null) {
+            GameResult stamped = stamped(r);
+            return writeBehind.submit(stamped).thenApply(id -> { saved(stamped.withId(id)); return id; });
+        }
+        try {
+            return CompletableFuture.completedFuture(save(r));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Retrieves a list of the most recent results, including any still waiting to be written.
      *
      * @param limit the maximum number of results to return
      * @return a list of recent {@link GameResult} objects
      */
-    public List<GameResult> recent(int limit) { return dao.findRecent(limit); }
-}
\ No newline at end of file
+    public List<GameResult> recent(int limit) {
+        if (writeBehind == null) return dao.findRecent(limit);
+
+        // snapshot first: anything committed after this point is then found by the query
+        List<ResultWriteBehind.Pending> pending = writeBehind.unsavedSnapshot();
+        return merge(pending, dao.findRecent(limit), limit);
+    }
+
+    /**
+     * Retrieves one player's most recent results, including any still waiting to be written.
+     *
+     * @param userId the player's ID
+     * @param limit the maximum number of results to return
+     * @return that player's recent {@link GameResult} objects, newest first
+     */
+    public List<GameResult> recentForUser(long userId, int limit) {
+        if (writeBehind == null) return dao.findRecentForUser(userId, limit);
+
+        List<ResultWriteBehind.Pending> pending = new ArrayList<>();
+        for (ResultWriteBehind.Pending p : writeBehind.unsavedSnapshot()) {
+            if (Objects.equals(p.result.getUserId(), userId)) pending.add(p);
+        }
+        return merge(pending, dao.findRecentForUser(userId, limit), limit);
+    }
+
+    /**
+     * Retrieves a player's aggregated statistics from the rollup table. Results still in
+     * the write-behind queue are counted once they are written, normally within milliseconds.
+     *
+     * @param userId the player's ID
+     * @return one {@link UserStats} per category and difficulty played
+     */
+    public List<UserStats> statsForUser(long userId) {
+        return dao.findStatsForUser(userId);
+    }
+
+    /** Identifies a result without its ID: queued results are stamped, so this is unique per game. */
+    private record GameKey(Long userId, String category, long createdAtMillis) {
+        static GameKey of(GameResult r) {
+            return new GameKey(r.getUserId(), r.getCategory(), r.getCreatedAtMillis());
+        }
+    }
+
+    /**
+     * Puts queued results ahead of stored ones, skipping any that were stored in between.
+     * <p>
+     * A batch can commit after the snapshot was taken but before its entries get their IDs,
+     * so a queued result without an ID is matched against stored ones by player, category
+     * and completion time instead.
+     */
+    private static List<GameResult> merge(List<ResultWriteBehind.Pending> pending, List<GameResult> stored, int limit) {
+        if (pending.isEmpty()) return stored;
+
+        Set<Long> storedIds = new HashSet<>();
+        Set<GameKey> storedKeys = new HashSet<>();
+        for (GameResult r : stored) {
+            storedIds.add(r.getId());
+            storedKeys.add(GameKey.of(r));
+        }
+        List<GameResult> merged = new ArrayList<>(limit);
+        for (ResultWriteBehind.Pending p : pending) {
+            if (merged.size() == limit) return merged;
+            boolean alreadyStored = p.id != 0 ? storedIds.contains(p.id) : storedKeys.contains(GameKey.of(p.result));
+            if (!alreadyStored) merged.add(p.result);
+        }
+        for (GameResult r : stored) {
+            if (merged.size() == limit) break;
+            merged.add(r);
+        }
+        return merged;
+    }
+
+    /**
+     * Waits until every result passed to {@link #saveAsync(GameResult)} has been written.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if everything was written, {@code false} on timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        return writeBehind == null || writeBehind.flush(timeout, unit);
+    }
+
+    /**
+     * Writes any queued results and stops the background writer.
+     */
+    @Override
+    public void close() {
+        if (writeBehind != null) writeBehind.close();
+    }
+}
@@ -0,0 +1,212 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.ResultDao;
+import brainbrawl.model.GameResult;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous write-behind queue for {@link GameResult}s.
+ * <p>
+ * {@link #submit(GameResult)} stamps the result, puts it on a bounded queue and returns
+ * immediately with a future for its database ID. A single background thread drains the
+ * queue and inserts whatever has accumulated (up to {@link #MAX_BATCH} results) in one
+ * transaction through {@link ResultDao#createAll(List)}. If a batch fails, its results
+ * are retried one by one so a single bad row can't take the others down with it.
+ * <p>
+ * When the queue is full the configured {@link OverflowPolicy} decides what happens.
+ * {@link #close()} flushes everything still queued before the writer stops.
+ */
+public class ResultWriteBehind implements AutoCloseable {
+
+    /** What {@link #submit(GameResult)} does when the queue is full. */
+    public enum OverflowPolicy {
+        /** Wait for space in the queue. */
+        BLOCK,
+        /** Write the result synchronously on the submitting thread. */
+        CALLER_RUNS,
+        /** Fail the returned future with a {@link RejectedExecutionException}. */
+        REJECT
+    }
+
+    /** Largest number of results written in one transaction. */
+    static final int MAX_BATCH = 256;
+
+    private final ResultDao dao;
+    private final OverflowPolicy policy;
+    private final BlockingQueue<Pending> queue;
+    /** Every submitted result that hasn't been committed yet, oldest first. */
+    private final ConcurrentLinkedDeque<Pending> unsaved = new ConcurrentLinkedDeque<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /** A result waiting to be written, together with its completion future. */
+    static final class Pending {
+        final GameResult result;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        /** Database ID once committed, 0 before. */
+        volatile long id;
+
+        Pending(GameResult result) { this.result = result; }
+    }
+
+    /**
+     * Creates the queue and starts its background writer thread.
+     *
+     * @param dao the DAO used to insert results
+     * @param capacity the maximum number of results waiting to be written
+     * @param policy what to do when the queue is full
+     */
+    public ResultWriteBehind(ResultDao dao, int capacity, OverflowPolicy policy) {
+        this.dao = dao;
+        this.policy = policy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drainLoop, "result-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a result for writing.
+     *
+     * @param r the result to save; stamped with the current time if it has none
+     * @return a future completed with the generated ID once the result is committed
+     */
+    public CompletableFuture<Long> submit(GameResult r) {
+        Pending p = new Pending(r.getCreatedAtMillis() > 0 ? r : r.stampedAt(System.currentTimeMillis()));
+        if (!running) {
+            writeNow(p);
+            return p.future;
+        }
+
+        unsaved.addLast(p);
+        if (queue.offer(p)) {
+            // lost a race with close(): the writer may already be gone
+            if (!running && queue.remove(p)) writeNow(p);
+            return p.future;
+        }
+
+        switch (policy) {
+            case BLOCK -> {
+                try {
+                    queue.put(p);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(p, e);
+                }
+            }
+            case CALLER_RUNS -> writeNow(p);
+            case REJECT -> fail(p, new RejectedExecutionException("Result queue is full"));
+        }
+        return p.future;
+    }
+
+    /**
+     * Returns the results that have been submitted but not yet committed, newest first.
+     * An entry may be committed while the caller looks at it; its {@code id} is then set.
+     *
+     * @return a snapshot of the unsaved results
+     */
+    List<Pending> unsavedSnapshot() {
+        List<Pending> out = new ArrayList<>();
+        for (Iterator<Pending> it = unsaved.descendingIterator(); it.hasNext(); ) out.add(it.next());
+        return out;
+    }
+
+    /**
+     * Waits until every result submitted before this call has been written (or has failed).
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if everything was written, {@code false} on timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        CompletableFuture<?>[] waits = unsaved.stream()
+                .map(p -> p.future.handle((id, ex) -> null))
+                .toArray(CompletableFuture[]::new);
+        if (waits.length == 0) return true;
+        try {
+            CompletableFuture.allOf(waits).get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting queued work, writes everything still pending and stops the writer.
+     * Results submitted afterwards are written synchronously.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------------------------------------------------------------- writer thread
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+        // anything offered after the final poll
+        Pending p;
+        while ((p = queue.poll()) != null) writeNow(p);
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        List<GameResult> results = new ArrayList<>(batch.size());
+        for (Pending p : batch) results.add(p.result);
+        try {
+            List<Long> ids = dao.createAll(results);
+            for (int i = 0; i < batch.size(); i++) complete(batch.get(i), ids.get(i));
+        } catch (RuntimeException e) {
+            for (Pending p : batch) writeNow(p);
+        }
+    }
+
+    private void writeNow(Pending p) {
+        try {
+            complete(p, dao.create(p.result));
+        } catch (RuntimeException e) {
+            fail(p, e);
+        }
+    }
+
+    private void complete(Pending p, long id) {
+        p.id = id;
+        unsaved.remove(p);
+        p.future.complete(id);
+    }
+
+    private void fail(Pending p, Throwable t) {
+        unsaved.remove(p);
+        p.future.completeExceptionally(t);
+    }
+}
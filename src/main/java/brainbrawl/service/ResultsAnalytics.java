@@ -0,0 +1,323 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.ResultDao;
+import brainbrawl.db.Db;
+import brainbrawl.model.GameResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Day-by-day result totals for trend charts, per player and for everyone.
+ * <p>
+ * Each series stores one bucket per calendar day in parallel {@code int} arrays (games,
+ * correct answers, questions, seconds allowed), so a year of history is four arrays of 365
+ * numbers and a {@link #daily} or {@link #weekly} query is a loop over a slice of them — no
+ * timestamps are parsed when a chart is drawn.
+ * <p>
+ * The buckets are persisted to a small binary file together with the highest result ID they
+ * include and how many results they hold. {@link #load()} reads that file and then folds in
+ * only the results stored after it, so startup cost doesn't grow with the size of the history.
+ * The file is only trusted if the database holds exactly that many results up to that ID;
+ * otherwise (a replaced database, or a result that was stored but never folded in before a
+ * crash) everything is rebuilt. New results are added as they are
+ * saved ({@link #record}, registered as a {@link ResultService} save listener), and
+ * {@link #save()} writes the file at shutdown. A missing or unreadable file just means a full
+ * rebuild from the {@code results} table.
+ * <p>
+ * Days are calendar days in the zone given to the constructor.
+ */
+public class ResultsAnalytics {
+
+    /** Series key for results of all players together. */
+    private static final long ALL_PLAYERS = 0L;
+    /** File format marker, "BBA2". */
+    private static final int MAGIC = 0x42424132;
+    /** Results read per query while catching up. */
+    private static final int CATCH_UP_PAGE = 5_000;
+
+    private final ResultDao dao;
+    private final Path file;
+    private final ZoneId zone;
+    private final Map<Long, DailySeries> series = new ConcurrentHashMap<>();
+    /** Highest result ID folded in; guarded by {@code this}. */
+    private long lastResultId;
+    /** Number of stored results folded in; guarded by {@code this}. */
+    private long resultCount;
+
+    /**
+     * Creates empty analytics; call {@link #load()} to fill them.
+     *
+     * @param dao where missing results are read from
+     * @param file where the buckets are persisted
+     * @param zone the time zone that decides which day a result belongs to
+     */
+    public ResultsAnalytics(ResultDao dao, Path file, ZoneId zone) {
+        this.dao = dao;
+        this.file = file;
+        this.zone = zone;
+    }
+
+    /**
+     * Picks a file next to the SQLite database, e.g. {@code brainbrawl.db.analytics}.
+     *
+     * @return the default analytics file for the current {@link Db#url()}
+     */
+    public static Path defaultFile() {
+        String url = Db.url();
+        String db = url.startsWith("jdbc:sqlite:") ? url.substring("jdbc:sqlite:".length()) : "brainbrawl.db";
+        return Path.of(db + ".analytics");
+    }
+
+    /** The totals for one day range, bucketed by one or seven days. */
+    public static final class Series {
+        private final LocalDate start;
+        private final int bucketDays;
+        private final int[] games;
+        private final int[] correct;
+        private final int[] questions;
+        private final long[] seconds;
+
+        private Series(LocalDate start, int bucketDays, int buckets) {
+            this.start = start;
+            this.bucketDays = bucketDays;
+            this.games = new int[buckets];
+            this.correct = new int[buckets];
+            this.questions = new int[buckets];
+            this.seconds = new long[buckets];
+        }
+
+        /** @return the number of buckets */
+        public int size() { return games.length; }
+        /** @param i bucket index @return the first day of bucket {@code i} */
+        public LocalDate startOf(int i) { return start.plusDays((long) i * bucketDays); }
+        /** @param i bucket index @return games finished in bucket {@code i} */
+        public int games(int i) { return games[i]; }
+        /** @param i bucket index @return correct answers in bucket {@code i} */
+        public int correct(int i) { return correct[i]; }
+        /** @param i bucket index @return questions asked in bucket {@code i} */
+        public int questions(int i) { return questions[i]; }
+        /** @param i bucket index @return share of correct answers, or 0 without games */
+        public double accuracy(int i) { return questions[i] == 0 ? 0 : (double) correct[i] / questions[i]; }
+        /** @param i bucket index @return average seconds allowed per question, or 0 without games */
+        public double avgSecondsPerQuestion(int i) { return questions[i] == 0 ? 0 : (double) seconds[i] / questions[i]; }
+    }
+
+    /** Columnar day buckets from {@code firstDay} on. Methods synchronise on the series. */
+    private static final class DailySeries {
+        int firstDay;
+        int length;
+        int[] games = new int[0];
+        int[] correct = new int[0];
+        int[] questions = new int[0];
+        int[] seconds = new int[0];
+
+        synchronized void add(int day, int score, int total, int secondsAllowed) {
+            int i = slot(day);
+            games[i]++;
+            correct[i] += score;
+            questions[i] += total;
+            seconds[i] += secondsAllowed;
+        }
+
+        /** Makes room for {@code day} and returns its index, growing the arrays at either end. */
+        private int slot(int day) {
+            if (length == 0) {
+                firstDay = day;
+                resize(0, 1);
+            } else if (day < firstDay) {
+                resize(firstDay - day, length + firstDay - day);
+                firstDay = day;
+            } else if (day - firstDay >= length) {
+                resize(0, day - firstDay + 1);
+            }
+            return day - firstDay;
+        }
+
+        /** Moves the data {@code shift} slots to the right and sets the length to {@code newLength}. */
+        private void resize(int shift, int newLength) {
+            if (shift > 0 || newLength > games.length) {
+                int capacity = Math.max(newLength, Math.max(16, games.length * 2));
+                games = grow(games, shift, capacity);
+                correct = grow(correct, shift, capacity);
+                questions = grow(questions, shift, capacity);
+                seconds = grow(seconds, shift, capacity);
+            }
+            length = newLength;
+        }
+
+        private int[] grow(int[] a, int shift, int capacity) {
+            int[] b = new int[capacity];
+            System.arraycopy(a, 0, b, shift, length);
+            return b;
+        }
+
+        synchronized void sumInto(Series out, int fromDay, int bucketDays) {
+            int lo = Math.max(fromDay, firstDay);
+            int hi = Math.min(fromDay + out.size() * bucketDays, firstDay + length); // exclusive
+            for (int day = lo; day < hi; day++) {
+                int i = day - firstDay;
+                int b = (day - fromDay) / bucketDays;
+                out.games[b] += games[i];
+                out.correct[b] += correct[i];
+                out.questions[b] += questions[i];
+                out.seconds[b] += seconds[i];
+            }
+        }
+
+        synchronized void write(DataOutputStream out) throws IOException {
+            out.writeInt(firstDay);
+            out.writeInt(length);
+            for (int[] col : new int[][] {games, correct, questions, seconds}) {
+                for (int i = 0; i < length; i++) out.writeInt(col[i]);
+            }
+        }
+
+        static DailySeries read(DataInputStream in) throws IOException {
+            DailySeries s = new DailySeries();
+            s.firstDay = in.readInt();
+            s.length = in.readInt();
+            if (s.length < 0) throw new IOException("corrupt analytics file");
+            int[][] cols = new int[4][s.length];
+            for (int[] col : cols) {
+                for (int i = 0; i < s.length; i++) col[i] = in.readInt();
+            }
+            s.games = cols[0];
+            s.correct = cols[1];
+            s.questions = cols[2];
+            s.seconds = cols[3];
+            return s;
+        }
+    }
+
+    /**
+     * Reads the persisted buckets, if any, then folds in every result stored since.
+     */
+    public synchronized void load() {
+        series.clear();
+        lastResultId = 0;
+        resultCount = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("not an analytics file");
+            long last = in.readLong();
+            long results = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long key = in.readLong();
+                series.put(key, DailySeries.read(in));
+            }
+            if (dao.countUpTo(last) != results) {
+                System.err.println("WARN: rebuilding analytics, " + file + " does not match the database");
+                series.clear();
+            } else {
+                lastResultId = last;
+                resultCount = results;
+            }
+        } catch (NoSuchFileException e) {
+            // first run: everything comes from the database below
+        } catch (IOException e) {
+            System.err.println("WARN: rebuilding analytics, " + file + " unreadable: " + e.getMessage());
+            series.clear();
+        }
+
+        List<GameResult> page;
+        do {
+            page = dao.findAfterId(lastResultId, CATCH_UP_PAGE);
+            for (GameResult r : page) record(r);
+        } while (page.size() == CATCH_UP_PAGE);
+    }
+
+    /**
+     * Adds one stored result to its day, for its player and for everyone.
+     *
+     * @param r the result; its timestamp decides the day
+     */
+    public void record(GameResult r) {
+        long millis = r.getCreatedAtMillis() > 0 ? r.getCreatedAtMillis() : System.currentTimeMillis();
+        int day = (int) Instant.ofEpochMilli(millis).atZone(zone).toLocalDate().toEpochDay();
+        int secondsAllowed = r.getSecondsPerQuestion() * r.getTotal();
+        series.computeIfAbsent(ALL_PLAYERS, k -> new DailySeries()).add(day, r.getScore(), r.getTotal(), secondsAllowed);
+        if (r.getUserId() != null) {
+            series.computeIfAbsent(r.getUserId(), k -> new DailySeries()).add(day, r.getScore(), r.getTotal(), secondsAllowed);
+        }
+        if (r.getId() != null) {
+            synchronized (this) {
+                lastResultId = Math.max(lastResultId, r.getId());
+                resultCount++;
+            }
+        }
+    }
+
+    /**
+     * Returns one bucket per day.
+     *
+     * @param userId the player, or {@code null} for everyone
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return the daily totals; days without games are zero
+     */
+    public Series daily(Long userId, LocalDate from, LocalDate to) {
+        return range(userId, from, to, 1);
+    }
+
+    /**
+     * Returns one bucket per seven days, starting at {@code from}.
+     *
+     * @param userId the player, or {@code null} for everyone
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive (the last week may run past it)
+     * @return the weekly totals
+     */
+    public Series weekly(Long userId, LocalDate from, LocalDate to) {
+        return range(userId, from, to, 7);
+    }
+
+    private Series range(Long userId, LocalDate from, LocalDate to, int bucketDays) {
+        int fromDay = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - fromDay + 1);
+        if (days <= 0) throw new IllegalArgumentException("to is before from");
+        Series out = new Series(from, bucketDays, (days + bucketDays - 1) / bucketDays);
+        DailySeries s = series.get(userId == null ? ALL_PLAYERS : userId);
+        if (s != null) s.sumInto(out, fromDay, bucketDays);
+        return out;
+    }
+
+    /**
+     * Writes the buckets to the analytics file, replacing it atomically.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeLong(lastResultId);
+            out.writeLong(resultCount);
+            List<Map.Entry<Long, DailySeries>> entries = new ArrayList<>(series.entrySet());
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, DailySeries> e : entries) {
+                out.writeLong(e.getKey());
+                e.getValue().write(out);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
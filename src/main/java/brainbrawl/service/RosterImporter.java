@@ -0,0 +1,116 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.ProvisionReport;
+import brainbrawl.db.Db;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates accounts for a whole class or school from a roster file.
+ * <p>
+ * The roster is plain text with one {@code username,password} pair per line. Everything
+ * after the first comma is the password, so passwords may contain commas. Blank lines, lines
+ * starting with {@code #} and an optional {@code username,password} header are ignored.
+ * <p>
+ * Lines with an invalid username or a password shorter than
+ * {@value AuthService#MIN_PASSWORD_LENGTH} characters are reported and skipped; the rest are
+ * handed to {@link AuthService#provisionUsers(List)}, which hashes the passwords on every core
+ * and inserts the accounts in batched transactions. Usernames that are already taken are
+ * reported without stopping the import.
+ * <p>
+ * Can be run from the command line:
+ * <pre>java brainbrawl.service.RosterImporter roster.csv [jdbc:sqlite:other.db]</pre>
+ * <p>
+ * This class is a utility class and cannot be instantiated.
+ */
+public final class RosterImporter {
+
+    /** Private constructor to prevent instantiation. */
+    private RosterImporter() {}
+
+    /**
+     * Provisions every valid account in a roster file.
+     *
+     * @param file the roster
+     * @param auth the service that creates the accounts
+     * @param rejected receives one message per skipped line, with its line number
+     * @return the accounts created and the usernames that were already taken
+     * @throws IOException if the file cannot be read
+     */
+    public static ProvisionReport provisionFile(Path file, AuthService auth, List<String> rejected) throws IOException {
+        List<Map.Entry<String, String>> accounts;
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            accounts = parse(r, file.getFileName().toString(), rejected);
+        }
+        return auth.provisionUsers(accounts);
+    }
+
+    /**
+     * Reads the accounts in a roster.
+     *
+     * @param r the reader to parse; the caller closes it
+     * @param source a name used in messages
+     * @param rejected receives one message per skipped line
+     * @return the valid username and password pairs, in file order
+     * @throws IOException if reading fails
+     */
+    static List<Map.Entry<String, String>> parse(BufferedReader r, String source, List<String> rejected)
+            throws IOException {
+        List<Map.Entry<String, String>> accounts = new ArrayList<>();
+        String text;
+        int line = 0;
+        while ((text = r.readLine()) != null) {
+            line++;
+            if (text.isBlank() || text.startsWith("#")) continue;
+            if (line == 1 && text.trim().equalsIgnoreCase("username,password")) continue;
+
+            int comma = text.indexOf(',');
+            String username = (comma < 0 ? text : text.substring(0, comma)).trim();
+            String password = comma < 0 ? "" : text.substring(comma + 1);
+            if (!AuthService.USERNAME_PATTERN.matcher(username).matches()) {
+                rejected.add(source + ":" + line + ": invalid username '" + username + "'");
+            } else if (password.length() < AuthService.MIN_PASSWORD_LENGTH) {
+                rejected.add(source + ":" + line + ": password for '" + username + "' is shorter than "
+                        + AuthService.MIN_PASSWORD_LENGTH + " characters");
+            } else {
+                accounts.add(Map.entry(username, password));
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * Command-line entry point.
+     *
+     * @param args the roster file, optionally followed by a JDBC URL
+     * @throws IOException if the file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: RosterImporter <roster.csv> [jdbc-url]");
+            System.exit(2);
+        }
+        if (args.length == 2) Db.use(args[1]);
+        Db.init();
+        long start = System.nanoTime();
+        try {
+            List<String> rejected = new ArrayList<>();
+            ProvisionReport report = provisionFile(Path.of(args[0]), AppServices.auth(), rejected);
+            double secs = (System.nanoTime() - start) / 1e9;
+            for (String msg : rejected) System.err.println("Skipped " + msg);
+            for (String name : report.getDuplicates()) System.err.println("Skipped duplicate username '" + name + "'");
+            System.out.printf("Created %,d accounts in %.2f s (%,.0f/s); %,d duplicates, %,d invalid lines%n",
+                    report.getCreated().size(), secs, report.getCreated().size() / secs,
+                    report.getDuplicates().size(), rejected.size());
+        } finally {
+            Db.shutdown();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package brainbrawl.service;
+
+import brainbrawl.model.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, expiring in-memory store of login sessions.
+ * <p>
+ * {@link #issue(User)} returns an opaque random token; {@link #validate(String)} maps it back to
+ * the user without touching the database or the password hasher. A session ends when
+ * <ul>
+ *   <li>it hasn't been used for the idle timeout (each successful validation extends it),</li>
+ *   <li>it is older than the absolute lifetime, however active it is,</li>
+ *   <li>the cache is full and it is the least recently used session, or</li>
+ *   <li>it is {@link #invalidate(String) invalidated}, e.g. on logout.</li>
+ * </ul>
+ * To serve many sessions at once (say a whole classroom on one server) the cache is split into
+ * {@value #SEGMENTS} segments by token hash. Each segment is an access-ordered
+ * {@link LinkedHashMap} with its own lock, so LRU order is exact within a segment and
+ * threads working on different segments never contend. Because access order puts the idlest
+ * sessions first, expired ones are swept from the head of a segment whenever it is written.
+ */
+public class SessionCache {
+
+    /** Number of independently locked segments; a power of two. */
+    static final int SEGMENTS = 16;
+    /** Default maximum number of live sessions. */
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+    /** Default idle timeout. */
+    public static final long DEFAULT_IDLE_MINUTES = 30;
+    /** Default absolute session lifetime. */
+    public static final long DEFAULT_MAX_AGE_HOURS = 12;
+
+    private static final SecureRandom RNG = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long idleNanos;
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+
+    /** One live session. Mutable fields are guarded by the owning segment's lock. */
+    private static final class Session {
+        final User user;
+        final long createdAt;
+        long lastUsed;
+
+        Session(User user, long now) {
+            this.user = user;
+            this.createdAt = now;
+            this.lastUsed = now;
+        }
+    }
+
+    /** An access-ordered map that drops its least recently used entry when over capacity. */
+    private static final class Segment extends LinkedHashMap<String, Session> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * Creates a cache with the default size and timeouts.
+     */
+    public SessionCache() {
+        this(DEFAULT_MAX_SESSIONS, TimeUnit.MINUTES.toNanos(DEFAULT_IDLE_MINUTES),
+                TimeUnit.HOURS.toNanos(DEFAULT_MAX_AGE_HOURS), System::nanoTime);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSessions the maximum number of live sessions (spread evenly over the segments)
+     * @param idle how long an unused session stays valid
+     * @param maxAge how long any session stays valid
+     * @param unit the unit of {@code idle} and {@code maxAge}
+     */
+    public SessionCache(int maxSessions, long idle, long maxAge, TimeUnit unit) {
+        this(maxSessions, unit.toNanos(idle), unit.toNanos(maxAge), System::nanoTime);
+    }
+
+    /** Full constructor; {@code clock} returns nanoseconds and is replaced in tests. */
+    SessionCache(int maxSessions, long idleNanos, long maxAgeNanos, LongSupplier clock) {
+        if (maxSessions < SEGMENTS) throw new IllegalArgumentException("maxSessions must be at least " + SEGMENTS);
+        this.idleNanos = idleNanos;
+        this.maxAgeNanos = maxAgeNanos;
+        this.clock = clock;
+        for (int i = 0; i < SEGMENTS; i++) segments[i] = new Segment(maxSessions / SEGMENTS);
+    }
+
+    /**
+     * Starts a session for a user who has just authenticated.
+     *
+     * @param user the authenticated user
+     * @return a new opaque session token
+     */
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RNG.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        long now = clock.getAsLong();
+        Segment seg = segmentFor(token);
+        synchronized (seg) {
+            sweep(seg, now);
+            seg.put(token, new Session(user, now));
+        }
+        return token;
+    }
+
+    /**
+     * Looks up a session and, if it is still valid, marks it as used.
+     *
+     * @param token the token from {@link #issue(User)}; may be {@code null}
+     * @return the session's user, or empty if the token is unknown or expired
+     */
+    public Optional<User> validate(String token) {
+        if (token == null) return Optional.empty();
+        long now = clock.getAsLong();
+        Segment seg = segmentFor(token);
+        synchronized (seg) {
+            Session s = seg.get(token); // moves it to the most recently used end
+            if (s == null) return Optional.empty();
+            if (expired(s, now)) {
+                seg.remove(token);
+                return Optional.empty();
+            }
+            s.lastUsed = now;
+            return Optional.of(s.user);
+        }
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param token the session token; unknown tokens are ignored
+     */
+    public void invalidate(String token) {
+        if (token == null) return;
+        Segment seg = segmentFor(token);
+        synchronized (seg) { seg.remove(token); }
+    }
+
+    /**
+     * Ends every session of one user, e.g. after a password change.
+     *
+     * @param userId the user's ID
+     * @return the number of sessions ended
+     */
+    public int invalidateUser(long userId) {
+        int n = 0;
+        for (Segment seg : segments) {
+            synchronized (seg) {
+                for (Iterator<Session> it = seg.values().iterator(); it.hasNext(); ) {
+                    if (it.next().user.getId() == userId) { it.remove(); n++; }
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Counts live sessions, dropping expired ones on the way.
+     *
+     * @return the number of sessions that are still valid
+     */
+    public int size() {
+        long now = clock.getAsLong();
+        int n = 0;
+        for (Segment seg : segments) {
+            synchronized (seg) {
+                seg.values().removeIf(s -> expired(s, now));
+                n += seg.size();
+            }
+        }
+        return n;
+    }
+
+    private boolean expired(Session s, long now) {
+        return now - s.lastUsed >= idleNanos || now - s.createdAt >= maxAgeNanos;
+    }
+
+    /** Drops idle sessions from the head of a segment. Caller holds its lock. */
+    private void sweep(Segment seg, long now) {
+        for (Iterator<Session> it = seg.values().iterator(); it.hasNext(); ) {
+            Session s = it.next();
+            if (now - s.lastUsed < idleNanos) break; // the rest were used more recently
+            it.remove();
+        }
+    }
+
+    private Segment segmentFor(String token) {
+        int h = token.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+}
@@ -0,0 +1,26 @@
+package brainbrawl.service;
+
+/**
+ * Thrown by {@link AuthService} when a login attempt is rejected by the {@link LoginThrottle}.
+ * <p>
+ * No database query or password hashing has been done when this is thrown.
+ */
+public class TooManyAttemptsException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final long retryAfterMillis;
+
+    /**
+     * Constructs a new {@code TooManyAttemptsException}.
+     *
+     * @param retryAfterMillis how long until another attempt will be accepted
+     */
+    public TooManyAttemptsException(long retryAfterMillis) {
+        super("Too many login attempts; try again in " + Math.max(1, (retryAfterMillis + 999) / 1000) + " s");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /** @return how long until another attempt will be accepted, in milliseconds */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
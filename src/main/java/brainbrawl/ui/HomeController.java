@@ -1,7 +1,10 @@
 package brainbrawl.ui;
 
 import brainbrawl.model.GameResult;
+import brainbrawl.model.UserStats;
+import brainbrawl.quiz.QuizSession;
 import brainbrawl.service.AppServices;
+import brainbrawl.service.ResultsAnalytics;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -9,10 +12,16 @@ import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -88,18 +97,89 @@ public class HomeController {
     }
 
     /**
-     * Placeholder handler for "More Insights" action.
+     * Shows the logged-in player's statistics and leaderboard rank per category and difficulty.
+     * <p>
+     * Reads the precomputed rollup (a few rows per player) and the in-memory leaderboard,
+     * so it opens instantly regardless of how many games have been played.
      *
      * @param e the action event triggered by clicking the Insights button
      */
-    @FXML private void onMoreInsights(ActionEvent e) { System.out.println("Go -> Insights / Stats"); }
+    @FXML private void onMoreInsights(ActionEvent e) {
+        Long userId = AppServices.auth().getCurrentUserId();
+        Alert dlg = new Alert(Alert.AlertType.INFORMATION);
+        dlg.setTitle("Insights");
+        dlg.setHeaderText("Your statistics");
+        List<UserStats> stats = userId == null ? List.of() : AppServices.results().statsForUser(userId);
+        if (stats.isEmpty()) {
+            dlg.setContentText(userId == null ? "Log in to see your statistics." : "No games yet. Play a quiz to see statistics here!");
+            dlg.showAndWait();
+            return;
+        }
+
+        GridPane grid = new GridPane();
+        grid.setHgap(16);
+        grid.setVgap(6);
+        grid.setPadding(new Insets(10));
+        String[] headers = {"Category", "Level", "Games", "Accuracy", "Best", "Streak", "Best streak", "Rank"};
+        for (int c = 0; c < headers.length; c++) {
+            Label h = new Label(headers[c]);
+            h.setStyle("-fx-font-weight: bold;");
+            grid.add(h, c, 0);
+        }
+        int row = 1;
+        for (UserStats s : stats) {
+            grid.add(new Label(s.getCategory()), 0, row);
+            grid.add(new Label(levelName(s.getDifficulty())), 1, row);
+            grid.add(new Label(String.valueOf(s.getGames())), 2, row);
+            grid.add(new Label(String.format("%.0f%%", 100 * s.accuracy())), 3, row);
+            grid.add(new Label(String.valueOf(s.getBestScore())), 4, row);
+            grid.add(new Label(String.valueOf(s.getCurrentStreak())), 5, row);
+            grid.add(new Label(String.valueOf(s.getBestStreak())), 6, row);
+            int players = AppServices.leaderboard().size(s.getCategory(), s.getDifficulty());
+            String rank = AppServices.leaderboard().rankOf(s.getCategory(), s.getDifficulty(), userId)
+                    .stream().mapToObj(r -> "#" + r + " of " + players).findFirst().orElse("–");
+            grid.add(new Label(rank), 7, row);
+            row++;
+        }
+        dlg.getDialogPane().setContent(new VBox(10, grid, weeklyAccuracyChart(userId)));
+        dlg.showAndWait();
+    }
+
+    /** @return how a stored difficulty level is shown: its number, or "Adaptive" */
+    private static String levelName(int difficulty) {
+        return difficulty == QuizSession.ADAPTIVE ? "Adaptive" : String.valueOf(difficulty);
+    }
+
+    /**
+     * Charts a player's weekly accuracy over the past year from the in-memory day buckets.
+     *
+     * @param userId the player
+     * @return a line chart with one point per week that had games
+     */
+    private LineChart<String, Number> weeklyAccuracyChart(long userId) {
+        LocalDate today = LocalDate.now();
+        ResultsAnalytics.Series weeks = AppServices.analytics().weekly(userId, today.minusWeeks(52).plusDays(1), today);
+        XYChart.Series<String, Number> points = new XYChart.Series<>();
+        points.setName("Accuracy per week (%)");
+        DateTimeFormatter label = DateTimeFormatter.ofPattern("d MMM");
+        for (int i = 0; i < weeks.size(); i++) {
+            if (weeks.games(i) == 0) continue;
+            points.getData().add(new XYChart.Data<>(label.format(weeks.startOf(i)), Math.round(100 * weeks.accuracy(i))));
+        }
+        NumberAxis y = new NumberAxis(0, 100, 20);
+        LineChart<String, Number> chart = new LineChart<>(new CategoryAxis(), y);
+        chart.getData().add(points);
+        chart.setAnimated(false);
+        chart.setPrefHeight(220);
+        return chart;
+    }
 
     // ---- Difficulty pickers (same as before) ----
 
     /**
      * Prompts the user to pick a Maths quiz difficulty level.
      *
-     * @return selected difficulty level (1–4), or null if cancelled
+     * @return selected difficulty level (1–4), {@link QuizSession#ADAPTIVE}, or null if cancelled
      */
     private Integer pickMathsDifficulty() {
         return pickLevelDialog("Select Difficulty","Choose Maths difficulty",
@@ -116,7 +196,7 @@ public class HomeController {
     /**
      * Prompts the user to pick a General Knowledge quiz difficulty level.
      *
-     * @return selected difficulty level (1–4), or null if cancelled
+     * @return selected difficulty level (1–4), {@link QuizSession#ADAPTIVE}, or null if cancelled
      */
     private Integer pickGKDifficulty() {
         return pickLevelDialog("Select Difficulty","Choose General Knowledge difficulty",
@@ -133,7 +213,7 @@ public class HomeController {
     /**
      * Prompts the user to pick a Geography quiz difficulty level.
      *
-     * @return selected difficulty level (1–4), or null if cancelled
+     * @return selected difficulty level (1–4), {@link QuizSession#ADAPTIVE}, or null if cancelled
      */
     private Integer pickGeoDifficulty() {
         return pickLevelDialog("Select Difficulty","Choose Geography difficulty",
@@ -149,7 +229,7 @@ public class HomeController {
     }
 
     /**
-     * Shows a dialog with four difficulty options and help text.
+     * Shows a dialog with four difficulty options, an adaptive option and help text.
      *
      * @param title the dialog title
      * @param header the dialog header text
@@ -158,7 +238,7 @@ public class HomeController {
      * @param r3t text for radio button 3
      * @param r4t text for radio button 4
      * @param helpText explanatory help text shown below the options
-     * @return selected difficulty (1–4), or null if cancelled
+     * @return selected difficulty (1–4), {@link QuizSession#ADAPTIVE}, or null if cancelled
      */
     private Integer pickLevelDialog(String title, String header, String r1t, String r2t, String r3t, String r4t, String helpText) {
         Dialog<Integer> dlg = new Dialog<>();
@@ -172,19 +252,22 @@ public class HomeController {
         RadioButton r2 = new RadioButton(r2t);
         RadioButton r3 = new RadioButton(r3t);
         RadioButton r4 = new RadioButton(r4t);
+        RadioButton adaptive = new RadioButton("Adaptive — adjusts to your answers");
         r1.setToggleGroup(group); r2.setToggleGroup(group); r3.setToggleGroup(group); r4.setToggleGroup(group);
+        adaptive.setToggleGroup(group);
         r1.setSelected(true);
 
         Label help = new Label(helpText);
         help.setWrapText(true);
         help.setStyle("-fx-opacity: 0.8;");
 
-        VBox box = new VBox(8, r1, r2, r3, r4, new Separator(), help);
+        VBox box = new VBox(8, r1, r2, r3, r4, adaptive, new Separator(), help);
         box.setPadding(new Insets(10));
         dlg.getDialogPane().setContent(box);
 
         dlg.setResultConverter(bt -> {
             if (bt != ok) return null;
+            if (adaptive.isSelected()) return QuizSession.ADAPTIVE;
             if (r4.isSelected()) return 4;
             if (r3.isSelected()) return 3;
             if (r2.isSelected()) return 2;
@@ -205,11 +288,15 @@ public class HomeController {
     }
 
     /**
-     * Refreshes the VBox showing recent game results.
+     * Refreshes the VBox showing the logged-in player's recent game results
+     * (everyone's, if nobody is logged in).
      */
     private void refreshHistory() {
         historyBox.getChildren().clear();
-        List<GameResult> recents = AppServices.results().recent(10);
+        Long userId = AppServices.auth().getCurrentUserId();
+        List<GameResult> recents = userId == null
+                ? AppServices.results().recent(10)
+                : AppServices.results().recentForUser(userId, 10);
         if (recents.isEmpty()) {
             Label empty = new Label("No games yet. Play a quiz to see results here!");
             empty.setStyle("-fx-opacity: 0.7;");
@@ -234,7 +321,8 @@ public class HomeController {
         Label badge = new Label(r.getCategory().isEmpty() ? "?" : r.getCategory().substring(0,1).toUpperCase());
         badge.getStyleClass().add("badge");
 
-        Label cat = new Label(r.getCategory() + "  •  L" + r.getDifficulty());
+        String level = r.getDifficulty() == QuizSession.ADAPTIVE ? "Adaptive" : "L" + r.getDifficulty();
+        Label cat = new Label(r.getCategory() + "  •  " + level);
         Label score = new Label(r.getScore() + "/" + r.getTotal());
         Label when = new Label(safeDate(r.getCreatedAt()));
 
@@ -1,11 +1,12 @@
 // File: src/main/java/brainbrawl/ui/LoginApp.java
 package brainbrawl.ui;
 
-import brainbrawl.dao.UserDaoJdbc;
 import brainbrawl.db.Db;
-import brainbrawl.model.User;
+import brainbrawl.service.AppServices;
+import brainbrawl.service.TooManyAttemptsException;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -18,15 +19,18 @@ import javafx.stage.Stage;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 
+import java.io.IOException;
 import java.net.URL;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Main login application for BrainBrawl.
  * <p>
  * Displays a login form with username/password input, optional "show password" feature,
  * and buttons for login and registration. Handles authentication and opening the Home page
- * upon successful login.
+ * upon successful login. Logging in runs on the {@link AppServices#auth()} executor while a
+ * progress indicator is shown, so password hashing never blocks the window.
  * </p>
  * <p>
  * Seeds an admin account if missing during initialization.
@@ -34,8 +38,6 @@ import java.util.Optional;
  *
  */
 public class LoginApp extends Application {
-    /** DAO for user-related database operations. */
-    private final UserDaoJdbc userDao = new UserDaoJdbc();
 
     /**
      * Entry point for the JavaFX application.
@@ -48,7 +50,10 @@ public class LoginApp extends Application {
     @Override
     public void start(Stage stage) {
         Db.init();
-        userDao.seedAdminIfMissing();
+        AppServices.users().seedAdminIfMissing();
+        // Seed the leaderboards and analytics, and load the question banks, in the background
+        AppServices.init();
+        CompletableFuture.runAsync(AppServices.questionBank()::warmUp);
 
         // --- Header: logo + titles ---
         ImageView logo = loadLogo("/BrainBrawl/brainbrawl-logo.png", 56);
@@ -102,7 +107,11 @@ public class LoginApp extends Application {
         form.setMaxWidth(420);
         form.setFillWidth(true);
 
-        HBox actions = new HBox(10, loginBtn, registerBtn);
+        ProgressIndicator busy = new ProgressIndicator();
+        busy.setPrefSize(22, 22);
+        busy.setVisible(false);
+
+        HBox actions = new HBox(10, busy, loginBtn, registerBtn);
         actions.setAlignment(Pos.CENTER_RIGHT);
         actions.setMaxWidth(420);
 
@@ -127,13 +136,36 @@ public class LoginApp extends Application {
             String u = username.getText().trim();
             String p = (passwordHidden.isVisible() ? passwordHidden : passwordShown).getText();
             if (u.isEmpty() || p.isEmpty()) { error.setText("Please enter both username and password."); return; }
-            Optional<User> user = userDao.authenticate(u, p);
-            if (user.isPresent()) openHome(stage);
-            else error.setText("Invalid username or password.");
+
+            // Password hashing is slow on purpose: run it off the FX thread and show progress
+            busy.setVisible(true);
+            loginBtn.setDisable(true);
+            registerBtn.setDisable(true);
+            error.setText("Signing in…");
+            // Home opens only once the views that saved results feed are ready
+            CompletableFuture<Boolean> login = AppServices.auth().loginAsync(u, p)
+                    .thenCombine(AppServices.init(), (ok, ready) -> ok);
+            login.whenCompleteAsync((ok, ex) -> {
+                busy.setVisible(false);
+                loginBtn.setDisable(false);
+                registerBtn.setDisable(false);
+                Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                if (cause instanceof TooManyAttemptsException) {
+                    error.setText(cause.getMessage());
+                } else if (cause != null) {
+                    cause.printStackTrace();
+                    error.setText("Login failed: " + cause.getMessage());
+                } else if (ok) {
+                    error.setText("");
+                    openHome(stage);
+                } else {
+                    error.setText("Invalid username or password.");
+                }
+            }, Platform::runLater);
         });
 
         registerBtn.setOnAction(e -> {
-            RegisterDialog dialog = new RegisterDialog(userDao);
+            RegisterDialog dialog = new RegisterDialog(AppServices.auth());
             dialog.initOwner(stage);
             dialog.showAndWait().ifPresent(created -> {
                 if (created) error.setText("Account created. You can now log in.");
@@ -145,6 +177,23 @@ public class LoginApp extends Application {
         stage.show();
     }
 
+    /**
+     * Called by JavaFX when the application exits.
+     * <p>
+     * Writes any queued game results and answer telemetry, then closes the pooled database connections.
+     * </p>
+     */
+    @Override
+    public void stop() {
+        AppServices.results().close(); // write any queued results first
+        AppServices.telemetry().close();
+        try {
+            AppServices.analytics().save();
+        } catch (IOException e) {
+            System.err.println("WARN: could not save analytics: " + e.getMessage()); // rebuilt on next start
+        }
+        Db.shutdown();
+    }
 
     /**
      * Opens the Home page in the same stage after successful login.
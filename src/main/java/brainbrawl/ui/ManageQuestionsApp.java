@@ -1,14 +1,17 @@
 // File: src/main/java/brainbrawl/ui/ManageQuestionsApp.java
 package brainbrawl.ui;
 
-import brainbrawl.db.Db;
 import brainbrawl.model.Question;
+import brainbrawl.service.AppServices;
+import brainbrawl.service.QuestionService;
 import javafx.application.Application;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -19,17 +22,27 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
-import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * UI application for managing questions in the BrainBrawl database.
  * <p>
  * Allows viewing, adding, updating, and deleting questions. Supports both MCQ and short-answer types.
- * Uses direct JDBC for database operations and a TableView for displaying existing questions.
+ * All database work goes through {@link QuestionService} on a background thread, so the
+ * window stays responsive however large the bank is.
+ * </p>
+ * <p>
+ * The table is filled lazily: pages of {@value #PAGE_SIZE} questions are read with keyset
+ * pagination on the ID, and the next page is requested when a row near the end of the
+ * loaded data is displayed. Adding, updating or deleting a question patches just that
+ * row instead of reloading the table.
  * </p>
  * <p>
  * Launched only from within the main BrainBrawl application (Login → Home → Manage Questions).
@@ -38,8 +51,31 @@ import java.util.Optional;
  */
 public class ManageQuestionsApp extends Application {
 
-    /** TableView displaying all questions. */
+    /** Questions read per page. */
+    static final int PAGE_SIZE = 200;
+    /** How close to the end of the loaded rows a visible row must be to fetch the next page. */
+    private static final int PREFETCH_ROWS = 50;
+
+    /** Single background thread for all database work of this window. */
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "manage-questions");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** TableView displaying the loaded questions. */
     private final TableView<Question> table = new TableView<>();
+    /** The rows loaded so far, in ID order. */
+    private final ObservableList<Question> rows = FXCollections.observableArrayList();
+    /** Shows how many questions are loaded and whether more are coming. */
+    private final Label status = new Label();
+
+    /** ID of the last loaded row; the next page starts after it. Only touched on the FX thread. */
+    private long lastId;
+    /** Whether a page is being read. Only touched on the FX thread. */
+    private boolean loading;
+    /** Whether the last page has been read. Only touched on the FX thread. */
+    private boolean exhausted;
 
     /**
      * Entry point for the JavaFX application.
@@ -71,6 +107,14 @@ public class ManageQuestionsApp extends Application {
         table.getColumns().addAll(cId, cCat, cText, cType, cDiff);
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
         table.setPrefHeight(420);
+        table.setItems(rows);
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            protected void updateItem(Question q, boolean empty) {
+                super.updateItem(q, empty);
+                if (!empty && getIndex() >= rows.size() - PREFETCH_ROWS) loadNextPage();
+            }
+        });
 
         // ===== Form =====
         TextField tfCategory = new TextField();
@@ -124,7 +168,7 @@ public class ManageQuestionsApp extends Application {
         form.add(new Label("Difficulty (1–5)"), 0, 5);
         form.add(spDiff, 1, 5);
 
-        VBox right = new VBox(12, form, actions);
+        VBox right = new VBox(12, form, actions, status);
         right.setPadding(new Insets(12));
         right.setMaxWidth(520);
 
@@ -148,33 +192,40 @@ public class ManageQuestionsApp extends Application {
         // ===== Actions =====
         btnAdd.setOnAction(e -> {
             Optional<Question> q = buildFromForm(null, tfCategory, taText, cbType, taOptions, spCorrect, spDiff);
-            q.ifPresent(newQ -> {
-                insertQuestion(newQ);
-                refreshTable();
+            q.ifPresent(newQ -> runInBackground(() -> AppServices.questions().addQuestion(newQ), id -> {
+                newQ.setId(id);
+                // a row past the loaded pages will arrive with a later page
+                if (exhausted) {
+                    rows.add(newQ);
+                    lastId = id;
+                }
+                updateStatus();
                 clearForm(tfCategory, taText, taOptions, cbType, spCorrect, spDiff);
-            });
+            }, "Insert failed: "));
         });
 
         btnUpdate.setOnAction(e -> {
             Question selected = table.getSelectionModel().getSelectedItem();
             if (selected == null) { info("Select a row to update."); return; }
             Optional<Question> q = buildFromForm(selected.getId(), tfCategory, taText, cbType, taOptions, spCorrect, spDiff);
-            q.ifPresent(upd -> {
-                updateQuestion(upd);
-                refreshTable();
+            q.ifPresent(upd -> runInBackground(() -> AppServices.questions().updateQuestion(upd), ok -> {
+                int idx = rows.indexOf(selected);
+                if (idx >= 0) rows.set(idx, upd);
                 table.getSelectionModel().clearSelection();
                 clearForm(tfCategory, taText, taOptions, cbType, spCorrect, spDiff);
-            });
+            }, "Update failed: "));
         });
 
         btnDelete.setOnAction(e -> {
             Question selected = table.getSelectionModel().getSelectedItem();
             if (selected == null) { info("Select a row to delete."); return; }
-            if (confirm("Delete question ID " + selected.getId() + "?")) {
-                if (selected.getId() != null) deleteQuestion(selected.getId());
-                refreshTable();
-                table.getSelectionModel().clearSelection();
-                clearForm(tfCategory, taText, taOptions, cbType, spCorrect, spDiff);
+            if (confirm("Delete question ID " + selected.getId() + "?") && selected.getId() != null) {
+                runInBackground(() -> AppServices.questions().deleteQuestion(selected.getId()), ok -> {
+                    rows.remove(selected);
+                    updateStatus();
+                    table.getSelectionModel().clearSelection();
+                    clearForm(tfCategory, taText, taOptions, cbType, spCorrect, spDiff);
+                }, "Delete failed: ");
             }
         });
 
@@ -197,109 +248,51 @@ public class ManageQuestionsApp extends Application {
         stage.setScene(scene);
         stage.show();
 
-        refreshTable();
-    }
-
-    // ====================== DB LAYER (direct JDBC) ======================
-
-    /** Refreshes the TableView with the latest questions from the database. */
-    private void refreshTable() {
-        table.setItems(FXCollections.observableArrayList(listAllQuestions()));
-    }
-
-    /** Retrieves all questions from the database. */
-    private List<Question> listAllQuestions() {
-        String sql = "SELECT id, category, text, type, options_text, correct_index, difficulty FROM questions ORDER BY id";
-        List<Question> out = new ArrayList<>();
-        try (Connection c = Db.connect();
-             PreparedStatement ps = c.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) out.add(mapRow(rs));
-        } catch (SQLException e) {
-            error("Failed to load questions: " + e.getMessage());
-        }
-        return out;
-    }
-
-    /** Inserts a new question into the database. */
-    private void insertQuestion(Question q) {
-        String sql = """
-            INSERT INTO questions(category, text, type, options_text, correct_index, difficulty)
-            VALUES(?,?,?,?,?,?)
-            """;
-        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
-            bindQuestion(ps, q);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            error("Insert failed: " + e.getMessage());
-        }
-    }
-
-    /** Updates an existing question in the database. */
-    private void updateQuestion(Question q) {
-        if (q.getId() == null) { error("Update failed: missing ID"); return; }
-        String sql = """
-            UPDATE questions
-               SET category=?, text=?, type=?, options_text=?, correct_index=?, difficulty=?
-             WHERE id=?
-            """;
-        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
-            bindQuestion(ps, q);
-            ps.setLong(7, q.getId());
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            error("Update failed: " + e.getMessage());
-        }
+        loadNextPage();
     }
 
-    /** Deletes a question from the database by ID. */
-    private void deleteQuestion(long id) {
-        String sql = "DELETE FROM questions WHERE id=?";
-        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setLong(1, id);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            error("Delete failed: " + e.getMessage());
-        }
+    // ====================== DB LAYER (background tasks) ======================
+
+    /** Reads the page after {@link #lastId} on the background thread and appends it. */
+    private void loadNextPage() {
+        if (loading || exhausted) return;
+        loading = true;
+        status.setText("Loading…");
+        long after = lastId;
+        Task<List<Question>> task = runInBackground(() -> AppServices.questions().page(after, PAGE_SIZE), page -> {
+            rows.addAll(page);
+            if (!page.isEmpty()) lastId = page.get(page.size() - 1).getId();
+            exhausted = page.size() < PAGE_SIZE;
+            loading = false;
+            updateStatus();
+        }, "Failed to load questions: ");
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, e -> loading = false);
     }
 
-    // ----- helpers for DB mapping -----
-
-    /** Maps a ResultSet row to a Question object. */
-    private Question mapRow(ResultSet rs) throws SQLException {
-        long id = rs.getLong("id");
-        String category = rs.getString("category");
-        String text = rs.getString("text");
-        Question.Type type = Question.Type.valueOf(rs.getString("type"));
-        String optionsText = rs.getString("options_text");
-        Integer correctIndex = (rs.getObject("correct_index") == null) ? null : rs.getInt("correct_index");
-        int difficulty = rs.getInt("difficulty");
-
-        Question q;
-        if (type == Question.Type.MCQ) {
-            List<String> opts = splitOptions(optionsText);
-            q = Question.mcq(category, text, opts, correctIndex == null ? 0 : correctIndex, difficulty);
-        } else {
-            q = Question.shortAns(category, text, difficulty);
-        }
-        q.setId(id);
-        return q;
+    /**
+     * Runs database work on the background thread and hands its result to the FX thread.
+     *
+     * @param work the database call
+     * @param onSuccess applied on the FX thread to the result
+     * @param errorPrefix prefix of the error dialog shown if the work fails
+     * @return the scheduled task
+     */
+    private <T> Task<T> runInBackground(Callable<T> work, Consumer<T> onSuccess, String errorPrefix) {
+        Task<T> task = new Task<>() {
+            @Override protected T call() throws Exception { return work.call(); }
+        };
+        task.setOnSucceeded(e -> onSuccess.accept(task.getValue()));
+        task.setOnFailed(e -> {
+            Throwable ex = task.getException();
+            error(errorPrefix + (ex == null ? "unknown error" : ex.getMessage()));
+        });
+        BACKGROUND.execute(task);
+        return task;
     }
 
-    /** Binds a Question object's fields to a PreparedStatement for DB operations. */
-    private void bindQuestion(PreparedStatement ps, Question q) throws SQLException {
-        ps.setString(1, q.getCategory());
-        ps.setString(2, q.getText());
-        ps.setString(3, q.getType().name());
-        if (q.getType() == Question.Type.MCQ) {
-            ps.setString(4, joinOptions(q.getOptions()));
-            ps.setObject(5, q.getCorrectIndex(), Types.INTEGER);
-        } else {
-            ps.setNull(4, Types.VARCHAR);
-            ps.setNull(5, Types.INTEGER);
-        }
-        ps.setInt(6, q.getDifficulty());
+    /** Shows how many rows are loaded. */
+    private void updateStatus() {
+        status.setText(rows.size() + " questions loaded" + (exhausted ? "" : " — scroll for more"));
     }
 
     // ====================== UI helpers ======================
@@ -362,17 +355,5 @@ public class ManageQuestionsApp extends Application {
                 .showAndWait().filter(btn -> btn == ButtonType.OK).isPresent();
     }
 
-    /** Joins MCQ options into a single string for DB storage. */
-    private static String joinOptions(List<String> opts) {
-        if (opts == null || opts.isEmpty()) return null;
-        return String.join("|", opts);
-    }
-
-    /** Splits stored options string into a List. */
-    private static List<String> splitOptions(String s) {
-        if (s == null || s.isEmpty()) return new ArrayList<>();
-        return Arrays.asList(s.split("\\|",-1));
-    }
-
     // IMPORTANT: No main() here. Launched only after Login.
 }
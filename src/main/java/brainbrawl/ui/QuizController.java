@@ -1,7 +1,6 @@
 package brainbrawl.ui;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -10,23 +9,26 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 
-import brainbrawl.model.GameResult;
+import brainbrawl.quiz.MathQuestions;
+import brainbrawl.quiz.QuizClock;
+import brainbrawl.quiz.QuizItem;
+import brainbrawl.quiz.QuizSession;
+import brainbrawl.quiz.QuizView;
 import brainbrawl.service.AppServices;
 
 /**
  * Controller for the Math Quiz screen.
  * <p>
- * Handles quiz generation, display, user input, timer, scoring, and saving results.
+ * A thin view over a {@link QuizSession} fed from the shared maths problem pools: it displays
+ * what the session reports and passes the typed answers to it.
  * Supports multiple difficulty levels with increasing complexity.
  * </p>
  */
-public class QuizController {
+public class QuizController implements QuizView {
 
     @FXML private Label titleLabel;
     @FXML private Label progressLabel;
@@ -37,177 +39,105 @@ public class QuizController {
     @FXML private Button backBtn;
     @FXML private Label feedbackLabel;
 
-    /** Simple inner class to store a math question and its answer. */
-    private static class Q { final String text; final int answer; Q(String t,int a){text=t;answer=a;} }
+    private static final String CATEGORY = "Maths";
 
-    private final List<Q> quiz = new ArrayList<>();
-    private int idx = 0, score = 0;
-    private boolean awaitingNext = false;
-
-    private Timeline countdown;
-    private int remaining;
-    private int QUESTION_SECONDS = 30;
-
-    private int level = 1;
-    private final String category = "Maths";
-    private boolean saved = false;
+    private QuizSession session;
+    private QuizClock.Registration ticker;
 
     /**
      * Initializes and starts a Math Quiz.
      * @param count number of questions
-     * @param difficultyLevel 1–4
+     * @param difficultyLevel 1–4, or {@link QuizSession#ADAPTIVE}
      */
     public void startMathQuiz(int count, int difficultyLevel) {
-        this.level = Math.max(1, Math.min(4, difficultyLevel));
-        titleLabel.setText("Maths Quiz — Level " + this.level);
-        QUESTION_SECONDS = switch (this.level) { case 1->30; case 2->60; case 3->180; case 4->300; default->30; };
-        generateMathQuestions(count, this.level);
-        idx = 0; score = 0; awaitingNext = false; saved = false;
-        showCurrent();
-    }
-
-    /**
-     * Generates random math questions based on difficulty level.
-     * <p>
-     * Level 1: simple +, -, ×
-     * Level 2: mixed, includes division
-     * Level 3: two-step expressions
-     * Level 4: simple linear equations
-     * </p>
-     */
-    private void generateMathQuestions(int n, int level) {
-        quiz.clear(); Random r = new Random();
-        switch (level) {
-            case 1 -> {
-                String[] ops = {"+","-","×"};
-                for (int i=0;i<n;i++){ int a=r.nextInt(12)+1,b=r.nextInt(12)+1; String op=ops[r.nextInt(ops.length)];
-                    int ans = switch(op){case"+"->a+b;case"-"->a-b;default->a*b;};
-                    quiz.add(new Q(a+" "+op+" "+b+" = ?", ans)); }
-            }
-            case 2 -> {
-                for (int i=0;i<n;i++){
-                    int type=r.nextInt(4),a,b,ans; String text;
-                    if(type==3){a=r.nextInt(29)+2;b=r.nextInt(28)+2; int dividend=a*b; ans=b; text=dividend+" ÷ "+a+" = ?";}
-                    else if(type==2){a=r.nextInt(20)+2;b=r.nextInt(20)+2; ans=a*b; text=a+" × "+b+" = ?";}
-                    else if(type==1){a=r.nextInt(40)+10;b=r.nextInt(40)+10; ans=a-b; text=a+" - "+b+" = ?";}
-                    else{a=r.nextInt(40)+10;b=r.nextInt(40)+10; ans=a+b; text=a+" + "+b+" = ?";}
-                    quiz.add(new Q(text, ans));
-                }
-            }
-            case 3 -> {
-                String[] ops = {"+","-","×","÷"};
-                for (int i=0;i<n;i++){
-                    String op1=ops[r.nextInt(ops.length)], op2=ops[r.nextInt(ops.length)];
-                    int a=r.nextInt(20)+2, b=r.nextInt(20)+2;
-                    int mid; String midText;
-                    if(op1.equals("÷")){int dividend=a*b; mid=dividend/a; midText=dividend+" ÷ "+a;}
-                    else { mid = switch(op1){case"+"->a+b;case"-"->a-b;default->a*b;}; midText=a+" "+op1+" "+b; }
-                    int c=r.nextInt(20)+2;
-                    int ans; String text;
-                    if(op2.equals("÷")){ text="("+(mid*c)+" ÷ "+c+") = ?"; ans=mid; }
-                    else { ans = switch(op2){case"+"->mid+c;case"-"->mid-c;default->mid*c;}; text="("+midText+") "+op2+" "+c+" = ?"; }
-                    quiz.add(new Q(text, ans));
-                }
-            }
-            case 4 -> {
-                for (int i=0;i<n;i++){
-                    int a=r.nextInt(9)+2, x=r.nextInt(21)-10, b=r.nextInt(41)-20, c=a*x+b;
-                    quiz.add(new Q("Solve for x: "+a+"x + "+b+" = "+c, x));
-                }
-            }
+        Long userId = AppServices.auth().getCurrentUserId();
+        if (difficultyLevel == QuizSession.ADAPTIVE) {
+            titleLabel.setText("Maths Quiz — Adaptive");
+            session = new QuizSession(CATEGORY, QuizSession.ADAPTIVE,
+                    AppServices.adaptive().deck(CATEGORY, userId, count, new SplittableRandom()),
+                    QuizSession.ADAPTIVE_SECONDS, userId, AppServices.quizRecorder(), this);
+            session.start();
+            ticker = QuizTicker.start(session);
+            return;
         }
+        int level = QuizSession.clampLevel(difficultyLevel);
+        titleLabel.setText("Maths Quiz — Level " + level);
+        session = new QuizSession(CATEGORY, level, MathQuestions.draw(count, level, AppServices.math(), new SplittableRandom()),
+                userId, AppServices.quizRecorder(), this);
+        session.start();
+        ticker = QuizTicker.start(session);
     }
 
-    /**
-     * Displays the current question or the final score if all done.
-     */
-    private void showCurrent() {
-        stopTimer();
-        if (idx >= quiz.size()) {
-            saveOnce(); // <-- save to DB exactly once
-            questionLabel.setText("All done!");
-            progressLabel.setText("Score: " + score + " / " + quiz.size());
-            feedbackLabel.setText("");
-            answerField.setDisable(true); answerField.clear();
-            timerLabel.setText("--:--");
-            primaryBtn.setText("Back to Home");
-            primaryBtn.setOnAction(this::handleBackToHome);
-            return;
-        }
-        Q q = quiz.get(idx);
-        questionLabel.setText(q.text);
-        progressLabel.setText("Q " + (idx + 1) + " / " + quiz.size());
+    /** Displays a question and clears the answer field. */
+    @Override
+    public void showQuestion(QuizItem q, int index, int total) {
+        questionLabel.setText(q.getText());
+        progressLabel.setText("Q " + (index + 1) + " / " + total);
         feedbackLabel.setText("");
         answerField.clear(); answerField.setDisable(false);
-        primaryBtn.setText("Submit"); awaitingNext=false;
-        startTimer();
+        primaryBtn.setText("Submit");
     }
 
-    /**
-     * Handles the primary button click: Submit / Next / Finish.
-     */
-    @FXML private void onPrimary(ActionEvent e) {
-        if (idx >= quiz.size()) { handleBackToHome(e); return; }
-        if (!awaitingNext) { evaluateNow(false); } else { idx++; showCurrent(); }
-    }
+    /** Updates the countdown label. */
+    @Override
+    public void showTime(int secondsLeft) { timerLabel.setText(fmt(secondsLeft)); }
 
-    /**
-     * Evaluates the current answer, updates score, and provides feedback.
-     * @param timeout true if time ran out
-     */
-    private void evaluateNow(boolean timeout) {
-        stopTimer();
-        int correct = quiz.get(idx).answer;
-        String input = answerField.getText().trim();
-        Integer given = (input.matches("-?\\d+")) ? Integer.parseInt(input) : null;
-        if (!timeout && given != null && given == correct) { score++; feedbackLabel.setText("✅ Correct!"); }
-        else { feedbackLabel.setText(timeout ? "⏰ Time's up. Correct: " + correct : "❌ Wrong. Correct: " + correct); }
+    /** Shows whether the answer was right and locks the answer field. */
+    @Override
+    public void showOutcome(QuizSession.Outcome o) {
+        int correct = o.getItem().getAnswer();
+        if (o.isCorrect()) { feedbackLabel.setText("✅ Correct!"); }
+        else { feedbackLabel.setText(o.isTimedOut() ? "⏰ Time's up. Correct: " + correct : "❌ Wrong. Correct: " + correct); }
         answerField.setDisable(true);
-        primaryBtn.setText(idx == quiz.size() - 1 ? "Finish" : "Next");
-        awaitingNext = true;
-        if (timeout) autoAdvanceSoon();
+        primaryBtn.setText(o.isLast() ? "Finish" : "Next");
     }
 
-    /** Starts the countdown timer for the current question. */
-    private void startTimer() {
-        remaining = QUESTION_SECONDS;
-        timerLabel.setText(fmt(remaining));
-        countdown = new Timeline(new KeyFrame(Duration.seconds(1), ev -> {
-            remaining--; timerLabel.setText(fmt(remaining));
-            if (remaining <= 0) evaluateNow(true);
+    /** Shows the final score and reports when the result has been saved. */
+    @Override
+    public void showFinished(int score, int total, CompletableFuture<Long> saved) {
+        stopTicker();
+        questionLabel.setText("All done!");
+        progressLabel.setText("Score: " + score + " / " + total);
+        answerField.setDisable(true); answerField.clear();
+        timerLabel.setText("--:--");
+        primaryBtn.setText("Back to Home");
+        primaryBtn.setOnAction(this::handleBackToHome);
+        feedbackLabel.setText("Saving result…");
+        saved.whenComplete((id, ex) -> Platform.runLater(() -> {
+            if (ex != null) {
+                ex.printStackTrace(); // non-fatal
+                feedbackLabel.setText("⚠ Could not save result");
+            } else {
+                feedbackLabel.setText("Result saved ✓");
+            }
         }));
-        countdown.setCycleCount(QUESTION_SECONDS);
-        countdown.playFromStart();
     }
 
-    /** Stops the current countdown timer. */
-    private void stopTimer(){ if(countdown!=null){ countdown.stop(); countdown=null; } }
-
-    /** Advances to next question shortly after a timeout. */
-    private void autoAdvanceSoon(){ new Timeline(new KeyFrame(Duration.seconds(1.2), ev -> { idx++; showCurrent(); })).play(); }
-
-    /** Formats seconds as MM:SS string. */
-    private static String fmt(int s){ int m=s/60, ss=s%60; return String.format("%02d:%02d", m, ss); }
-
     /**
-     * Saves the game result once to the database.
+     * Handles the primary button click: Submit / Next / Finish.
      */
-    private void saveOnce() {
-        if (saved) return;
-        saved = true;
-        try {
-            var result = GameResult.newUnstored(category, level, score, quiz.size(), QUESTION_SECONDS);
-            AppServices.results().save(result);
-        } catch (Exception ex) {
-            ex.printStackTrace(); // non-fatal
+    @FXML private void onPrimary(ActionEvent e) {
+        switch (session.getPhase()) {
+            case ASKING -> {
+                String input = answerField.getText().trim();
+                session.submit(input.matches("-?\\d+") ? Integer.parseInt(input) : null);
+            }
+            case REVIEWING -> session.next();
+            case FINISHED -> handleBackToHome(e);
         }
     }
 
+    /** Stops ticking the session. */
+    private void stopTicker(){ if(ticker!=null){ ticker.cancel(); ticker=null; } }
+
+    /** Formats seconds as MM:SS string. */
+    private static String fmt(int s){ int m=s/60, ss=s%60; return String.format("%02d:%02d", m, ss); }
+
     /**
      * Navigates back to the home page.
      */
     @FXML public void handleBackToHome(ActionEvent event) {
-        stopTimer();
+        stopTicker();
         try {
             Parent root = FXMLLoader.load(getClass().getResource("/BrainBrawl/HomePage.fxml"));
             Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
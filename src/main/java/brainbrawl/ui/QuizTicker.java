@@ -0,0 +1,50 @@
+package brainbrawl.ui;
+
+import brainbrawl.quiz.QuizClock;
+import brainbrawl.quiz.QuizSession;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+/**
+ * Drives every open quiz screen's {@link QuizSession} from the JavaFX application thread.
+ * <p>
+ * All sessions share one {@link QuizClock} and one timeline, which runs only while at least
+ * one session is registered. Opening a question costs nothing here: the session restarts
+ * its own countdown and keeps ticking through the same registration.
+ * <p>
+ * This class is a utility class and cannot be instantiated; call it on the FX thread only.
+ */
+final class QuizTicker {
+
+    /** How often sessions are ticked; bounds how late a countdown label or timeout can be. */
+    private static final Duration PERIOD = Duration.millis(100);
+
+    private static final QuizClock CLOCK = new QuizClock();
+    private static Timeline timeline;
+
+    /** Private constructor to prevent instantiation. */
+    private QuizTicker() {}
+
+    /**
+     * Starts ticking a session.
+     *
+     * @param session the session to drive
+     * @return the registration; cancel it when the screen closes
+     */
+    static QuizClock.Registration start(QuizSession session) {
+        QuizClock.Registration r = CLOCK.register(session);
+        if (timeline == null) {
+            timeline = new Timeline(new KeyFrame(PERIOD, ev -> tick()));
+            timeline.setCycleCount(Animation.INDEFINITE);
+        }
+        if (timeline.getStatus() != Animation.Status.RUNNING) timeline.play();
+        return r;
+    }
+
+    private static void tick() {
+        CLOCK.tick();
+        if (CLOCK.isIdle()) timeline.stop();
+    }
+}
@@ -2,6 +2,7 @@ package brainbrawl.ui;
 
 import brainbrawl.service.AppServices;
 import brainbrawl.service.AuthService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.PasswordField;
@@ -30,8 +31,9 @@ public class RegisterController {
      * <ul>
      *     <li>All fields must be non-empty</li>
      *     <li>Password and confirm password must match</li>
+     *     <li>The username must not be taken (usually answered from memory)</li>
      * </ul>
-     * Attempts to create the account via {@link AuthService#register(String, String)}.
+     * Creates the account via {@link AuthService#registerAsync(String, String)}, off the FX thread.
      * Displays an information alert if successful, or an error alert otherwise.
      */
     @FXML
@@ -48,17 +50,22 @@ public class RegisterController {
             error("Passwords do not match.");
             return;
         }
-
-        boolean created = auth.register(u, p);
-        if (created) {
-            info("Account created. You can log in now.");
-            // Option A: go to login screen
-            // SceneNavigator.goTo("login.fxml");
-            // Option B: auto-login then go to lobby:
-            // auth.login(u, p); SceneNavigator.goTo("lobby.fxml");
-        } else {
-            error("Username already exists or could not create account.");
+        if (!auth.isUsernameAvailable(u)) {
+            error("Username already exists.");
+            return;
         }
+
+        auth.registerAsync(u, p).whenCompleteAsync((created, ex) -> {
+            if (ex == null && created) {
+                info("Account created. You can log in now.");
+                // Option A: go to login screen
+                // SceneNavigator.goTo("login.fxml");
+                // Option B: auto-login then go to lobby:
+                // auth.login(u, p); SceneNavigator.goTo("lobby.fxml");
+            } else {
+                error("Username already exists or could not create account.");
+            }
+        }, Platform::runLater);
     }
 
     /**
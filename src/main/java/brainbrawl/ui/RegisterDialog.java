@@ -1,6 +1,7 @@
 package brainbrawl.ui;
 
-import brainbrawl.dao.UserDaoJdbc;
+import brainbrawl.service.AuthService;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -14,21 +15,22 @@ import java.util.regex.Pattern;
  * A modal dialog for user registration.
  * <p>
  * Provides input fields for username, password, and password confirmation.
- * Validates user input and interacts with {@link UserDaoJdbc} to create new accounts.
+ * Validates user input and creates the account through {@link AuthService#registerAsync},
+ * showing a progress indicator while the password is hashed in the background.
  * Returns {@code true} if registration succeeds, {@code false} otherwise.
  * </p>
  */
 public class RegisterDialog extends Dialog<Boolean> {
 
     /** Regex pattern to validate acceptable usernames (3–32 characters, letters, digits, . _ -). */
-    private static final Pattern USERNAME_OK = Pattern.compile("^[a-zA-Z0-9._-]{3,32}$");
+    private static final Pattern USERNAME_OK = AuthService.USERNAME_PATTERN;
 
     /**
      * Constructs a registration dialog.
      *
-     * @param userDao The data access object used to create new users in the database
+     * @param auth The authentication service used to create new users
      */
-    public RegisterDialog(UserDaoJdbc userDao) {
+    public RegisterDialog(AuthService auth) {
         setTitle("Create Account");
         setHeaderText("Register a new account");
 
@@ -51,7 +53,11 @@ public class RegisterDialog extends Dialog<Boolean> {
         Label status = new Label();
         status.getStyleClass().add("error-text");
 
-        VBox box = new VBox(10, username, pw1, pw2, status);
+        ProgressIndicator busy = new ProgressIndicator();
+        busy.setPrefSize(22, 22);
+        busy.setVisible(false);
+
+        VBox box = new VBox(10, username, pw1, pw2, status, busy);
         box.setPadding(new Insets(16));
         box.setAlignment(Pos.CENTER_LEFT);
         pane.setContent(box);
@@ -64,12 +70,22 @@ public class RegisterDialog extends Dialog<Boolean> {
             String u = username.getText().trim(), p1 = pw1.getText(), p2 = pw2.getText();
 
             if (!USERNAME_OK.matcher(u).matches()) { status.setText("Invalid username format."); evt.consume(); return; }
-            if (p1.length() < 6)                { status.setText("Password too short (min 6)."); evt.consume(); return; }
+            if (p1.length() < AuthService.MIN_PASSWORD_LENGTH) { status.setText("Password too short (min " + AuthService.MIN_PASSWORD_LENGTH + ")."); evt.consume(); return; }
             if (!p1.equals(p2))                 { status.setText("Passwords do not match.");    evt.consume(); return; }
-
-            boolean created = userDao.createUser(u, p1);
-            if (!created) { status.setText("Username already exists."); evt.consume(); }
-            else setResult(Boolean.TRUE);
+            if (!auth.isUsernameAvailable(u))   { status.setText("Username already exists.");  evt.consume(); return; }
+
+            // Hash in the background; the dialog closes once the account exists
+            evt.consume();
+            busy.setVisible(true);
+            registerBtn.setDisable(true);
+            status.setText("Creating account…");
+            auth.registerAsync(u, p1).whenCompleteAsync((created, ex) -> {
+                busy.setVisible(false);
+                registerBtn.setDisable(false);
+                if (ex != null) { ex.printStackTrace(); status.setText("Could not create account."); }
+                else if (!created) status.setText("Username already exists.");
+                else { setResult(Boolean.TRUE); close(); }
+            }, Platform::runLater);
         });
 
         setResultConverter(btn -> btn == registerType ? Boolean.TRUE : Boolean.FALSE);
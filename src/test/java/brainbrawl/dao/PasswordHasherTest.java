@@ -0,0 +1,61 @@
+package brainbrawl.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PasswordHasher} class.
+ * <p>
+ * A low iteration count keeps the tests fast; the format and upgrade
+ * rules don't depend on the cost.
+ */
+public class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(1_000);
+
+    /**
+     * Verifies that a PBKDF2 hash records its cost and only accepts the
+     * original password.
+     */
+    @Test
+    void hashesAndVerifiesWithPbkdf2() {
+        String salt = hasher.newSalt();
+        String hash = hasher.hash("s3cret!", salt);
+
+        assertTrue(hash.startsWith("pbkdf2-sha256$1000$"));
+        assertTrue(hasher.verify("s3cret!", salt, hash));
+        assertFalse(hasher.verify("s3cret?", salt, hash));
+        assertFalse(hasher.needsRehash(hash));
+    }
+
+    /**
+     * Ensures that hashes written by the old single-round SHA-256 scheme
+     * still verify and are flagged for an upgrade.
+     */
+    @Test
+    void acceptsAndFlagsLegacySha256Hashes() {
+        String salt = hasher.newSalt();
+        String legacy = Base64.getEncoder().encodeToString(PasswordHasher.legacySha256("admin123", salt));
+
+        assertTrue(hasher.verify("admin123", salt, legacy));
+        assertFalse(hasher.verify("admin124", salt, legacy));
+        assertTrue(hasher.needsRehash(legacy));
+    }
+
+    /**
+     * Confirms that raising the configured cost marks older PBKDF2 hashes for
+     * rehashing while they keep verifying.
+     */
+    @Test
+    void flagsHashesBelowConfiguredCost() {
+        String salt = hasher.newSalt();
+        String weak = hasher.hash("pw", salt);
+        PasswordHasher stronger = new PasswordHasher(2_000);
+
+        assertTrue(stronger.verify("pw", salt, weak));
+        assertTrue(stronger.needsRehash(weak));
+    }
+}
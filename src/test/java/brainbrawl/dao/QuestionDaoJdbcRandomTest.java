@@ -0,0 +1,70 @@
+package brainbrawl.dao;
+
+import brainbrawl.model.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link QuestionDaoJdbc#findRandom(String, int, int, java.util.Collection)}.
+ */
+public class QuestionDaoJdbcRandomTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    private QuestionDao dao;
+
+    @BeforeEach
+    void setUp() {
+        dao = new QuestionDaoJdbc();
+        for (int i = 0; i < 20; i++) {
+            dao.create(Question.mcq("Science", "Sci L1 #" + i, List.of("A", "B"), 0, 1));
+            dao.create(Question.mcq("Science", "Sci L2 #" + i, List.of("A", "B"), 1, 2));
+            dao.create(Question.mcq("History", "Hist L1 #" + i, List.of("A", "B"), 0, 1));
+        }
+    }
+
+    /**
+     * Verifies that only questions of the requested category and level are drawn,
+     * without duplicates.
+     */
+    @Test
+    void drawsDistinctQuestionsFromOneBucket() {
+        List<Question> quiz = dao.findRandom("Science", 2, 10, Set.of());
+
+        assertEquals(10, quiz.size());
+        assertEquals(10, quiz.stream().map(Question::getId).distinct().count());
+        assertTrue(quiz.stream().allMatch(q -> q.getCategory().equals("Science") && q.getDifficulty() == 2));
+        assertEquals(2, quiz.get(0).getOptions().size());
+    }
+
+    /**
+     * Ensures that excluded ids are never returned and that the result shrinks
+     * when too few unseen questions remain.
+     */
+    @Test
+    void skipsSeenQuestions() {
+        Set<Long> seen = new HashSet<>();
+        dao.findRandom("History", 1, 15, seen).forEach(q -> seen.add(q.getId()));
+
+        List<Question> rest = dao.findRandom("History", 1, 10, seen);
+
+        assertEquals(5, rest.size());
+        assertTrue(rest.stream().noneMatch(q -> seen.contains(q.getId())));
+    }
+
+    /**
+     * Confirms that an empty bucket yields an empty list.
+     */
+    @Test
+    void emptyBucketYieldsNoQuestions() {
+        assertTrue(dao.findRandom("Maths", 4, 10, Set.of()).isEmpty());
+    }
+}
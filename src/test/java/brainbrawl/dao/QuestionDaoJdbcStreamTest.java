@@ -0,0 +1,84 @@
+package brainbrawl.dao;
+
+import brainbrawl.model.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bulk read paths of {@link QuestionDaoJdbc}:
+ * {@link QuestionDaoJdbc#streamAll()} and {@link QuestionDaoJdbc#findPage(long, int)}.
+ */
+public class QuestionDaoJdbcStreamTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    private QuestionDao dao;
+
+    @BeforeEach
+    void setUp() {
+        dao = new QuestionDaoJdbc();
+        List<Question> extra = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) extra.add(Question.mcq("Streamed", "S" + i, List.of("A", "B"), 0, 1));
+        dao.createAll(extra);
+    }
+
+    /**
+     * Verifies that the stream returns every question exactly once, in ID order,
+     * across several fetches.
+     */
+    @Test
+    void streamsAllRowsInIdOrder() {
+        List<Long> ids;
+        try (Stream<Question> all = dao.streamAll()) {
+            ids = all.map(Question::getId).toList();
+        }
+
+        assertEquals(dao.findAll().size(), ids.size());
+        for (int i = 1; i < ids.size(); i++) assertTrue(ids.get(i) > ids.get(i - 1));
+    }
+
+    /**
+     * Ensures that closing a partly consumed stream hands its connection back:
+     * opening far more streams than the pool has connections would otherwise
+     * time out.
+     */
+    @Test
+    void closingPartlyReadStreamReleasesConnection() {
+        for (int i = 0; i < 50; i++) {
+            try (Stream<Question> all = dao.streamAll()) {
+                assertEquals(3, all.limit(3).count());
+            }
+        }
+        assertTrue(dao.findById(1).isPresent());
+    }
+
+    /**
+     * Verifies that walking the table page by page with keyset pagination
+     * visits every question once, in ID order.
+     */
+    @Test
+    void keysetPagesCoverAllRowsWithoutOverlap() {
+        List<Long> seen = new ArrayList<>();
+        long after = 0;
+        List<Question> page;
+        do {
+            page = dao.findPage(after, 128);
+            for (Question q : page) seen.add(q.getId());
+            if (!page.isEmpty()) after = page.get(page.size() - 1).getId();
+        } while (page.size() == 128);
+
+        List<Long> all;
+        try (Stream<Question> s = dao.streamAll()) {
+            all = s.map(Question::getId).toList();
+        }
+        assertEquals(all, seen);
+    }
+}
@@ -0,0 +1,73 @@
+package brainbrawl.dao;
+
+import brainbrawl.db.Db;
+import brainbrawl.model.Question;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks loading a 50,000-question pack.
+ * <p>
+ * Compares one {@link QuestionDaoJdbc#create(Question)} call per question (one statement
+ * and one auto-commit each) with a single {@link QuestionDaoJdbc#createAll(Iterable)} call,
+ * which batches inserts through one prepared statement inside chunked transactions.
+ * <p>
+ * This is not a JUnit test — run it manually:
+ * <pre>mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=brainbrawl.dao.QuestionImportBenchmark</pre>
+ */
+public class QuestionImportBenchmark {
+
+    private static final int ROWS = 50_000;
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args ignored command-line arguments
+     * @throws Exception if the database cannot be prepared
+     */
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("bb-import-bench", ".db");
+        Db.use("jdbc:sqlite:" + file);
+        Db.init();
+        QuestionDao dao = new QuestionDaoJdbc();
+        List<Question> pack = pack();
+
+        long start = System.nanoTime();
+        for (Question q : pack) dao.create(q);
+        double singleSecs = (System.nanoTime() - start) / 1e9;
+
+        clear();
+        start = System.nanoTime();
+        int n = dao.createAll(pack).size();
+        double batchSecs = (System.nanoTime() - start) / 1e9;
+        if (n != ROWS) throw new IllegalStateException("unexpected row count");
+
+        System.out.printf("questions imported        : %,d%n", ROWS);
+        System.out.printf("create() per question     : %8.2f s  (%,10.0f rows/s)%n", singleSecs, ROWS / singleSecs);
+        System.out.printf("createAll() chunked batch : %8.2f s  (%,10.0f rows/s)%n", batchSecs, ROWS / batchSecs);
+        System.out.printf("Speed-up                  : %8.0fx%n", singleSecs / batchSecs);
+
+        Db.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    private static List<Question> pack() {
+        List<Question> out = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            out.add(Question.mcq("Pack", "Question " + i + "?", List.of("A", "B", "C", "D"), i % 4, 1 + i % 5));
+        }
+        return out;
+    }
+
+    private static void clear() throws SQLException {
+        try (Connection c = Db.connect(); Statement st = c.createStatement()) {
+            st.execute("DELETE FROM questions WHERE category = 'Pack'");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package brainbrawl.dao;
+
+import brainbrawl.db.Db;
+import brainbrawl.model.GameResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Benchmarks the Home screen's "last 10 games" query against a results table of one million rows.
+ * <p>
+ * Compares the old {@code ORDER BY datetime(created_at)} query, which has to scan and sort
+ * the whole table, with {@link ResultDaoJdbc#findRecent(int)}, which walks the
+ * {@code created_at_ms} index and stops after the limit.
+ * <p>
+ * This is not a JUnit test — run it manually:
+ * <pre>mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=brainbrawl.dao.RecentResultsBenchmark</pre>
+ */
+public class RecentResultsBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int LIMIT = 10;
+    private static final int RUNS = 20;
+    private static final String OLD_QUERY =
+            "SELECT * FROM results ORDER BY datetime(created_at) DESC, id DESC LIMIT ?";
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args ignored command-line arguments
+     * @throws Exception if the database cannot be prepared
+     */
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("bb-results-bench", ".db");
+        Db.use("jdbc:sqlite:" + file);
+        Db.init();
+        seed();
+
+        ResultDao dao = new ResultDaoJdbc();
+        double oldMillis = time(() -> oldFindRecent(LIMIT));
+        double newMillis = time(() -> dao.findRecent(LIMIT).size());
+
+        System.out.printf("rows in results                 : %,d%n", ROWS);
+        System.out.printf("ORDER BY datetime(created_at)   : %8.3f ms/query%n", oldMillis);
+        System.out.printf("ORDER BY created_at_ms (index)  : %8.3f ms/query%n", newMillis);
+        System.out.printf("Speed-up                        : %8.0fx%n", oldMillis / newMillis);
+
+        Db.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    /** A query returning the number of rows read. */
+    private interface Query { int run() throws SQLException; }
+
+    private static double time(Query q) throws SQLException {
+        for (int i = 0; i < 3; i++) q.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            if (q.run() != LIMIT) throw new IllegalStateException("unexpected row count");
+        }
+        return (System.nanoTime() - start) / 1e6 / RUNS;
+    }
+
+    private static int oldFindRecent(int limit) throws SQLException {
+        int n = 0;
+        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(OLD_QUERY)) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) n++;
+            }
+        }
+        return n;
+    }
+
+    /** Inserts ROWS results spread over roughly three years, one every ~90 seconds. */
+    private static void seed() throws SQLException {
+        String sql = """
+            INSERT INTO results(category, difficulty, score, total, seconds_per_question, created_at, created_at_ms)
+            VALUES(?,?,?,?,?,datetime(? / 1000, 'unixepoch'),?)
+        """;
+        List<String> categories = List.of("Maths", "General", "Geography");
+        long start = System.currentTimeMillis() - ROWS * 90_000L;
+        try (Connection c = Db.connect(); PreparedStatement ps = c.prepareStatement(sql)) {
+            c.setAutoCommit(false);
+            for (int i = 0; i < ROWS; i++) {
+                long at = start + i * 90_000L;
+                ps.setString(1, categories.get(i % 3));
+                ps.setInt(2, 1 + i % 4);
+                ps.setInt(3, i % 11);
+                ps.setInt(4, 10);
+                ps.setInt(5, 30);
+                ps.setLong(6, at);
+                ps.setLong(7, at);
+                ps.addBatch();
+                if (i % 10_000 == 9_999) ps.executeBatch();
+            }
+            ps.executeBatch();
+            c.commit();
+            c.setAutoCommit(true);
+        }
+    }
+}
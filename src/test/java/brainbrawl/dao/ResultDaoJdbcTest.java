@@ -0,0 +1,115 @@
+package brainbrawl.dao;
+
+import brainbrawl.db.Db;
+import brainbrawl.model.GameResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ResultDaoJdbc} class.
+ */
+public class ResultDaoJdbcTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    private ResultDao dao;
+
+    @BeforeEach
+    void setUp() {
+        dao = new ResultDaoJdbc();
+    }
+
+    /**
+     * Verifies that {@link ResultDaoJdbc#findRecent(int)} returns the newest
+     * results first and honours the limit.
+     */
+    @Test
+    void findRecentReturnsNewestFirst() {
+        dao.create(new GameResult(null, "Maths", 1, 5, 10, 30, null, 1_000L));
+        dao.create(new GameResult(null, "General", 2, 7, 10, 60, null, 3_000L));
+        dao.create(new GameResult(null, "Geography", 3, 9, 10, 180, null, 2_000L));
+
+        List<GameResult> recent = dao.findRecent(2);
+
+        assertEquals(2, recent.size());
+        assertEquals("General", recent.get(0).getCategory());
+        assertEquals("Geography", recent.get(1).getCategory());
+        assertEquals(3_000L, recent.get(0).getCreatedAtMillis());
+    }
+
+    /**
+     * Ensures that a result saved without a timestamp is stamped with the current time.
+     */
+    @Test
+    void createStampsCurrentTime() {
+        long before = System.currentTimeMillis();
+        dao.create(GameResult.newUnstored("Maths", 1, 3, 10, 30));
+
+        long stamped = dao.findRecent(1).get(0).getCreatedAtMillis();
+        assertTrue(stamped >= before && stamped <= System.currentTimeMillis());
+    }
+
+    /**
+     * Verifies that {@link ResultDaoJdbc#findRecentForUser(long, int)} returns only
+     * that player's results, newest first, and that the user ID round-trips.
+     */
+    @Test
+    void findRecentForUserFiltersByPlayer() throws Exception {
+        try (Connection c = Db.connect(); Statement st = c.createStatement()) {
+            st.executeUpdate("INSERT INTO users(id, username, password_hash, salt) VALUES (1,'amy','x','y'), (2,'ben','x','y')");
+        }
+        dao.createAll(List.of(
+                new GameResult(null, 1L, "Maths", 1, 5, 10, 30, null, 1_000L),
+                new GameResult(null, 2L, "General", 2, 7, 10, 60, null, 3_000L),
+                new GameResult(null, 1L, "Geography", 3, 9, 10, 180, null, 2_000L),
+                new GameResult(null, "Maths", 1, 1, 10, 30, null, 4_000L)));
+
+        List<GameResult> amy = dao.findRecentForUser(1, 10);
+
+        assertEquals(List.of("Geography", "Maths"), amy.stream().map(GameResult::getCategory).toList());
+        assertEquals(1L, amy.get(0).getUserId());
+        assertNull(dao.findRecent(1).get(0).getUserId());
+        assertEquals(1, dao.findRecentForUser(2, 10).size());
+    }
+
+    /**
+     * Confirms that one player's history is read off the {@code (user_id, created_at_ms)}
+     * index, without sorting.
+     */
+    @Test
+    void findRecentForUserUsesIndexWithoutSorting() throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Connection c = Db.connect(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("EXPLAIN QUERY PLAN SELECT * FROM results WHERE user_id = 7 "
+                     + "ORDER BY created_at_ms DESC, id DESC LIMIT 10")) {
+            while (rs.next()) plan.append(rs.getString("detail")).append('\n');
+        }
+        assertTrue(plan.toString().contains("idx_results_user_created_at_ms"), plan.toString());
+        assertFalse(plan.toString().contains("TEMP B-TREE"), plan.toString());
+    }
+
+    /**
+     * Confirms that the recent-results query is answered by walking the
+     * {@code created_at_ms} index, without sorting the whole table.
+     */
+    @Test
+    void findRecentUsesIndexWithoutSorting() throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Connection c = Db.connect(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "EXPLAIN QUERY PLAN SELECT * FROM results ORDER BY created_at_ms DESC, id DESC LIMIT 10")) {
+            while (rs.next()) plan.append(rs.getString("detail")).append('\n');
+        }
+        assertTrue(plan.toString().contains("idx_results_created_at_ms"), plan.toString());
+        assertFalse(plan.toString().contains("TEMP B-TREE"), plan.toString());
+    }
+}
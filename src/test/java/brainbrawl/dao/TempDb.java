@@ -0,0 +1,52 @@
+package brainbrawl.dao;
+
+import brainbrawl.db.Db;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * JUnit 5 extension that points {@link Db} at a freshly migrated SQLite file in a temporary
+ * directory before each test, and restores the previous database and deletes the directory
+ * afterwards.
+ * <p>
+ * Register it as a field, so tests can reach the directory:
+ * <pre>
+ * &#64;RegisterExtension
+ * final TempDb db = new TempDb();
+ * </pre>
+ * It runs before the test class's own {@code @BeforeEach} methods, which may therefore
+ * use the database.
+ */
+public class TempDb implements BeforeEachCallback, AfterEachCallback {
+
+    private String previousUrl;
+    private Path dir;
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws IOException {
+        previousUrl = Db.url();
+        dir = Files.createTempDirectory("brainbrawl-test");
+        Db.use("jdbc:sqlite:" + dir.resolve("test.db"));
+        Db.init();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws IOException {
+        Db.use(previousUrl);
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    /** @return the directory holding the test database */
+    public Path dir() {
+        return dir;
+    }
+}
@@ -0,0 +1,98 @@
+package brainbrawl.dao;
+
+import brainbrawl.db.Db;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link UserDaoJdbc} class.
+ */
+public class UserDaoJdbcTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    private UserDaoJdbc dao;
+
+    @BeforeEach
+    void setUp() {
+        dao = new UserDaoJdbc(new PasswordHasher(1_000));
+    }
+
+    /**
+     * Verifies that a new account can log in with its password only.
+     */
+    @Test
+    void createdUserCanAuthenticate() {
+        assertTrue(dao.createUser("alice", "wonderland"));
+
+        assertTrue(dao.authenticate("alice", "wonderland").isPresent());
+        assertTrue(dao.authenticate("alice", "looking-glass").isEmpty());
+        assertTrue(dao.authenticate("nobody", "wonderland").isEmpty());
+        assertFalse(dao.createUser("alice", "again"));
+    }
+
+    /**
+     * Ensures that an account stored with a legacy SHA-256 hash is rehashed
+     * with PBKDF2 on its next successful login and can still log in afterwards.
+     */
+    @Test
+    void legacyHashIsUpgradedOnLogin() throws SQLException {
+        String salt = Base64.getEncoder().encodeToString(new byte[16]);
+        String legacy = Base64.getEncoder().encodeToString(PasswordHasher.legacySha256("admin123", salt));
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement("INSERT INTO users(username, password_hash, salt) VALUES(?,?,?)")) {
+            ps.setString(1, "legacy");
+            ps.setString(2, legacy);
+            ps.setString(3, salt);
+            ps.executeUpdate();
+        }
+        dao = new UserDaoJdbc(new PasswordHasher(1_000)); // the row predates the DAO, as after an upgrade
+
+        assertTrue(dao.authenticate("legacy", "admin123").isPresent());
+
+        assertTrue(storedHash("legacy").startsWith("pbkdf2-sha256$1000$"));
+        assertTrue(dao.authenticate("legacy", "admin123").isPresent());
+    }
+
+    /**
+     * Verifies that accounts created by another process after the filter was loaded are
+     * found by login, lookup and the availability check, while unknown names stay absent.
+     */
+    @Test
+    void accountsAddedElsewhereAreSeenDespiteTheFilter() {
+        assertTrue(dao.createUser("alice", "wonderland"));
+        UserDaoJdbc otherProcess = new UserDaoJdbc(new PasswordHasher(1_000));
+        assertTrue(otherProcess.createUser("bob", "builder"));
+
+        assertTrue(dao.usernameExists("bob"));
+        assertFalse(dao.createUser("bob", "again"));
+        assertTrue(dao.authenticate("bob", "builder").isPresent());
+        assertTrue(dao.findByUsername("bob").isPresent());
+
+        assertTrue(dao.usernameExists("alice"));
+        assertFalse(dao.usernameExists("Alice"));
+        assertTrue(dao.findByUsername("carol").isEmpty());
+        assertTrue(dao.authenticate("dave", "pw").isEmpty());
+    }
+
+    private static String storedHash(String username) throws SQLException {
+        try (Connection c = Db.connect();
+             PreparedStatement ps = c.prepareStatement("SELECT password_hash FROM users WHERE username = ?")) {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package brainbrawl.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link UsernameFilter} class.
+ */
+public class UsernameFilterTest {
+
+    /**
+     * Verifies that every added name is reported and that names never added are
+     * mostly rejected, at roughly the advertised rate.
+     */
+    @Test
+    void noFalseNegativesAndFewFalsePositives() {
+        UsernameFilter f = new UsernameFilter(10_000);
+        for (int i = 0; i < 10_000; i++) f.add("user" + i);
+
+        for (int i = 0; i < 10_000; i++) assertTrue(f.mightContain("user" + i));
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) if (f.mightContain("other" + i)) falsePositives++;
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertFalse(f.isSaturated());
+    }
+
+    /**
+     * Verifies that the filter reports saturation once it holds more than its capacity.
+     */
+    @Test
+    void reportsSaturation() {
+        UsernameFilter f = new UsernameFilter(2);
+        f.add("a");
+        f.add("b");
+        assertFalse(f.isSaturated());
+        f.add("c");
+        assertTrue(f.isSaturated());
+        assertEquals(3, f.size());
+    }
+}
@@ -0,0 +1,105 @@
+package brainbrawl.db;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A simple benchmark comparing per-query latency with and without {@link ConnectionPool}.
+ * <p>
+ * Runs the same primary-key lookup the DAOs use, first opening a fresh connection
+ * through {@link DriverManager} for every query (the old {@code Db.connect()} behaviour)
+ * and then borrowing from a pool.
+ * <p>
+ * This is not a JUnit test — run it manually:
+ * <pre>mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=brainbrawl.db.ConnectionPoolBenchmark</pre>
+ */
+public class ConnectionPoolBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int WARMUP = 2_000;
+    private static final int QUERIES = 20_000;
+    private static final String LOOKUP = "SELECT * FROM questions WHERE id = ?";
+
+    /** A way of obtaining a connection for one query. */
+    private interface ConnectionSource { Connection get() throws SQLException; }
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args ignored command-line arguments
+     * @throws Exception if the database cannot be prepared
+     */
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("bb-pool-bench", ".db");
+        String url = "jdbc:sqlite:" + file;
+        seed(url);
+
+        double direct = run(() -> DriverManager.getConnection(url));
+        double pooled;
+        try (ConnectionPool pool = new ConnectionPool(url)) {
+            pooled = run(pool::borrow);
+        }
+
+        System.out.printf("DriverManager per query : %8.1f us/query%n", direct);
+        System.out.printf("ConnectionPool          : %8.1f us/query%n", pooled);
+        System.out.printf("Speed-up                : %8.1fx%n", direct / pooled);
+        Files.deleteIfExists(file);
+    }
+
+    /** Runs the lookup loop and returns the mean latency in microseconds. */
+    private static double run(ConnectionSource source) throws SQLException {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += lookup(source, i);
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) sink += lookup(source, i);
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.println(); // keep the JIT honest
+        return elapsed / 1_000.0 / QUERIES;
+    }
+
+    private static long lookup(ConnectionSource source, int i) throws SQLException {
+        try (Connection c = source.get(); PreparedStatement ps = c.prepareStatement(LOOKUP)) {
+            ps.setLong(1, 1 + (i % ROWS));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong("id") : 0;
+            }
+        }
+    }
+
+    private static void seed(String url) throws SQLException {
+        try (Connection c = DriverManager.getConnection(url); Statement st = c.createStatement()) {
+            st.execute("""
+                CREATE TABLE questions (
+                  id INTEGER PRIMARY KEY AUTOINCREMENT,
+                  category TEXT NOT NULL,
+                  text TEXT NOT NULL,
+                  type TEXT NOT NULL,
+                  options_text TEXT,
+                  correct_index INTEGER,
+                  difficulty INTEGER NOT NULL DEFAULT 1
+                )
+            """);
+            c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO questions(category,text,type,options_text,correct_index,difficulty) VALUES(?,?,?,?,?,?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    ps.setString(1, "General");
+                    ps.setString(2, "Question " + i);
+                    ps.setString(3, "MCQ");
+                    ps.setString(4, "A||B||C||D");
+                    ps.setInt(5, i % 4);
+                    ps.setInt(6, 1 + i % 4);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            c.commit();
+        }
+    }
+}
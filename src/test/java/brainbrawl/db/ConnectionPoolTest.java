@@ -0,0 +1,125 @@
+package brainbrawl.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ConnectionPool} class.
+ * <p>
+ * Each test runs against a fresh SQLite file in a temporary directory
+ * so that pooled connections can be shared between borrows.
+ */
+public class ConnectionPoolTest {
+
+    @TempDir
+    Path dir;
+
+    private String url;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:sqlite:" + dir.resolve("pool-test.db");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) pool.close();
+    }
+
+    /**
+     * Verifies that closing a borrowed connection returns it to the pool
+     * and that the next borrow reuses the same physical connection.
+     */
+    @Test
+    void closedConnectionIsReused() throws SQLException {
+        pool = new ConnectionPool(url, 2, 60_000, 0, 1_000);
+
+        String first;
+        try (Connection c = pool.borrow()) {
+            first = c.toString();
+            assertEquals(1, pool.activeCount());
+        }
+        assertEquals(0, pool.activeCount());
+        assertEquals(1, pool.idleCount());
+
+        try (Connection c = pool.borrow()) {
+            assertEquals(first, c.toString());
+        }
+    }
+
+    /**
+     * Ensures that a caller waits for at most the borrow timeout
+     * when every connection in the pool is already in use.
+     */
+    @Test
+    void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        pool = new ConnectionPool(url, 1, 60_000, 0, 50);
+        Connection held = pool.borrow();
+        try {
+            assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        } finally {
+            held.close();
+        }
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+        }
+    }
+
+    /**
+     * Confirms that a transaction left open by one borrower is rolled back
+     * before the connection is handed to the next one.
+     */
+    @Test
+    void unfinishedTransactionIsRolledBackOnReturn() throws SQLException {
+        pool = new ConnectionPool(url, 1, 60_000, 0, 1_000);
+        try (Connection c = pool.borrow(); Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE t(x INTEGER)");
+        }
+        try (Connection c = pool.borrow(); Statement st = c.createStatement()) {
+            c.setAutoCommit(false);
+            st.executeUpdate("INSERT INTO t VALUES (1)");
+        }
+        try (Connection c = pool.borrow(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM t")) {
+            assertTrue(c.getAutoCommit());
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    /**
+     * Verifies that a connection past its maximum lifetime is retired
+     * instead of being put back into the pool.
+     */
+    @Test
+    void expiredConnectionIsRetired() throws Exception {
+        pool = new ConnectionPool(url, 1, 1, 0, 1_000);
+        Connection c = pool.borrow();
+        Thread.sleep(5);
+        c.close();
+        assertEquals(0, pool.idleCount());
+    }
+
+    /**
+     * Ensures that a returned connection can no longer be used by its previous borrower.
+     */
+    @Test
+    void returnedConnectionRejectsFurtherUse() throws SQLException {
+        pool = new ConnectionPool(url, 1, 60_000, 0, 1_000);
+        Connection c = pool.borrow();
+        c.close();
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, c::createStatement);
+    }
+}
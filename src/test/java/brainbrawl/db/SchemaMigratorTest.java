@@ -0,0 +1,149 @@
+package brainbrawl.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SchemaMigrator} class and the {@link Migrations} list.
+ * <p>
+ * Each test migrates a fresh SQLite file in a temporary directory.
+ */
+public class SchemaMigratorTest {
+
+    @TempDir
+    Path dir;
+
+    private Connection c;
+
+    @BeforeEach
+    void open() throws SQLException {
+        c = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("migrate.db"));
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        c.close();
+    }
+
+    /**
+     * Verifies that an empty database is brought to the latest version,
+     * with the tables and indexes in place, and that a second run is a no-op.
+     */
+    @Test
+    void migratesEmptyDatabaseToLatestVersion() throws SQLException {
+        int applied = SchemaMigrator.migrate(c, Migrations.ALL);
+
+        assertEquals(Migrations.ALL.size(), applied);
+        assertEquals(Migrations.ALL.size(), SchemaMigrator.currentVersion(c));
+        assertTrue(exists("table", "users"));
+        assertTrue(exists("index", "idx_questions_category_difficulty"));
+        assertTrue(exists("index", "idx_results_created_at_ms"));
+        assertEquals(0, SchemaMigrator.migrate(c, Migrations.ALL));
+    }
+
+    /**
+     * Ensures that a database created before migrations existed (tables present,
+     * {@code user_version} still 0) is adopted without losing data.
+     */
+    @Test
+    void adoptsLegacyDatabase() throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE questions (id INTEGER PRIMARY KEY AUTOINCREMENT, category TEXT NOT NULL, "
+                    + "text TEXT NOT NULL, type TEXT NOT NULL, options_text TEXT, correct_index INTEGER, "
+                    + "difficulty INTEGER NOT NULL DEFAULT 1)");
+            st.execute("INSERT INTO questions(category, text, type) VALUES ('General', 'Q?', 'SHORT')");
+        }
+
+        SchemaMigrator.migrate(c, Migrations.ALL);
+
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM questions WHERE text = 'Q?'")) {
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    /**
+     * Verifies that results stored before V4 get their {@code created_at_ms}
+     * backfilled from the text timestamp.
+     */
+    @Test
+    void backfillsResultTimestamps() throws SQLException {
+        SchemaMigrator.migrate(c, Migrations.ALL.subList(0, 3));
+        try (Statement st = c.createStatement()) {
+            st.execute("INSERT INTO results(category, difficulty, score, total, seconds_per_question, created_at) "
+                    + "VALUES ('Maths', 1, 5, 10, 30, '2025-01-02 03:04:05')");
+        }
+
+        SchemaMigrator.migrate(c, Migrations.ALL);
+
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("SELECT created_at_ms FROM results")) {
+            assertEquals(1_735_787_045_000L, rs.getLong(1));
+        }
+    }
+
+    /**
+     * Ensures that the built-in General Knowledge and Geography banks are
+     * seeded into the questions table, four levels each.
+     */
+    @Test
+    void seedsBuiltInQuestionBanks() throws SQLException {
+        SchemaMigrator.migrate(c, Migrations.ALL);
+
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery(
+                "SELECT category, COUNT(DISTINCT difficulty), COUNT(*) FROM questions GROUP BY category ORDER BY category")) {
+            assertTrue(rs.next());
+            assertEquals("General", rs.getString(1));
+            assertEquals(4, rs.getInt(2));
+            assertEquals(52, rs.getInt(3));
+            assertTrue(rs.next());
+            assertEquals("Geography", rs.getString(1));
+            assertEquals(4, rs.getInt(2));
+            assertEquals(46, rs.getInt(3));
+        }
+    }
+
+    /**
+     * Confirms that a failing migration is rolled back and the recorded
+     * version stays at the last migration that succeeded.
+     */
+    @Test
+    void failedMigrationLeavesPreviousVersion() throws SQLException {
+        List<Migration> migrations = List.of(
+                Migration.sql(1, "create t", "CREATE TABLE t(x INTEGER)"),
+                Migration.sql(2, "broken", "CREATE TABLE u(y INTEGER)", "THIS IS NOT SQL"));
+
+        assertThrows(SQLException.class, () -> SchemaMigrator.migrate(c, migrations));
+        assertEquals(1, SchemaMigrator.currentVersion(c));
+        assertFalse(exists("table", "u"));
+    }
+
+    /**
+     * Ensures that migrations must be numbered without gaps.
+     */
+    @Test
+    void rejectsGapsInVersionNumbers() {
+        List<Migration> migrations = List.of(
+                Migration.sql(1, "one", "SELECT 1"),
+                Migration.sql(3, "three", "SELECT 1"));
+        assertThrows(IllegalArgumentException.class, () -> SchemaMigrator.migrate(c, migrations));
+    }
+
+    private boolean exists(String type, String name) throws SQLException {
+        try (var ps = c.prepareStatement("SELECT 1 FROM sqlite_master WHERE type = ? AND name = ?")) {
+            ps.setString(1, type);
+            ps.setString(2, name);
+            try (ResultSet rs = ps.executeQuery()) { return rs.next(); }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package brainbrawl.db;
+
+import brainbrawl.dao.ResultDao;
+import brainbrawl.dao.ResultDaoJdbc;
+import brainbrawl.dao.TempDb;
+import brainbrawl.model.GameResult;
+import brainbrawl.model.UserStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link StatsRollup} class and the rollup maintained by
+ * {@link ResultDaoJdbc}.
+ */
+public class StatsRollupTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    private ResultDao dao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dao = new ResultDaoJdbc();
+        try (Connection c = Db.connect(); Statement st = c.createStatement()) {
+            st.executeUpdate("INSERT INTO users(id, username, password_hash, salt) VALUES (1,'amy','x','y'), (2,'ben','x','y')");
+        }
+    }
+
+    private static GameResult game(long user, String category, int score, long at) {
+        return new GameResult(null, user, category, 1, score, 10, 30, null, at);
+    }
+
+    /**
+     * Verifies that totals, best score and streaks follow each saved result, and that
+     * unattributed results are left out.
+     */
+    @Test
+    void rollupTracksTotalsAndStreaks() {
+        dao.create(game(1, "Maths", 6, 1_000));
+        dao.createAll(List.of(game(1, "Maths", 9, 2_000), game(1, "Maths", 7, 3_000), game(2, "Maths", 2, 3_500)));
+        dao.create(game(1, "Maths", 3, 4_000));
+        dao.create(game(1, "Maths", 5, 5_000));
+        dao.create(new GameResult(null, "Maths", 1, 10, 10, 30, null, 6_000L));
+
+        List<UserStats> amy = dao.findStatsForUser(1);
+        assertEquals(1, amy.size());
+        UserStats s = amy.get(0);
+        assertEquals(5, s.getGames());
+        assertEquals(30, s.getTotalScore());
+        assertEquals(50, s.getTotalQuestions());
+        assertEquals(9, s.getBestScore());
+        assertEquals(1, s.getCurrentStreak());
+        assertEquals(3, s.getBestStreak());
+        assertEquals(5_000, s.getLastPlayedMillis());
+        assertEquals(0.6, s.accuracy(), 1e-9);
+
+        assertEquals(0, dao.findStatsForUser(2).get(0).getCurrentStreak());
+    }
+
+    /**
+     * Verifies that rebuilding from the results table reproduces the incrementally
+     * maintained rollup.
+     */
+    @Test
+    void rebuildMatchesIncrementalRollup() throws Exception {
+        dao.createAll(List.of(game(1, "Maths", 6, 1_000), game(1, "General", 2, 2_000), game(1, "Maths", 8, 3_000)));
+        List<UserStats> before = dao.findStatsForUser(1);
+
+        try (Connection c = Db.connect()) {
+            assertEquals(3, StatsRollup.rebuild(c));
+        }
+        List<UserStats> after = dao.findStatsForUser(1);
+
+        assertEquals(2, after.size());
+        for (int i = 0; i < after.size(); i++) {
+            assertEquals(before.get(i).getCategory(), after.get(i).getCategory());
+            assertEquals(before.get(i).getGames(), after.get(i).getGames());
+            assertEquals(before.get(i).getTotalScore(), after.get(i).getTotalScore());
+            assertEquals(before.get(i).getBestStreak(), after.get(i).getBestStreak());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package brainbrawl.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link StorageProfile} enum.
+ * <p>
+ * Verifies that pooled connections come out configured with the
+ * PRAGMAs of the selected profile.
+ */
+public class StorageProfileTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Confirms that the fast profile switches the database to WAL mode,
+     * relaxes syncing to NORMAL and keeps temporary tables in memory.
+     */
+    @Test
+    void fastProfileUsesWalAndNormalSync() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + dir.resolve("fast.db"), StorageProfile.FAST::apply);
+             Connection c = pool.borrow()) {
+            assertEquals("wal", pragma(c, "journal_mode"));
+            assertEquals("1", pragma(c, "synchronous"));
+            assertEquals("2", pragma(c, "temp_store"));
+        }
+    }
+
+    /**
+     * Confirms that the durable profile keeps WAL mode but syncs on every commit.
+     */
+    @Test
+    void durableProfileUsesFullSync() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + dir.resolve("durable.db"), StorageProfile.DURABLE::apply);
+             Connection c = pool.borrow()) {
+            assertEquals("wal", pragma(c, "journal_mode"));
+            assertEquals("2", pragma(c, "synchronous"));
+        }
+    }
+
+    private static String pragma(Connection c, String name) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("PRAGMA " + name)) {
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package brainbrawl.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static brainbrawl.math.MathProblem.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the expression-tree engine: {@link Rational}, {@link Expression},
+ * {@link Grammar}, {@link ProblemPool} and {@link MathEngine}.
+ */
+public class MathEngineTest {
+
+    private static Expression expr(int... code) {
+        return new Expression(code);
+    }
+
+    /**
+     * Verifies exact rational arithmetic, including normalisation and division by zero.
+     */
+    @Test
+    void rationalArithmeticIsExact() {
+        Rational third = Rational.of(2, -6);
+        assertEquals("-1/3", third.toString());
+        assertEquals(Rational.ONE, third.multiply(Rational.of(-3)));
+        assertEquals(Rational.of(1, 6), Rational.of(1, 2).add(third));
+        assertThrows(ArithmeticException.class, () -> Rational.ONE.divide(Rational.ZERO));
+        assertThrows(ArithmeticException.class, () -> Rational.of(1, 3).intValueExact());
+    }
+
+    /**
+     * Verifies evaluation, minimal parenthesisation and commutative deduplication.
+     */
+    @Test
+    void expressionsEvaluateRenderAndHash() {
+        // (7 - 3) ÷ 8  ->  1/2
+        Expression e = expr(Expression.constant(7), Expression.constant(3), Expression.operator(SUB),
+                Expression.constant(8), Expression.operator(DIV));
+        assertEquals(Rational.of(1, 2), e.evaluate(null));
+        assertEquals("(7 - 3) ÷ 8", e.toString());
+        assertEquals(2, e.depth());
+
+        // 7 - (3 + -2) keeps its parentheses; 7 × 3 + 2 needs none
+        assertEquals("7 - (3 + (-2))", expr(Expression.constant(7), Expression.constant(3), Expression.constant(-2),
+                Expression.operator(ADD), Expression.operator(SUB)).toString());
+        assertEquals("7 × 3 + 2", expr(Expression.constant(7), Expression.constant(3), Expression.operator(MUL),
+                Expression.constant(2), Expression.operator(ADD)).toString());
+
+        // 3x + 2 at x = 5
+        Expression linear = expr(Expression.constant(3), Expression.variable(), Expression.operator(MUL),
+                Expression.constant(2), Expression.operator(ADD));
+        assertEquals("3x + 2", linear.toString());
+        assertEquals(Rational.of(17), linear.evaluate(Rational.of(5)));
+
+        long a = expr(Expression.constant(3), Expression.constant(4), Expression.operator(ADD)).canonicalHash();
+        long b = expr(Expression.constant(4), Expression.constant(3), Expression.operator(ADD)).canonicalHash();
+        long c = expr(Expression.constant(4), Expression.constant(3), Expression.operator(SUB)).canonicalHash();
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+
+        assertThrows(IllegalArgumentException.class, () -> expr(Expression.constant(1), Expression.operator(ADD)));
+    }
+
+    /**
+     * Verifies that every pooled problem fits its level: whole answers and intermediate
+     * results, exact divisions, answer and depth limits, and unique solutions to equations.
+     */
+    @Test
+    void standardLevelsOnlyProduceValidProblems() {
+        MathEngine engine = new MathEngine(Grammar.levels(), 500, 3);
+        for (int level = 1; level <= engine.levels(); level++) {
+            ProblemPool pool = engine.pool(level);
+            assertTrue(pool.size() >= 250, "level " + level + " has " + pool.size());
+            Set<String> texts = new HashSet<>();
+            for (int i = 0; i < pool.size(); i++) {
+                Problem p = pool.get(i);
+                assertTrue(p.getAnswer().isInteger(), p.toString());
+                assertTrue(texts.add(p.text()), "duplicate " + p);
+                assertEquals(level == 4, p.isEquation());
+                if (p.isEquation()) {
+                    assertEquals(p.getRightHandSide(), p.getExpression().evaluate(p.getAnswer()));
+                    assertTrue(Math.abs(p.getAnswer().intValueExact()) <= 10);
+                } else {
+                    assertEquals(p.getAnswer(), p.getExpression().evaluate(null));
+                }
+            }
+        }
+        assertSame(engine.pool(2), engine.pool(2));
+    }
+
+    /**
+     * Verifies that a rational grammar can produce fractional answers, which an integer
+     * grammar with the same shape never does.
+     */
+    @Test
+    void rationalGrammarAllowsFractions() {
+        Grammar fractions = new Grammar(2, 3, 3, Grammar.ops(ADD, DIV), 1, 9, false, 1000);
+        ProblemPool pool = ProblemPool.build(fractions, 200, new SplittableRandom(5));
+        boolean sawFraction = false;
+        for (int i = 0; i < pool.size(); i++) sawFraction |= !pool.get(i).getAnswer().isInteger();
+        assertTrue(sawFraction);
+    }
+
+    /**
+     * Verifies that pools depend only on the seed, and that a deck has no repeats while the
+     * pool is large enough.
+     */
+    @Test
+    void poolsAreSeededAndDecksDistinct() {
+        List<Problem> a = new MathEngine(Grammar.levels(), 300, 11).deck(3, 20, new SplittableRandom(1));
+        List<Problem> b = new MathEngine(Grammar.levels(), 300, 11).deck(3, 20, new SplittableRandom(1));
+        assertEquals(a.stream().map(Problem::text).toList(), b.stream().map(Problem::text).toList());
+        assertEquals(20, new HashSet<>(a).size());
+
+        ProblemPool tiny = ProblemPool.build(new Grammar(1, 1, 1, Grammar.ops(ADD), 1, 2, true, 10), 100,
+                new SplittableRandom(1));
+        assertEquals(3, tiny.size()); // 1+1, 1+2, 2+2
+        assertEquals(7, tiny.draw(7, new SplittableRandom(2)).size());
+    }
+}
@@ -0,0 +1,77 @@
+package brainbrawl.math;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how fast {@link MathGenerator} produces problems, and confirms it allocates nothing.
+ * <p>
+ * Each thread gets its own generator from {@link MathGenerator#split()} and checks every problem
+ * with {@link MathProblem#answer(long)}, as a server would when grading. Rendering text is
+ * measured separately, since the quiz only renders the few problems it shows.
+ * <p>
+ * This is not a JUnit test — run it manually:
+ * <pre>mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=brainbrawl.math.MathGeneratorBenchmark</pre>
+ */
+public class MathGeneratorBenchmark {
+
+    private static final int OPS = 20_000_000;
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args ignored command-line arguments
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        MathGenerator root = new MathGenerator(2024);
+        generate(root, OPS); // warm-up
+
+        long before = allocatedBytes();
+        long t0 = System.nanoTime();
+        long sink = generate(root, OPS);
+        double ns = (double) (System.nanoTime() - t0) / OPS;
+        long allocated = allocatedBytes() - before;
+        System.out.printf("1 thread   : %6.1f ns/problem, %,.0f problems/s, %d bytes allocated%n",
+                ns, 1e9 / ns, allocated);
+        System.out.printf("%d threads  : %,.0f problems/s%n", cores, parallel(root, cores));
+
+        StringBuilder sb = new StringBuilder(32);
+        int rendered = OPS / 10;
+        t0 = System.nanoTime();
+        for (int i = 0; i < rendered; i++) {
+            sb.setLength(0);
+            sink += MathProblem.appendText(root.next(1 + (i & 3)), sb).length();
+        }
+        System.out.printf("render     : %6.1f ns/problem%n", (double) (System.nanoTime() - t0) / rendered);
+        if (sink == 42) System.out.println(); // keep the work observable
+    }
+
+    private static long generate(MathGenerator g, int n) {
+        long sum = 0;
+        for (int i = 0; i < n; i++) sum += MathProblem.answer(g.next(1 + (i & 3)));
+        return sum;
+    }
+
+    private static double parallel(MathGenerator root, int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            MathGenerator g = root.split();
+            workers[t] = new Thread(() -> {
+                try { start.await(); } catch (InterruptedException e) { return; }
+                generate(g, OPS);
+            });
+            workers[t].start();
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) w.join();
+        return (double) OPS * threads / ((System.nanoTime() - t0) / 1e9);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,83 @@
+package brainbrawl.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static brainbrawl.math.MathProblem.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MathGenerator} and {@link MathProblem} classes.
+ */
+public class MathGeneratorTest {
+
+    /**
+     * Verifies that encoding round-trips signed operands and that text and answers
+     * come out as the quiz shows them.
+     */
+    @Test
+    void encodesRendersAndAnswers() {
+        long p = MathProblem.of(BINARY, MUL, 0, 3, 4, 0);
+        assertEquals("3 × 4 = ?", MathProblem.text(p));
+        assertEquals(12, MathProblem.answer(p));
+
+        p = MathProblem.of(CHAIN, DIV, ADD, 6, 2, 5);
+        assertEquals("(6 ÷ 2) + 5 = ?", MathProblem.text(p));
+        assertEquals(8, MathProblem.answer(p));
+
+        p = MathProblem.of(GROUPED, DIV, 0, -40, 4, 0);
+        assertEquals("(-40 ÷ 4) = ?", MathProblem.text(p));
+        assertEquals(-10, MathProblem.answer(p));
+
+        p = MathProblem.of(LINEAR, 0, 0, 3, -2, 7);
+        assertEquals("Solve for x: 3x + -2 = 7", MathProblem.text(p));
+        assertEquals(3, MathProblem.answer(p));
+        assertEquals(-2, MathProblem.b(p));
+        assertEquals(LINEAR, MathProblem.shape(p));
+    }
+
+    /**
+     * Verifies that the same seed always gives the same deck and another seed a different one.
+     */
+    @Test
+    void decksAreReproducible() {
+        for (int level = 1; level <= 4; level++) {
+            assertArrayEquals(MathGenerator.deck(7, level, 100), MathGenerator.deck(7, level, 100));
+        }
+        assertFalse(Arrays.equals(MathGenerator.deck(7, 3, 100), MathGenerator.deck(8, 3, 100)));
+        assertArrayEquals(MathGenerator.deck(9, 2, 50), new MathGenerator(9).stream(2, 50).toArray());
+    }
+
+    /**
+     * Verifies over many problems that every division is exact, every equation has an integer
+     * solution in range, and each level only produces its own shapes.
+     */
+    @Test
+    void generatedProblemsAreWellFormed() {
+        MathGenerator g = new MathGenerator(1);
+        for (int i = 0; i < 100_000; i++) {
+            int level = 1 + (i & 3);
+            long p = g.next(level);
+            int shape = MathProblem.shape(p);
+            switch (level) {
+                case 1 -> {
+                    assertEquals(BINARY, shape);
+                    assertNotEquals(DIV, MathProblem.op1(p));
+                }
+                case 2 -> assertEquals(BINARY, shape);
+                case 3 -> assertTrue(shape == CHAIN || shape == GROUPED);
+                case 4 -> {
+                    assertEquals(LINEAR, shape);
+                    assertEquals(0, (MathProblem.c(p) - MathProblem.b(p)) % MathProblem.a(p));
+                    int x = MathProblem.answer(p);
+                    assertTrue(x >= -10 && x <= 10, "x = " + x);
+                }
+            }
+            if (shape != LINEAR && MathProblem.op1(p) == DIV) {
+                assertEquals(0, MathProblem.a(p) % MathProblem.b(p), MathProblem.text(p));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> g.next(5));
+    }
+}
@@ -0,0 +1,204 @@
+package brainbrawl.quiz;
+
+import brainbrawl.model.AnswerEvent;
+import brainbrawl.model.GameResult;
+import brainbrawl.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the adaptive mode: {@link RatingModel}, {@link DifficultyIndex} and
+ * {@link AdaptiveEngine}.
+ */
+public class AdaptiveEngineTest {
+
+    /** Five multiple-choice questions per level; the ID's hundreds digit is the level. */
+    private static List<QuizItem> items(String category, int level) {
+        List<QuizItem> out = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            out.add(new QuizItem(level * 100L + i, category + " L" + level, List.of("yes", "no"), 0));
+        }
+        return out;
+    }
+
+    private static int level(QuizItem q) {
+        return (int) (q.getQuestionId() / 100);
+    }
+
+    /**
+     * Verifies that a right answer raises the player and lowers the question, a wrong one
+     * does the opposite, and a fast right answer gains more than a slow one.
+     */
+    @Test
+    void ratingsMoveWithAnswersAndSpeed() {
+        RatingModel m = new RatingModel();
+        m.seedQuestion(1, 1000);
+        double q = m.update(7, 1, RatingModel.score(true, 1_000, 30_000));
+        assertTrue(m.playerRating(7) > RatingModel.INITIAL_RATING);
+        assertTrue(q < 1000);
+
+        m.update(8, 1, RatingModel.score(false, 1_000, 30_000));
+        assertTrue(m.playerRating(8) < RatingModel.INITIAL_RATING);
+        assertTrue(m.questionRating(1, 0) > q);
+
+        RatingModel fast = new RatingModel(), slow = new RatingModel();
+        fast.update(1, 1, RatingModel.score(true, 2_000, 30_000));
+        slow.update(1, 1, RatingModel.score(true, 28_000, 30_000));
+        assertTrue(fast.playerRating(1) > slow.playerRating(1));
+        assertEquals(RatingModel.SLOW_CORRECT_SCORE, RatingModel.score(true, 60_000, 30_000), 1e-9);
+        assertEquals(RatingModel.TARGET_SUCCESS,
+                RatingModel.expected(1200, RatingModel.targetFor(1200)), 1e-9);
+    }
+
+    /**
+     * Verifies that the index finds the nearest band, moves questions between bands and
+     * honours exclusions.
+     */
+    @Test
+    void indexPicksNearestBandAndMovesQuestions() {
+        DifficultyIndex idx = new DifficultyIndex();
+        QuizItem easy = QuizItem.typed("easy", 1), hard = QuizItem.typed("hard", 2);
+        idx.add(1, easy, 700);
+        idx.add(2, hard, 1300);
+        SplittableRandom r = new SplittableRandom(1);
+
+        assertSame(hard, idx.item(idx.pick(1250, k -> false, r)));
+        assertSame(easy, idx.item(idx.pick(1250, k -> k == 2, r)));
+        assertEquals(-1, idx.pick(1000, k -> true, r));
+
+        idx.update(2, 600);
+        assertEquals(0, idx.bandSize(DifficultyIndex.band(1300)));
+        assertEquals(1, idx.bandSize(DifficultyIndex.band(600)));
+        assertSame(hard, idx.item(idx.pick(600, k -> false, r)));
+        assertEquals(2, idx.size());
+    }
+
+    /**
+     * Verifies that a player who keeps answering quickly and correctly is moved up to harder
+     * levels, one who keeps failing is moved down, and no question is asked twice.
+     */
+    @Test
+    void deckFollowsThePlayerWithoutRepeats() {
+        AdaptiveEngine engine = new AdaptiveEngine(AdaptiveEngineTest::items, 4);
+        SplittableRandom r = new SplittableRandom(42);
+
+        QuizDeck strong = engine.deck("General", 7L, 12, r);
+        Set<Long> seen = new HashSet<>();
+        QuizItem q = null;
+        for (int i = 0; i < strong.size(); i++) {
+            q = strong.next(i);
+            assertTrue(seen.add(q.getQuestionId()), "repeated " + q.getQuestionId());
+            strong.answered(q, true, 1_000, 60_000);
+        }
+        assertEquals(4, level(q));
+        assertTrue(engine.playerRating("General", 7L) > RatingModel.INITIAL_RATING);
+
+        QuizDeck weak = engine.deck("General", null, 8, r);
+        for (int i = 0; i < weak.size(); i++) {
+            q = weak.next(i);
+            weak.answered(q, false, 60_000, 60_000);
+        }
+        assertEquals(1, level(q));
+        assertTrue(engine.playerRating("General", null) < RatingModel.INITIAL_RATING);
+        assertEquals(RatingModel.INITIAL_RATING, engine.playerRating("Geography", 7L));
+    }
+
+    /**
+     * Verifies that a new source version makes the next deck see added questions and stop
+     * serving deleted ones.
+     */
+    @Test
+    void deckSeesQuestionBankChanges() {
+        List<QuizItem> bank = new ArrayList<>(List.of(new QuizItem(1L, "old", List.of("a", "b"), 0)));
+        long[] version = {1};
+        AdaptiveEngine engine = new AdaptiveEngine(new AdaptiveEngine.ItemSource() {
+            @Override
+            public List<QuizItem> items(String category, int level) { return List.copyOf(bank); }
+
+            @Override
+            public long version(String category) { return version[0]; }
+        }, 1);
+        assertEquals(1L, engine.deck("General", 7L, 5, new SplittableRandom(1)).next(0).getQuestionId());
+
+        bank.set(0, new QuizItem(2L, "new", List.of("a", "b"), 0));
+        assertEquals(1L, engine.deck("General", 7L, 5, new SplittableRandom(1)).next(0).getQuestionId());
+        version[0]++;
+        QuizDeck deck = engine.deck("General", 7L, 5, new SplittableRandom(1));
+        assertEquals(2L, deck.next(0).getQuestionId());
+        deck.answered(null, true, 1_000, 60_000);
+        assertNull(deck.next(1));
+    }
+
+    /**
+     * Verifies that a short-answer question in a bank neither breaks the category's index nor
+     * is ever served, even after the bank changes.
+     */
+    @Test
+    void shortAnswerQuestionsAreLeftOutOfTheIndex() {
+        List<Question> bank = new ArrayList<>(List.of(
+                new Question(1L, "General", "Capital of France?", Question.Type.MCQ, List.of("Rome", "Paris"), 1, 1),
+                Question.shortAns("General", "Name a river", 1)));
+        long[] version = {1};
+        AdaptiveEngine engine = new AdaptiveEngine(new AdaptiveEngine.ItemSource() {
+            @Override
+            public List<QuizItem> items(String category, int level) { return QuizItem.ofPlayable(bank); }
+
+            @Override
+            public long version(String category) { return version[0]; }
+        }, 1);
+
+        QuizDeck deck = engine.deck("General", 7L, 5, new SplittableRandom(1));
+        assertEquals(1, deck.size());
+        assertEquals(1L, deck.next(0).getQuestionId());
+
+        bank.add(new Question(3L, "General", "Spell 'river'", Question.Type.SHORT, List.of(), null, 1));
+        version[0]++;
+        assertEquals(1, engine.deck("General", 7L, 5, new SplittableRandom(1)).size());
+    }
+
+    /**
+     * Verifies that an adaptive deck only promises the questions the category has, so the
+     * session marks the real last question, and that the result records the adaptive level
+     * while each answer records its question's level.
+     */
+    @Test
+    void sessionKnowsTheLastQuestionOfAShortCategory() {
+        AdaptiveEngine engine = new AdaptiveEngine(AdaptiveEngineTest::items, 1);
+        List<GameResult> results = new ArrayList<>();
+        List<AnswerEvent> answers = new ArrayList<>();
+        QuizRecorder recorder = new QuizRecorder() {
+            @Override
+            public void answered(AnswerEvent e) { answers.add(e); }
+
+            @Override
+            public CompletableFuture<Long> finished(GameResult res) {
+                results.add(res);
+                return CompletableFuture.completedFuture(1L);
+            }
+        };
+        QuizSession s = new QuizSession("General", QuizSession.ADAPTIVE,
+                engine.deck("General", 3L, 10, new SplittableRandom(5)), QuizSession.ADAPTIVE_SECONDS,
+                3L, recorder, QuizView.NONE, () -> 0L);
+        assertEquals(5, s.size());
+        s.start();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i == 4, s.submit(0).isLast());
+            s.next();
+        }
+        assertEquals(QuizSession.Phase.FINISHED, s.getPhase());
+        assertEquals(1, results.size());
+        assertEquals(QuizSession.ADAPTIVE, results.get(0).getDifficulty());
+        assertEquals(5, results.get(0).getTotal());
+        assertEquals(5, results.get(0).getScore());
+        assertEquals(5, answers.size());
+        assertTrue(answers.stream().allMatch(a -> a.getDifficulty() == 1), "answers keep the question's level");
+    }
+}
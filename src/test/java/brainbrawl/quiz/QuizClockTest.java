@@ -0,0 +1,86 @@
+package brainbrawl.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuizClock} class.
+ */
+public class QuizClockTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final long[] now = {0};
+
+    private QuizSession session(int questions, int seconds, QuizView view) {
+        List<QuizItem> items = Collections.nCopies(questions, QuizItem.typed("1 + 1 = ?", 2));
+        QuizSession s = new QuizSession("Maths", 1, items, seconds, null, QuizRecorder.NONE, view, () -> now[0]);
+        s.start();
+        return s;
+    }
+
+    /**
+     * Verifies that one tick drives every registered countdown and that finished
+     * sessions drop off the clock.
+     */
+    @Test
+    void ticksAllSessionsAndDropsFinishedOnes() {
+        QuizClock clock = new QuizClock();
+        QuizSession shortOne = session(1, 5, QuizView.NONE);
+        QuizSession longOne = session(1, 30, QuizView.NONE);
+        clock.register(shortOne);
+        clock.register(longOne);
+
+        now[0] = 5 * SECOND;
+        clock.tick();
+        assertEquals(QuizSession.Phase.REVIEWING, shortOne.getPhase());
+        assertEquals(QuizSession.Phase.ASKING, longOne.getPhase());
+
+        now[0] += QuizSession.AUTO_ADVANCE_NANOS;
+        clock.tick();
+        assertEquals(QuizSession.Phase.FINISHED, shortOne.getPhase());
+        assertEquals(1, clock.size());
+
+        now[0] = 30 * SECOND;
+        clock.tick();
+        now[0] += QuizSession.AUTO_ADVANCE_NANOS;
+        clock.tick();
+        assertTrue(clock.isIdle());
+    }
+
+    /**
+     * Verifies that a session may cancel its own or another registration from inside
+     * a callback while the clock is ticking, and that later sessions are still ticked.
+     */
+    @Test
+    void cancelDuringTick() {
+        QuizClock clock = new QuizClock();
+        QuizClock.Registration[] other = new QuizClock.Registration[1];
+        int[] timesShown = new int[1];
+        QuizSession first = session(3, 10, new QuizView() {
+            @Override public void showTime(int secondsLeft) { if (secondsLeft < 10) other[0].cancel(); }
+        });
+        QuizSession second = session(3, 10, QuizView.NONE);
+        QuizSession third = session(3, 10, new QuizView() {
+            @Override public void showTime(int secondsLeft) { timesShown[0]++; }
+        });
+        clock.register(first);
+        other[0] = clock.register(second);
+        clock.register(third);
+
+        now[0] = 2 * SECOND;
+        clock.tick();
+        assertTrue(other[0].isCancelled());
+        assertEquals(2, clock.size());
+        assertEquals(2, timesShown[0]); // once on start, once on this tick
+
+        now[0] = 20 * SECOND;
+        clock.tick();
+        assertEquals(QuizSession.Phase.ASKING, second.getPhase(), "cancelled session is no longer ticked");
+        assertEquals(QuizSession.Phase.REVIEWING, third.getPhase());
+    }
+}
@@ -0,0 +1,70 @@
+package brainbrawl.quiz;
+
+import brainbrawl.math.MathGenerator;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how many complete {@link QuizSession}s can be simulated per second without a UI.
+ * <p>
+ * Every thread plays ten-question Maths quizzes against {@link QuizRecorder#NONE}, answering
+ * each question right or wrong at random and ticking the session once per question, so the
+ * figure covers question generation, sequencing, scoring and building the answer events and
+ * the result. Persistence is left out; the write-behind queues have benchmarks of their own.
+ * <p>
+ * This is not a JUnit test — run it manually:
+ * <pre>mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=brainbrawl.quiz.QuizSessionBenchmark</pre>
+ */
+public class QuizSessionBenchmark {
+
+    private static final int SESSIONS = 200_000;
+    private static final int QUESTIONS = 10;
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args ignored command-line arguments
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        run(1); // warm-up
+        System.out.printf("1 thread   : %,10.0f sessions/s%n", run(1));
+        System.out.printf("%d threads  : %,10.0f sessions/s%n", cores, run(cores));
+    }
+
+    private static double run(int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers[t] = new Thread(() -> {
+                Random r = new Random(seed);
+                MathGenerator gen = new MathGenerator(seed);
+                long[] clock = {0};
+                try { start.await(); } catch (InterruptedException e) { return; }
+                for (int i = 0; i < SESSIONS; i++) {
+                    int level = 1 + (i & 3);
+                    List<QuizItem> items = MathQuestions.generate(QUESTIONS, level, gen);
+                    QuizSession s = new QuizSession("Maths", level, items, QuizSession.secondsFor(level), null,
+                            QuizRecorder.NONE, QuizView.NONE, () -> clock[0]);
+                    s.start();
+                    while (s.getPhase() != QuizSession.Phase.FINISHED) {
+                        clock[0] += 1_500_000_000L;
+                        s.tick();
+                        s.submit(r.nextBoolean() ? s.current().getAnswer() : -1);
+                        s.next();
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) w.join();
+        long elapsed = System.nanoTime() - t0;
+        return (double) SESSIONS * threads / (elapsed / 1e9);
+    }
+}
@@ -0,0 +1,161 @@
+package brainbrawl.quiz;
+
+import brainbrawl.math.MathGenerator;
+import brainbrawl.model.AnswerEvent;
+import brainbrawl.model.GameResult;
+import brainbrawl.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuizSession} class.
+ * <p>
+ * Sessions are driven headlessly with a fake clock and an in-memory recorder.
+ */
+public class QuizSessionTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    /** A recorder that keeps everything in lists. */
+    private static final class Captured implements QuizRecorder {
+        final List<AnswerEvent> answers = new ArrayList<>();
+        final List<GameResult> results = new ArrayList<>();
+
+        @Override
+        public void answered(AnswerEvent e) { answers.add(e); }
+
+        @Override
+        public CompletableFuture<Long> finished(GameResult r) {
+            results.add(r);
+            return CompletableFuture.completedFuture((long) results.size());
+        }
+    }
+
+    private final long[] now = {0};
+    private final Captured recorder = new Captured();
+
+    private QuizSession session(List<QuizItem> items, QuizView view) {
+        return new QuizSession("General", 2, items, 10, 7L, recorder, view, () -> now[0]);
+    }
+
+    private static List<QuizItem> items() {
+        return List.of(
+                new QuizItem(11L, "Capital of France?", List.of("Rome", "Paris"), 1),
+                new QuizItem(12L, "2 + 2?", List.of("4", "5"), 0),
+                QuizItem.typed("3 × 3 = ?", 9));
+    }
+
+    /**
+     * Verifies scoring, phase changes and that answers and the result reach the recorder once.
+     */
+    @Test
+    void scoresAnswersAndSavesOnce() {
+        QuizSession s = session(items(), QuizView.NONE);
+        s.start();
+        assertEquals(QuizSession.Phase.ASKING, s.getPhase());
+
+        now[0] = 3 * SECOND;
+        assertTrue(s.submit(1).isCorrect());
+        assertEquals(QuizSession.Phase.REVIEWING, s.getPhase());
+        assertThrows(IllegalStateException.class, () -> s.submit(1));
+        s.next();
+
+        assertFalse(s.submit(1).isCorrect());
+        s.next();
+        QuizSession.Outcome last = s.submit(9);
+        assertTrue(last.isCorrect());
+        assertTrue(last.isLast());
+        s.next();
+        s.next(); // ignored once finished
+
+        assertEquals(QuizSession.Phase.FINISHED, s.getPhase());
+        assertEquals(1L, s.saved().join());
+        assertEquals(1, recorder.results.size());
+        GameResult r = recorder.results.get(0);
+        assertEquals(2, r.getScore());
+        assertEquals(3, r.getTotal());
+        assertEquals(7L, r.getUserId());
+
+        assertEquals(3, recorder.answers.size());
+        AnswerEvent first = recorder.answers.get(0);
+        assertEquals(11L, first.getQuestionId());
+        assertEquals(3000, first.getResponseMillis());
+        assertNull(recorder.answers.get(2).getQuestionId());
+    }
+
+    /**
+     * Verifies the countdown, the timeout and the automatic advance after it.
+     */
+    @Test
+    void timesOutAndAdvancesOnTick() {
+        List<Integer> shownTimes = new ArrayList<>();
+        List<Integer> shownQuestions = new ArrayList<>();
+        QuizSession s = session(items(), new QuizView() {
+            @Override public void showQuestion(QuizItem item, int index, int total) { shownQuestions.add(index); }
+            @Override public void showTime(int secondsLeft) { shownTimes.add(secondsLeft); }
+        });
+        s.start();
+
+        now[0] = SECOND / 2;
+        s.tick(); // still 10
+        now[0] = 4 * SECOND;
+        s.tick();
+        now[0] = 10 * SECOND;
+        s.tick();
+        assertEquals(List.of(10, 6, 0), shownTimes);
+        assertEquals(QuizSession.Phase.REVIEWING, s.getPhase());
+        assertFalse(recorder.answers.get(0).isCorrect());
+        assertNull(recorder.answers.get(0).getChosen());
+
+        now[0] += QuizSession.AUTO_ADVANCE_NANOS - 1;
+        s.tick();
+        assertEquals(0, s.getIndex());
+        now[0] += 1;
+        s.tick();
+        assertEquals(1, s.getIndex());
+        assertEquals(List.of(0, 1), shownQuestions);
+    }
+
+    /**
+     * Verifies that many simulated sessions can be driven headlessly, as a load test would.
+     */
+    @Test
+    void drivesManySessionsHeadlessly() {
+        Random r = new Random(42);
+        MathGenerator gen = new MathGenerator(42);
+        int sessions = 2000;
+        for (int i = 0; i < sessions; i++) {
+            List<QuizItem> qs = MathQuestions.generate(10, 1 + i % 4, gen);
+            QuizSession s = session(qs, QuizView.NONE);
+            s.start();
+            while (s.getPhase() != QuizSession.Phase.FINISHED) {
+                s.submit(r.nextBoolean() ? s.current().getAnswer() : null);
+                s.next();
+            }
+        }
+        assertEquals(sessions, recorder.results.size());
+        assertEquals(sessions * 10, recorder.answers.size());
+    }
+
+    /**
+     * Ensures that a stored short-answer question is refused with a clear exception rather
+     * than an unboxing NPE, and that a multiple-choice one keeps its answer and level.
+     */
+    @Test
+    void wrapsOnlyMultipleChoiceQuestions() {
+        QuizItem item = QuizItem.of(new Question(5L, "General", "Capital of Italy?",
+                Question.Type.MCQ, List.of("Rome", "Milan"), 0, 3));
+        assertEquals("Rome", item.answerText());
+        assertEquals(3, item.getLevel());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> QuizItem.of(Question.shortAns("General", "Name a river", 1)));
+        assertTrue(e.getMessage().contains("multiple-choice"));
+    }
+}
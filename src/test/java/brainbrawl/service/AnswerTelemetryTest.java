@@ -0,0 +1,114 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.AnswerDao;
+import brainbrawl.dao.AnswerDaoJdbc;
+import brainbrawl.dao.TempDb;
+import brainbrawl.db.Db;
+import brainbrawl.model.AnswerEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link AnswerTelemetry} class.
+ * <p>
+ * The ring tests run without the writer thread and drain by hand; the last test writes
+ * through the real DAO into the {@link TempDb} database.
+ */
+public class AnswerTelemetryTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    private static AnswerEvent answer(int chosen) {
+        return new AnswerEvent(null, 7L, "General", 1, chosen, chosen == 2, 1500, 1_000L + chosen);
+    }
+
+    /**
+     * Verifies that a full ring drops new events instead of blocking, and accepts
+     * events again once the writer has drained it.
+     */
+    @Test
+    void dropsWhenFullAndRecoversAfterDrain() {
+        List<AnswerEvent> seen = new ArrayList<>();
+        AnswerDao dao = seen::addAll;
+        AnswerTelemetry t = new AnswerTelemetry(dao, 3, false); // rounded up to 4
+
+        for (int i = 0; i < 4; i++) assertTrue(t.record(answer(i)));
+        assertFalse(t.record(answer(4)));
+        assertEquals(1, t.dropped());
+
+        assertEquals(4, t.drain());
+        assertEquals(List.of(0, 1, 2, 3), seen.stream().map(AnswerEvent::getChosen).toList());
+
+        assertTrue(t.record(answer(5)));
+        assertEquals(1, t.drain());
+        assertEquals(5, seen.get(4).getChosen());
+        assertEquals(5, t.written());
+    }
+
+    /**
+     * Verifies that a failed insert drops its batch and counts it, without
+     * stopping later batches.
+     */
+    @Test
+    void failedBatchIsCountedAsDropped() {
+        AnswerDao dao = mock(AnswerDao.class);
+        doThrow(new RuntimeException("disk full")).doNothing().when(dao).createAll(anyList());
+        AnswerTelemetry t = new AnswerTelemetry(dao, 8, false);
+
+        t.record(answer(1));
+        t.record(answer(2));
+        t.drain();
+        t.record(answer(3));
+        t.drain();
+
+        assertEquals(2, t.dropped());
+        assertEquals(1, t.written());
+    }
+
+    /**
+     * Verifies that events recorded concurrently by several threads all reach the
+     * {@code answers} table once the telemetry is closed.
+     */
+    @Test
+    void concurrentProducersAreAllWritten() throws Exception {
+        AnswerTelemetry t = new AnswerTelemetry(new AnswerDaoJdbc(), 4096);
+        int threads = 4, perThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int n = 0; n < threads; n++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) t.record(answer(i % 4));
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        t.close();
+
+        assertEquals(0, t.dropped());
+        try (Connection c = Db.connect(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*), SUM(correct), MIN(response_ms) FROM answers")) {
+            assertTrue(rs.next());
+            assertEquals(threads * perThread, rs.getInt(1));
+            assertEquals(threads * perThread / 4, rs.getInt(2));
+            assertEquals(1500, rs.getInt(3));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package brainbrawl.service;
+
+import brainbrawl.model.GameResult;
+import brainbrawl.model.LeaderboardEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Leaderboard} class.
+ */
+public class LeaderboardTest {
+
+    private final Leaderboard board = new Leaderboard(id -> "user" + id);
+
+    private static GameResult game(long user, int score) {
+        return new GameResult(null, user, "Maths", 1, score, 10, 30, null, 1L);
+    }
+
+    /**
+     * Verifies top-K, rank and around-me on a small seeded board, including ties
+     * broken by total score and then user ID.
+     */
+    @Test
+    void ranksSeededAndRecordedPlayers() {
+        board.seed(List.of(
+                new LeaderboardEntry(1, "amy", "Maths", 1, 9, 30, 4),
+                new LeaderboardEntry(2, "ben", "Maths", 1, 7, 20, 3),
+                new LeaderboardEntry(3, "cat", "Maths", 1, 9, 12, 2),
+                new LeaderboardEntry(4, "dan", "General", 1, 10, 10, 1)));
+        board.record(game(5, 8));
+        board.record(game(2, 10)); // ben jumps to first
+        board.record(new GameResult(null, "Maths", 1, 10, 10, 30, null, 1L)); // unattributed
+
+        List<LeaderboardEntry> top = board.top("Maths", 1, 3);
+        assertEquals(List.of("ben", "amy", "cat"), top.stream().map(LeaderboardEntry::getUsername).toList());
+        assertEquals(List.of(1, 2, 3), top.stream().map(LeaderboardEntry::getRank).toList());
+        assertEquals(4, board.size("Maths", 1));
+        assertEquals(4, board.rankOf("Maths", 1, 5).getAsInt());
+        assertEquals("user5", board.top("Maths", 1, 10).get(3).getUsername());
+        assertTrue(board.rankOf("Maths", 1, 4).isEmpty());
+
+        List<LeaderboardEntry> around = board.around("Maths", 1, 3, 1);
+        assertEquals(List.of(2, 3, 4), around.stream().map(LeaderboardEntry::getRank).toList());
+        assertEquals(List.of(1, 2), board.around("Maths", 1, 2, 1).stream().map(LeaderboardEntry::getRank).toList());
+        assertTrue(board.top("Geography", 1, 5).isEmpty());
+    }
+
+    /**
+     * Compares every query against a sorted list after many random updates.
+     */
+    @Test
+    void matchesSortedListAfterRandomUpdates() {
+        Random rnd = new Random(42);
+        Map<Long, LeaderboardEntry> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long user = rnd.nextInt(500);
+            int score = rnd.nextInt(11);
+            board.record(game(user, score));
+            LeaderboardEntry old = expected.getOrDefault(user, new LeaderboardEntry(user, "user" + user, "Maths", 1, 0, 0, 0));
+            expected.put(user, old.plusGame(score));
+        }
+        List<LeaderboardEntry> sorted = new ArrayList<>(expected.values());
+        sorted.sort(LeaderboardEntry::compareStanding);
+
+        List<LeaderboardEntry> all = board.top("Maths", 1, 1_000);
+        assertEquals(sorted.size(), all.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            long user = sorted.get(i).getUserId();
+            assertEquals(user, all.get(i).getUserId());
+            assertEquals(i + 1, board.rankOf("Maths", 1, user).getAsInt());
+            List<LeaderboardEntry> around = board.around("Maths", 1, user, 2);
+            assertEquals(Math.max(1, i - 1), around.get(0).getRank());
+        }
+    }
+
+    /**
+     * Verifies that readers always see a consistently ordered board while a writer
+     * keeps updating it.
+     */
+    @Test
+    void readersSeeConsistentBoardsDuringWrites() throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                List<LeaderboardEntry> top = board.top("Maths", 1, 50);
+                for (int i = 1; i < top.size(); i++) {
+                    if (top.get(i - 1).compareStanding(top.get(i)) >= 0 || top.get(i).getRank() != i + 1) {
+                        failure.set("out of order at " + i + ": " + top);
+                    }
+                }
+            }
+        });
+        reader.start();
+        Random rnd = new Random(7);
+        for (int i = 0; i < 20_000; i++) board.record(game(rnd.nextInt(200), rnd.nextInt(11)));
+        done.set(true);
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(200, board.size("Maths", 1));
+        assertEquals(200, board.top("Maths", 1, 200).get(199).getRank());
+    }
+}
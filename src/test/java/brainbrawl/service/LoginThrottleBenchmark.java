@@ -0,0 +1,63 @@
+package brainbrawl.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost of {@link LoginThrottle#tryAcquire} on the path every legitimate login takes.
+ * <p>
+ * Limits are set high enough that no attempt is rejected. Every thread cycles through the same
+ * 4,096 usernames and 1,024 sources, so with several threads the CAS loops contend on shared slots.
+ * <p>
+ * This is not a JUnit test — run it manually:
+ * <pre>mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=brainbrawl.service.LoginThrottleBenchmark</pre>
+ */
+public class LoginThrottleBenchmark {
+
+    private static final int OPS = 5_000_000;
+    private static final int USERS = 4096;
+    private static final int SOURCES = 1024;
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args ignored command-line arguments
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        run(1); // warm-up
+        System.out.printf("1 thread   : %6.1f ns/attempt%n", run(1));
+        System.out.printf("%d threads  : %6.1f ns/attempt (wall time / total attempts)%n", cores, run(cores));
+    }
+
+    private static double run(int threads) throws InterruptedException {
+        LoginThrottle throttle = new LoginThrottle(LoginThrottle.DEFAULT_SLOTS, 100, 1e6, 100, 1e6);
+        String[] users = new String[USERS];
+        String[] sources = new String[SOURCES];
+        for (int i = 0; i < USERS; i++) users[i] = "user" + i;
+        for (int i = 0; i < SOURCES; i++) sources[i] = "10.0.0." + i;
+
+        AtomicLong rejected = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7;
+            workers[t] = new Thread(() -> {
+                try { start.await(); } catch (InterruptedException e) { return; }
+                long r = 0;
+                for (int i = 0; i < OPS; i++) {
+                    if (throttle.tryAcquire(users[(i + offset) & (USERS - 1)], sources[i & (SOURCES - 1)]) > 0) r++;
+                }
+                rejected.addAndGet(r);
+            });
+            workers[t].start();
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) w.join();
+        long elapsed = System.nanoTime() - t0;
+        if (rejected.get() > 0) System.out.println("  (" + rejected.get() + " attempts rejected)");
+        return (double) elapsed / ((long) OPS * threads);
+    }
+}
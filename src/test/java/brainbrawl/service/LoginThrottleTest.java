@@ -0,0 +1,109 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.UserDao;
+import brainbrawl.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link LoginThrottle} class and its use in {@link AuthService}.
+ * <p>
+ * A manual millisecond clock drives refills, so no test sleeps.
+ */
+public class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    /** Three attempts per user refilled at one a second; ten per source refilled at one a second. */
+    private LoginThrottle throttle() {
+        return new LoginThrottle(1024, 3, 1.0, 10, 1.0, now::get);
+    }
+
+    /**
+     * Verifies that a username gets its burst and is then told how long to wait.
+     */
+    @Test
+    void rejectsAfterBurst() {
+        LoginThrottle t = throttle();
+        for (int i = 0; i < 3; i++) assertEquals(0, t.tryAcquire("alice", "a"));
+
+        long wait = t.tryAcquire("ALICE", "a");
+        assertTrue(wait > 0 && wait <= 1000, "wait was " + wait);
+        assertEquals(0, t.tryAcquire("bob", "a"), "other users are unaffected");
+    }
+
+    /**
+     * Verifies that tokens come back at the configured rate, and a refund returns just one.
+     */
+    @Test
+    void refillsOverTimeAndOnRefund() {
+        LoginThrottle t = throttle();
+        for (int i = 0; i < 3; i++) t.tryAcquire("alice", "a");
+        assertTrue(t.tryAcquire("alice", "a") > 0);
+
+        now.addAndGet(1000);
+        assertEquals(0, t.tryAcquire("alice", "a"));
+        assertTrue(t.tryAcquire("alice", "a") > 0);
+
+        t.refund("Alice");
+        assertEquals(0, t.tryAcquire("alice", "a"));
+        assertTrue(t.tryAcquire("alice", "a") > 0);
+    }
+
+    /**
+     * Ensures that logging into an account whose name shares the victim's bucket doesn't
+     * give the victim's guesses back.
+     */
+    @Test
+    void collidingLoginsCannotRefillAnotherUsersBucket() {
+        LoginThrottle t = new LoginThrottle(1, 3, 1.0, 100, 1.0, now::get); // one slot: every name collides
+        for (int i = 0; i < 3; i++) assertEquals(0, t.tryAcquire("victim", "a"));
+        assertTrue(t.tryAcquire("victim", "a") > 0);
+
+        now.addAndGet(1000);
+        for (int i = 0; i < 5; i++) {
+            if (t.tryAcquire("attacker", "a") == 0) t.refund("attacker");
+        }
+        assertEquals(0, t.tryAcquire("victim", "a"));
+        assertTrue(t.tryAcquire("victim", "a") > 0, "only the one refilled token is available");
+    }
+
+    /**
+     * Verifies that one source cannot spray attempts across many usernames.
+     */
+    @Test
+    void limitsEachSource() {
+        LoginThrottle t = throttle();
+        for (int i = 0; i < 10; i++) assertEquals(0, t.tryAcquire("user" + i, "10.0.0.1"));
+
+        assertTrue(t.tryAcquire("user10", "10.0.0.1") > 0);
+        assertEquals(0, t.tryAcquire("user11", "10.0.0.2"));
+    }
+
+    /**
+     * Verifies that a throttled login is refused before the DAO is asked to hash anything.
+     */
+    @Test
+    void authServiceRejectsWithoutTouchingDao() {
+        UserDao dao = mock(UserDao.class);
+        when(dao.authenticate("alice", "wrong")).thenReturn(Optional.empty());
+        when(dao.authenticate("alice", "secret")).thenReturn(Optional.of(new User(1, "alice")));
+        AuthService auth = new AuthService(dao, new SessionCache(), throttle());
+
+        for (int i = 0; i < 3; i++) assertFalse(auth.login("alice", "wrong"));
+        TooManyAttemptsException e = assertThrows(TooManyAttemptsException.class,
+                () -> auth.login("alice", "secret"));
+        assertTrue(e.getRetryAfterMillis() > 0);
+        verify(dao, never()).authenticate("alice", "secret");
+
+        now.addAndGet(1000);
+        assertTrue(auth.login("alice", "secret"));
+        assertFalse(auth.login("alice", "wrong"), "the successful login's token was given back");
+        assertThrows(TooManyAttemptsException.class, () -> auth.login("alice", "wrong"));
+    }
+}
@@ -0,0 +1,105 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.QuestionDao;
+import brainbrawl.model.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link QuestionBankCache} class.
+ * <p>
+ * A mocked {@link QuestionDao} stands in for the database so the tests can
+ * check exactly when the cache goes back to persistence.
+ */
+public class QuestionBankCacheTest {
+
+    private QuestionDao dao;
+    private QuestionBankCache cache;
+
+    @BeforeEach
+    void setUp() {
+        dao = mock(QuestionDao.class);
+        List<Question> bank = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) bank.add(q(id, "General", 1));
+        when(dao.findByCategoryAndDifficulty("General", 1)).thenReturn(bank);
+        cache = new QuestionBankCache(dao);
+    }
+
+    /**
+     * Verifies that a bank is read once and later draws are served from memory.
+     */
+    @Test
+    void drawsFromMemoryAfterFirstLoad() {
+        List<Question> first = cache.draw("General", 1, 10);
+        List<Question> second = cache.draw("General", 1, 10);
+
+        assertEquals(10, first.size());
+        assertEquals(10, second.stream().map(Question::getId).distinct().count());
+        verify(dao, times(1)).findByCategoryAndDifficulty("General", 1);
+    }
+
+    /**
+     * Ensures that asking for more questions than the bank holds returns the whole bank.
+     */
+    @Test
+    void drawIsCappedAtBankSize() {
+        assertEquals(12, cache.draw("General", 1, 50).size());
+    }
+
+    /**
+     * Confirms that adds, moves and deletes patch the loaded bank without reloading it.
+     */
+    @Test
+    void changesPatchLoadedBankInPlace() {
+        cache.bank("General", 1);
+
+        cache.put(q(13, "General", 1));
+        assertEquals(13, cache.bank("General", 1).size());
+
+        cache.put(q(5, "General", 2)); // moved to another level
+        assertTrue(cache.bank("General", 1).stream().noneMatch(x -> x.getId() == 5));
+
+        cache.remove(1);
+        List<Question> bank = cache.bank("General", 1);
+        assertEquals(11, bank.size());
+        assertEquals(2L, bank.get(0).getId());
+        verify(dao, times(1)).findByCategoryAndDifficulty("General", 1);
+    }
+
+    /**
+     * Verifies that a short-answer question in a quiz category never reaches {@code draw},
+     * whether it comes from a bucket load, a warm-up or a later edit.
+     */
+    @Test
+    void shortAnswerQuestionsNeverEnterABank() {
+        List<Question> bank = new ArrayList<>(List.of(q(1, "General", 1), q(2, "General", 1)));
+        bank.add(new Question(3L, "General", "Short 3", Question.Type.SHORT, List.of(), null, 1));
+        when(dao.findByCategoryAndDifficulty("General", 1)).thenReturn(bank);
+        when(dao.streamAll()).thenReturn(Stream.of(
+                q(10, "Geography", 1),
+                new Question(11L, "Geography", "Short 11", Question.Type.SHORT, List.of(), null, 1)));
+
+        assertEquals(List.of(1L, 2L), ids(cache.draw("General", 1, 10)));
+        cache.warmUp();
+        assertEquals(List.of(10L), ids(cache.draw("Geography", 1, 10)));
+
+        cache.put(new Question(4L, "General", "Short 4", Question.Type.SHORT, List.of(), null, 1));
+        cache.put(new Question(2L, "General", "Now short", Question.Type.SHORT, List.of(), null, 1));
+        assertEquals(List.of(1L), ids(cache.draw("General", 1, 10)));
+    }
+
+    private static List<Long> ids(List<Question> questions) {
+        return questions.stream().map(Question::getId).sorted().toList();
+    }
+
+    private static Question q(long id, String category, int difficulty) {
+        return new Question(id, category, "Q" + id, Question.Type.MCQ, List.of("A", "B"), 0, difficulty);
+    }
+}
@@ -0,0 +1,147 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.QuestionDao;
+import brainbrawl.dao.QuestionDaoJdbc;
+import brainbrawl.dao.TempDb;
+import brainbrawl.model.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuestionImporter} class and
+ * {@link QuestionDaoJdbc#createAll(Iterable)}.
+ * <p>
+ * Parsing tests read from strings; import tests write to the {@link TempDb} database.
+ */
+public class QuestionImporterTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    @TempDir
+    Path dir;
+
+
+    private static List<Question> parse(String input, QuestionImporter.Format format) {
+        List<Question> out = new ArrayList<>();
+        QuestionImporter.parse(new BufferedReader(new StringReader(input)), format, "test").forEach(out::add);
+        return out;
+    }
+
+    /**
+     * Verifies that CSV columns are matched by header name and that quoted
+     * fields may contain commas, doubled quotes and line breaks.
+     */
+    @Test
+    void parsesCsvWithQuotedFields() {
+        String csv = """
+                text,category,difficulty,options,correct_index
+                "Say ""hi"", then
+                pick one",Science,2,A||B||C,2
+                Short one,History,1,,
+                """;
+
+        List<Question> qs = parse(csv, QuestionImporter.Format.CSV);
+
+        assertEquals(2, qs.size());
+        assertEquals("Say \"hi\", then\npick one", qs.get(0).getText());
+        assertEquals(List.of("A", "B", "C"), qs.get(0).getOptions());
+        assertEquals(2, qs.get(0).getCorrectIndex());
+        assertEquals(Question.Type.MCQ, qs.get(0).getType());
+        assertEquals(Question.Type.SHORT, qs.get(1).getType());
+    }
+
+    /**
+     * Verifies that JSON Lines records are parsed, including escapes and
+     * numeric fields.
+     */
+    @Test
+    void parsesJsonLines() {
+        String jsonl = """
+                {"category":"Science","difficulty":3,"text":"H\\u2082O is \\"water\\"?","options":["Yes","No"],"correctIndex":0}
+
+                {"category": "History", "text": "Year of 1066?", "type": "SHORT"}
+                """;
+
+        List<Question> qs = parse(jsonl, QuestionImporter.Format.JSONL);
+
+        assertEquals(2, qs.size());
+        assertEquals("H₂O is \"water\"?", qs.get(0).getText());
+        assertEquals(3, qs.get(0).getDifficulty());
+        assertEquals(List.of("Yes", "No"), qs.get(0).getOptions());
+        assertEquals(1, qs.get(1).getDifficulty());
+    }
+
+    /**
+     * Ensures that a malformed record is reported with its line number.
+     */
+    @Test
+    void reportsLineOfMalformedRecord() {
+        String jsonl = "{\"category\":\"A\",\"text\":\"ok\"}\n{\"category\": oops}\n";
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parse(jsonl, QuestionImporter.Format.JSONL));
+        assertTrue(e.getMessage().startsWith("test:2:"), e.getMessage());
+    }
+
+    /**
+     * Ensures that a quiz-category row without options is rejected with its line number
+     * instead of being stored as an unplayable short-answer question.
+     */
+    @Test
+    void rejectsShortAnswerRowsInQuizCategories() {
+        String csv = """
+                category,difficulty,text,options,correct_index
+                General,1,Capital of France?,Paris||Rome,0
+                Geography,1,Longest river?,,
+                """;
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parse(csv, QuestionImporter.Format.CSV));
+        assertTrue(e.getMessage().startsWith("test:3:"), e.getMessage());
+        assertTrue(e.getMessage().contains("multiple-choice"), e.getMessage());
+    }
+
+    /**
+     * Imports a file spanning several insert chunks and checks that the
+     * returned IDs match the stored rows, in file order.
+     */
+    @Test
+    void importsFileAndReturnsIdsInOrder() throws Exception {
+        Path file = dir.resolve("pack.csv");
+        StringBuilder csv = new StringBuilder("category,difficulty,text,options,correct_index\n");
+        for (int i = 0; i < 2_500; i++) csv.append("Bulk,").append(1 + i % 5).append(",Q").append(i).append(",A||B,1\n");
+        Files.writeString(file, csv);
+
+        List<Long> ids = QuestionImporter.importFile(file, new QuestionService(new QuestionDaoJdbc()));
+
+        assertEquals(2_500, ids.size());
+        QuestionDao dao = new QuestionDaoJdbc();
+        assertEquals("Q0", dao.findById(ids.get(0)).orElseThrow().getText());
+        assertEquals("Q1234", dao.findById(ids.get(1234)).orElseThrow().getText());
+        assertEquals("Q2499", dao.findById(ids.get(2499)).orElseThrow().getText());
+    }
+
+    /**
+     * Ensures that an invalid question stops the import with a validation error.
+     */
+    @Test
+    void rejectsInvalidQuestion() throws Exception {
+        Path file = dir.resolve("bad.jsonl");
+        Files.writeString(file, "{\"category\":\"X\",\"text\":\"Pick\",\"options\":[\"A\",\"B\"],\"correctIndex\":5}\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> QuestionImporter.importFile(file, new QuestionService(new QuestionDaoJdbc())));
+        assertTrue(e.getMessage().contains("Correct index out of range"), e.getMessage());
+    }
+}
@@ -61,4 +61,20 @@ public class QuestionServiceTest {
         assertEquals(42L, id);
         verify(mockDao).create(valid);
     }
+
+    /**
+     * Verifies that {@link QuestionService#randomQuiz(String, int, int)} rejects
+     * a non-positive question count and otherwise delegates to
+     * {@link QuestionDao#findRandom(String, int, int, java.util.Collection)}.
+     */
+    @Test
+    void randomQuizValidatesCountAndDelegates() {
+        QuestionDao mockDao = mock(QuestionDao.class);
+        QuestionService svc = new QuestionService(mockDao);
+        List<Question> drawn = List.of(Question.mcq("General", "Q?", List.of("A", "B"), 0, 1));
+        when(mockDao.findRandom("General", 1, 10, List.of())).thenReturn(drawn);
+
+        assertThrows(IllegalArgumentException.class, () -> svc.randomQuiz("General", 1, 0));
+        assertEquals(drawn, svc.randomQuiz("General", 1, 10));
+    }
 }
@@ -0,0 +1,194 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.ResultDao;
+import brainbrawl.model.GameResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ResultWriteBehind} queue and the asynchronous
+ * side of {@link ResultService}.
+ * <p>
+ * A mocked {@link ResultDao} hands out increasing IDs, so the tests can check
+ * batching, overflow handling and read-your-writes behaviour without a database.
+ */
+public class ResultWriteBehindTest {
+
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /** Creates a DAO mock whose inserts return consecutive IDs. */
+    private ResultDao countingDao() {
+        ResultDao dao = mock(ResultDao.class);
+        when(dao.create(any())).thenAnswer(inv -> nextId.getAndIncrement());
+        when(dao.createAll(anyList())).thenAnswer(inv -> {
+            List<Long> ids = new ArrayList<>();
+            for (Object ignored : (List<?>) inv.getArgument(0)) ids.add(nextId.getAndIncrement());
+            return ids;
+        });
+        return dao;
+    }
+
+    private static GameResult result(int score) {
+        return GameResult.newUnstored("Maths", 1, score, 10, 30);
+    }
+
+    /**
+     * Verifies that queued results are written in batches, that every future
+     * gets its own ID and that results are stamped before being written.
+     */
+    @Test
+    void writesQueuedResultsInBatches() throws Exception {
+        ResultDao dao = countingDao();
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        try (ResultWriteBehind wb = new ResultWriteBehind(dao, 1000, ResultWriteBehind.OverflowPolicy.BLOCK)) {
+            for (int i = 0; i < 500; i++) futures.add(wb.submit(result(i)));
+            assertTrue(wb.flush(5, TimeUnit.SECONDS));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (CompletableFuture<Long> f : futures) ids.add(f.get());
+        assertEquals(500, ids.stream().distinct().count());
+        verify(dao, atLeast(2)).createAll(argThat(list -> list.stream().allMatch(r -> r.getCreatedAtMillis() > 0)));
+        verify(dao, never()).create(any());
+    }
+
+    /**
+     * Ensures that the REJECT policy fails the future when the queue is full
+     * instead of blocking the caller.
+     */
+    @Test
+    void rejectPolicyFailsWhenQueueIsFull() throws Exception {
+        ResultDao dao = countingDao();
+        CountDownLatch release = new CountDownLatch(1);
+        when(dao.createAll(anyList())).thenAnswer(inv -> {
+            release.await();
+            return List.of(nextId.getAndIncrement());
+        });
+
+        try (ResultWriteBehind wb = new ResultWriteBehind(dao, 1, ResultWriteBehind.OverflowPolicy.REJECT)) {
+            wb.submit(result(1));
+            verify(dao, timeout(2000)).createAll(anyList()); // writer is now stuck on the first batch
+            wb.submit(result(2));                           // fills the queue
+            CompletableFuture<Long> rejected = wb.submit(result(3));
+
+            ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+            release.countDown();
+        }
+    }
+
+    /**
+     * Confirms that a failed batch is retried row by row, so only the bad
+     * result fails.
+     */
+    @Test
+    void failedBatchIsRetriedIndividually() throws Exception {
+        ResultDao dao = countingDao();
+        when(dao.createAll(anyList())).thenThrow(new RuntimeException("boom"));
+        when(dao.create(any())).thenAnswer(inv -> {
+            if (((GameResult) inv.getArgument(0)).getScore() == 2) throw new RuntimeException("bad row");
+            return nextId.getAndIncrement();
+        });
+
+        CompletableFuture<Long> good, bad;
+        try (ResultWriteBehind wb = new ResultWriteBehind(dao, 10, ResultWriteBehind.OverflowPolicy.BLOCK)) {
+            good = wb.submit(result(1));
+            bad = wb.submit(result(2));
+            wb.flush(5, TimeUnit.SECONDS);
+        }
+
+        assertTrue(good.get() > 0);
+        assertThrows(ExecutionException.class, bad::get);
+    }
+
+    /**
+     * Ensures that {@link ResultService#recent(int)} includes results that
+     * are still queued, newest first, ahead of the stored ones.
+     */
+    @Test
+    void recentIncludesQueuedResults() {
+        ResultDao dao = countingDao();
+        CountDownLatch release = new CountDownLatch(1);
+        when(dao.createAll(anyList())).thenAnswer(inv -> {
+            release.await();
+            return List.of(nextId.getAndIncrement());
+        });
+        GameResult stored = new GameResult(99L, "Maths", 1, 1, 10, 30, "2025-01-01 00:00:00", 1L);
+        when(dao.findRecent(anyInt())).thenReturn(List.of(stored));
+
+        try (ResultService svc = new ResultService(dao, 10, ResultWriteBehind.OverflowPolicy.BLOCK)) {
+            svc.saveAsync(result(7));
+            svc.saveAsync(result(8));
+
+            List<GameResult> recent = svc.recent(2);
+
+            assertEquals(List.of(8, 7), recent.stream().map(GameResult::getScore).toList());
+            release.countDown();
+        }
+    }
+
+    /**
+     * Ensures that a result whose batch has committed but whose ID isn't set yet is
+     * not listed twice by {@link ResultService#recent(int)}.
+     */
+    @Test
+    void recentSkipsCommittedResultsThatHaveNoIdYet() throws Exception {
+        ResultDao dao = countingDao();
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<GameResult> written = new ArrayList<>();
+        when(dao.createAll(anyList())).thenAnswer(inv -> {
+            written.addAll(inv.getArgument(0));
+            committed.countDown(); // rows are in the table; the IDs are handed back below
+            release.await();
+            return List.of(nextId.getAndIncrement());
+        });
+        when(dao.findRecent(anyInt())).thenAnswer(inv -> List.of(written.get(0).withId(50L)));
+
+        ResultService svc = new ResultService(dao, 10, ResultWriteBehind.OverflowPolicy.BLOCK);
+        try {
+            svc.saveAsync(GameResult.newUnstored(3L, "Maths", 1, 7, 10, 30));
+            assertTrue(committed.await(2, TimeUnit.SECONDS));
+
+            List<GameResult> recent = svc.recent(5);
+
+            assertEquals(1, recent.size());
+            assertEquals(50L, recent.get(0).getId());
+        } finally {
+            release.countDown();
+            svc.close();
+        }
+    }
+
+    /**
+     * Verifies that closing the queue writes whatever is still pending and
+     * that later submissions are written synchronously.
+     */
+    @Test
+    void closeDrainsQueueAndLaterSavesRunInline() throws Exception {
+        ResultDao dao = countingDao();
+        ResultWriteBehind wb = new ResultWriteBehind(dao, 100, ResultWriteBehind.OverflowPolicy.BLOCK);
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) futures.add(wb.submit(result(i)));
+
+        wb.close();
+
+        for (CompletableFuture<Long> f : futures) assertTrue(f.isDone());
+        CompletableFuture<Long> late = wb.submit(result(99));
+        assertTrue(late.isDone());
+        assertTrue(late.get() > 0);
+    }
+}
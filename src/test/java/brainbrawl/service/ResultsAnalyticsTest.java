@@ -0,0 +1,155 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.ResultDao;
+import brainbrawl.dao.ResultDaoJdbc;
+import brainbrawl.dao.TempDb;
+import brainbrawl.db.Db;
+import brainbrawl.model.GameResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ResultsAnalytics} class.
+ * <p>
+ * Days are counted in UTC so the expected buckets don't depend on the machine's zone.
+ */
+public class ResultsAnalyticsTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    @TempDir
+    Path dir;
+
+    private ResultDao dao;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dao = new ResultDaoJdbc();
+        file = dir.resolve("analytics.bin");
+        try (Connection c = Db.connect(); Statement st = c.createStatement()) {
+            st.executeUpdate("INSERT INTO users(id, username, password_hash, salt) VALUES (1,'amy','x','y'), (2,'ben','x','y')");
+        }
+    }
+
+    private static GameResult game(Long user, int score, long day) {
+        return new GameResult(null, user, "Maths", 1, score, 10, 30, null, day * DAY + 3_600_000);
+    }
+
+    private ResultsAnalytics analytics() {
+        return new ResultsAnalytics(dao, file, ZoneOffset.UTC);
+    }
+
+    /**
+     * Verifies daily and weekly buckets for one player and for everyone, including
+     * empty days inside and outside the stored range.
+     */
+    @Test
+    void bucketsByDayAndWeek() {
+        dao.createAll(List.of(game(1L, 6, 100), game(1L, 8, 100), game(2L, 5, 102), game(1L, 10, 108)));
+        ResultsAnalytics a = analytics();
+        a.load();
+
+        ResultsAnalytics.Series amy = a.daily(1L, EPOCH.plusDays(99), EPOCH.plusDays(108));
+        assertEquals(10, amy.size());
+        assertEquals(EPOCH.plusDays(100), amy.startOf(1));
+        assertEquals(2, amy.games(1));
+        assertEquals(0.7, amy.accuracy(1), 1e-9);
+        assertEquals(30.0, amy.avgSecondsPerQuestion(1), 1e-9);
+        assertEquals(0, amy.games(0));
+        assertEquals(0, amy.games(3));
+        assertEquals(1, amy.games(9));
+
+        ResultsAnalytics.Series all = a.weekly(null, EPOCH.plusDays(100), EPOCH.plusDays(110));
+        assertEquals(2, all.size());
+        assertEquals(3, all.games(0));
+        assertEquals(19, all.correct(0));
+        assertEquals(1, all.games(1));
+        assertEquals(0, a.daily(2L, EPOCH.plusDays(50), EPOCH.plusDays(60)).games(5));
+    }
+
+    /**
+     * Verifies that the file round-trips and that a later load only adds results
+     * stored after the file was written, including results older than the first bucket.
+     */
+    @Test
+    void persistsAndCatchesUpIncrementally() throws Exception {
+        dao.create(game(1L, 6, 200));
+        ResultsAnalytics a = analytics();
+        a.load();
+        dao.create(game(1L, 4, 201));
+        a.record(dao.findAfterId(1, 1).get(0)); // what the save listener would do
+        a.save();
+        assertTrue(Files.size(file) < 200, "file is " + Files.size(file) + " bytes");
+
+        dao.createAll(List.of(game(1L, 9, 150), game(2L, 3, 201)));
+
+        ResultsAnalytics b = analytics();
+        b.load();
+        ResultsAnalytics.Series amy = b.daily(1L, EPOCH.plusDays(150), EPOCH.plusDays(201));
+        assertEquals(1, amy.games(0));
+        assertEquals(1, amy.games(50));
+        assertEquals(1, amy.games(51));
+        assertEquals(2, b.daily(null, EPOCH.plusDays(201), EPOCH.plusDays(201)).games(0));
+    }
+
+    /**
+     * Verifies that a file written for another database, or one that missed a result with
+     * a lower ID than its newest, is discarded and everything is rebuilt.
+     */
+    @Test
+    void rebuildsWhenFileDoesNotMatchDatabase() throws Exception {
+        dao.createAll(List.of(game(1L, 6, 400), game(1L, 4, 400), game(1L, 5, 400)));
+        ResultsAnalytics a = analytics();
+        a.load();
+        a.save();
+
+        try (Connection c = Db.connect(); Statement st = c.createStatement()) {
+            st.executeUpdate("DELETE FROM results");
+        }
+        dao.create(game(2L, 7, 401));
+        ResultsAnalytics replaced = analytics();
+        replaced.load();
+        assertEquals(0, replaced.daily(1L, EPOCH.plusDays(400), EPOCH.plusDays(400)).games(0));
+        assertEquals(1, replaced.daily(2L, EPOCH.plusDays(401), EPOCH.plusDays(401)).games(0));
+
+        dao.create(game(1L, 8, 402));
+        ResultsAnalytics partial = analytics();
+        partial.record(dao.findRecent(1).get(0)); // the newer result was folded in, the older one never was
+        partial.save();
+        ResultsAnalytics recovered = analytics();
+        recovered.load();
+        assertEquals(1, recovered.daily(2L, EPOCH.plusDays(401), EPOCH.plusDays(401)).games(0));
+        assertEquals(1, recovered.daily(1L, EPOCH.plusDays(402), EPOCH.plusDays(402)).games(0));
+    }
+
+    /**
+     * Verifies that a corrupt file is ignored and everything is rebuilt from the database.
+     */
+    @Test
+    void rebuildsWhenFileIsCorrupt() throws Exception {
+        dao.create(game(2L, 7, 300));
+        Files.write(file, new byte[] {1, 2, 3});
+
+        ResultsAnalytics a = analytics();
+        a.load();
+
+        assertEquals(1, a.daily(2L, EPOCH.plusDays(300), EPOCH.plusDays(300)).games(0));
+    }
+}
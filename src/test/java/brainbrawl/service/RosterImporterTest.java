@@ -0,0 +1,100 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.PasswordHasher;
+import brainbrawl.dao.ProvisionReport;
+import brainbrawl.dao.TempDb;
+import brainbrawl.dao.UserDaoJdbc;
+import brainbrawl.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RosterImporter} class and
+ * {@link UserDaoJdbc#createUsers(List)}.
+ * <p>
+ * Passwords are hashed with a low iteration count to keep the tests fast.
+ */
+public class RosterImporterTest {
+
+    @RegisterExtension
+    final TempDb db = new TempDb();
+
+    @TempDir
+    Path dir;
+
+    private UserDaoJdbc dao;
+    private AuthService auth;
+
+    @BeforeEach
+    void setUp() {
+        dao = new UserDaoJdbc(new PasswordHasher(1_000));
+        auth = new AuthService(dao);
+    }
+
+    /**
+     * Verifies that headers, comments and blank lines are skipped, that passwords may
+     * contain commas, and that invalid lines are reported with their line number.
+     */
+    @Test
+    void parsesRosterAndReportsInvalidLines() throws IOException {
+        String roster = """
+                username,password
+                # class 4B
+                amy,secret,with,commas
+
+                x,longenough
+                ben,short
+                """;
+        List<String> rejected = new ArrayList<>();
+        List<Map.Entry<String, String>> accounts =
+                RosterImporter.parse(new BufferedReader(new StringReader(roster)), "4b.csv", rejected);
+
+        assertEquals(List.of(Map.entry("amy", "secret,with,commas")), accounts);
+        assertEquals(2, rejected.size());
+        assertTrue(rejected.get(0).startsWith("4b.csv:5:"), rejected.get(0));
+        assertTrue(rejected.get(1).startsWith("4b.csv:6:"), rejected.get(1));
+    }
+
+    /**
+     * Verifies that a roster spanning several chunks is created with correct IDs, that
+     * existing and repeated usernames are reported without aborting, and that the new
+     * accounts can log in.
+     */
+    @Test
+    void provisionsRosterAndReportsDuplicates() throws IOException {
+        assertTrue(dao.createUser("teacher", "blackboard"));
+        StringBuilder roster = new StringBuilder("teacher,blackboard\n");
+        int students = 520; // more than one insert chunk
+        for (int i = 0; i < students; i++) roster.append("pupil").append(i).append(",pass").append(i).append("word\n");
+        roster.append("pupil7,again-and-again\n");
+        Path file = dir.resolve("school.csv");
+        Files.writeString(file, roster);
+
+        List<String> rejected = new ArrayList<>();
+        ProvisionReport report = RosterImporter.provisionFile(file, auth, rejected);
+
+        assertTrue(rejected.isEmpty());
+        assertEquals(List.of("teacher", "pupil7"), report.getDuplicates());
+        assertEquals(students, report.getCreated().size());
+        for (int i = 0; i < students; i++) {
+            User u = report.getCreated().get(i);
+            assertEquals("pupil" + i, u.getUsername());
+            assertEquals(u.getId(), dao.findByUsername(u.getUsername()).orElseThrow().getId());
+        }
+        assertTrue(dao.authenticate("pupil3", "pass3word").isPresent());
+        assertFalse(auth.isUsernameAvailable("pupil519"));
+    }
+}
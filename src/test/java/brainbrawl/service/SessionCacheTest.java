@@ -0,0 +1,96 @@
+package brainbrawl.service;
+
+import brainbrawl.dao.UserDao;
+import brainbrawl.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link SessionCache} class and the session methods of
+ * {@link AuthService}.
+ * <p>
+ * A manual clock drives expiry, so no test sleeps.
+ */
+public class SessionCacheTest {
+
+    private static final long MINUTE = 60_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final User alice = new User(1, "alice");
+
+    /**
+     * Verifies that an issued token resolves to its user until invalidated.
+     */
+    @Test
+    void issuedTokenValidatesUntilInvalidated() {
+        SessionCache cache = new SessionCache(64, 30 * MINUTE, 600 * MINUTE, now::get);
+        String token = cache.issue(alice);
+
+        assertEquals(alice, cache.validate(token).orElseThrow());
+        assertTrue(cache.validate("not-a-token").isEmpty());
+
+        cache.invalidate(token);
+        assertTrue(cache.validate(token).isEmpty());
+    }
+
+    /**
+     * Ensures that a session expires after the idle timeout, that each use
+     * extends it, and that the absolute lifetime ends it regardless.
+     */
+    @Test
+    void expiresOnIdleAndAbsoluteTimeouts() {
+        SessionCache cache = new SessionCache(64, 30 * MINUTE, 60 * MINUTE, now::get);
+        String token = cache.issue(alice);
+
+        now.addAndGet(29 * MINUTE);
+        assertTrue(cache.validate(token).isPresent());
+        now.addAndGet(29 * MINUTE);
+        assertTrue(cache.validate(token).isPresent()); // 58 min old, used 29 min ago
+        now.addAndGet(2 * MINUTE);
+        assertTrue(cache.validate(token).isEmpty());   // past the 60 min lifetime
+
+        String idle = cache.issue(alice);
+        now.addAndGet(30 * MINUTE);
+        assertTrue(cache.validate(idle).isEmpty());
+    }
+
+    /**
+     * Confirms that a full cache evicts least recently used sessions first.
+     */
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        SessionCache cache = new SessionCache(SessionCache.SEGMENTS * 2, 30 * MINUTE, 600 * MINUTE, now::get);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) tokens.add(cache.issue(new User(i, "u" + i)));
+        String recent = tokens.get(tokens.size() - 1);
+
+        assertEquals(SessionCache.SEGMENTS * 2, cache.size(), "bounded by capacity");
+        assertTrue(cache.validate(recent).isPresent());
+        assertTrue(cache.validate(tokens.get(0)).isEmpty());
+    }
+
+    /**
+     * Verifies that validating a session through {@link AuthService} never
+     * goes back to the database.
+     */
+    @Test
+    void authServiceValidatesWithoutDatabase() {
+        UserDao dao = mock(UserDao.class);
+        when(dao.authenticate("alice", "pw")).thenReturn(Optional.of(alice));
+        AuthService auth = new AuthService(dao, new SessionCache(64, 30 * MINUTE, 600 * MINUTE, now::get));
+
+        String token = auth.loginSession("alice", "pw").orElseThrow();
+        for (int i = 0; i < 100; i++) assertEquals(alice, auth.validateSession(token).orElseThrow());
+
+        verify(dao, times(1)).authenticate(any(), any());
+        auth.logout(token);
+        assertTrue(auth.validateSession(token).isEmpty());
+    }
+}